@@ -53,6 +53,19 @@ public interface ICacheClient {
      */
     <T> void put(String key, T value, Duration timeout);
 
+    /**
+     * Puts a value into the cache with the specified key and timeout, only if the key does not exist yet (i.e.,
+     * {@code SET NX}). The check and the write are atomic.
+     *
+     * @param key     the key under which the value is stored
+     * @param value   the value to be stored
+     * @param timeout the duration after which the key will expire
+     * @param <T>     the type of the value
+     *
+     * @return True if the value was stored, false if the key already exists.
+     */
+    <T> boolean putIfAbsent(String key, T value, Duration timeout);
+
     /**
      * Retrieves a value from the cache by its key.
      * @param key
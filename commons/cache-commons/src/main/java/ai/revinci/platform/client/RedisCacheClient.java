@@ -96,6 +96,21 @@ public class RedisCacheClient implements ICacheClient{
         }
     }
 
+    @Instrumentation
+    @Override
+    public <T> boolean putIfAbsent(@NonNull final String key, @NonNull final T value,
+                                   @NonNull final Duration timeout) {
+        final String keyToUse = constructCacheKey(key);
+        try {
+            final Object serializedValue = serializeFromCache(value);
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                                               .setIfAbsent(keyToUse, serializedValue, timeout));
+        } catch (final Exception ex) {
+            RedisCacheClient.LOGGER.error("Failed to put value (if absent) for key: {}", keyToUse, ex);
+            throw ServiceException.of(CacheErrors.CACHE_OPERATION_FAILED, keyToUse);
+        }
+    }
+
     @Instrumentation
     @Override
     public <T> Optional<T> get(@NonNull final String key, @NonNull final Class<T> type) {
@@ -74,15 +74,33 @@ public class TenantHibernateFilterAspect {
             try {
                 final Session session = entityMgrHolder.getEntityManager()
                         .unwrap(Session.class);
+
+                // Nested transactional calls share the session. If the filter is already enabled on this session for
+                // the same tenant, there is nothing more to do.
+                if (isTenantFilterEnabled(session, tenantId)) {
+                    return;
+                }
+
                 enableFilter(session, AbstractTenantAwareEntity.TENANT_FILTER_NAME,
                              AbstractTenantAwareEntity.TENANT_ID_PARAMETER_NAME, tenantId);
 
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCompletion(int status) {
-                        disableTenantFilter(session);
-                    }
-                });
+                final boolean alreadyRegistered = TransactionSynchronizationManager.hasResource(session);
+                if (alreadyRegistered) {
+                    // The tenant has changed within the same session. Just record the new tenant; the synchronization
+                    // registered earlier will disable the filter.
+                    TransactionSynchronizationManager.unbindResource(session);
+                }
+                TransactionSynchronizationManager.bindResource(session, tenantId);
+
+                if (!alreadyRegistered) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            TransactionSynchronizationManager.unbindResourceIfPossible(session);
+                            disableTenantFilter(session);
+                        }
+                    });
+                }
 
                 // session.flush();
             } catch (final UnknownFilterException ufe) {
@@ -93,6 +111,20 @@ public class TenantHibernateFilterAspect {
 
     }
 
+    /**
+     * This method checks if the tenant filter has already been enabled on the provided session for the provided tenant
+     * (i.e., by an outer transactional call that shares the same session).
+     *
+     * @param session  Entity manager session.
+     * @param tenantId Unique identifier of the current tenant.
+     *
+     * @return True if the tenant filter is enabled on the session with the same tenant identifier, false otherwise.
+     */
+    private boolean isTenantFilterEnabled(final Session session, final UUID tenantId) {
+        return tenantId.equals(TransactionSynchronizationManager.getResource(session)) && Objects.nonNull(
+                session.getEnabledFilter(AbstractTenantAwareEntity.TENANT_FILTER_NAME));
+    }
+
     /**
      * This method enables the filter with the specified name and sets the parameter value.
      *
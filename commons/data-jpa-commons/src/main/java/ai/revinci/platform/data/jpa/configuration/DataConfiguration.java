@@ -25,15 +25,32 @@
 
 package ai.revinci.platform.data.jpa.configuration;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 import ai.revinci.platform.data.jpa.aspect.TenantHibernateFilterAspect;
+import ai.revinci.platform.data.jpa.lookup.LookupRegistry;
 import ai.revinci.platform.data.jpa.mapper.LookupMapper;
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryAuditorPostProcessor;
 
 @EnableJpaAuditing
-@ComponentScan(basePackageClasses = {LookupMapper.class, TenantHibernateFilterAspect.class})
+@ComponentScan(basePackageClasses = {LookupMapper.class, LookupRegistry.class, TenantHibernateFilterAspect.class})
 @Configuration
 public class DataConfiguration {
+    /**
+     * This method registers the post processor that hands the auditor over to the extended repositories.
+     *
+     * @param auditorAwareProvider Provider of the auditor.
+     *
+     * @return Post processor that hands the auditor over to the extended repositories.
+     */
+    @Bean
+    public static ExtendedJpaRepositoryAuditorPostProcessor extendedJpaRepositoryAuditorPostProcessor(
+            final ObjectProvider<AuditorAware<?>> auditorAwareProvider) {
+        return new ExtendedJpaRepositoryAuditorPostProcessor(auditorAwareProvider);
+    }
 }
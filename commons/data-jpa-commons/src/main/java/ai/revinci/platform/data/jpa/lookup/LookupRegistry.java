@@ -0,0 +1,308 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.data.jpa.lookup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.common.tenant.event.TenantDataSourceAddedEvent;
+import ai.revinci.platform.data.jpa.persistence.ILookupEntity;
+import ai.revinci.platform.data.jpa.repository.LookupRepository;
+
+/**
+ * An in-memory registry of lookup values (i.e., entities of type {@link ILookupEntity}).
+ * <p>
+ * Lookup tables are small and rarely change, hence all the records of a lookup table are loaded in one go and served
+ * from memory afterwards. The tables of the default schema are loaded eagerly once the application is ready, and the
+ * tables of a tenant schema (i.e., the realm in the current {@link TenantContext}) as soon as the datasource of the
+ * tenant is added (see {@link TenantDataSourceAddedEvent}); the tables of the tenant schemas that already exist at
+ * startup are loaded the first time they are accessed.
+ * <p>
+ * The lookup tables are seeded by the database migrations and the applications do not write to them. Hence, a loaded
+ * table is only refreshed once it is older than the configured refresh interval (15 minutes by default): a change made
+ * directly in the database becomes visible, and changes the {@link #version(Class)} of the table, within that
+ * interval. The only other refresh is the reload of the tables of a tenant schema when its datasource is added.
+ * <p>
+ * The repository beans resolved from the application context are cached as well.
+ *
+ * @author Subbu
+ */
+@Slf4j
+@Component
+public class LookupRegistry implements ApplicationContextAware {
+    /** Key used for the lookups when there is no realm in the tenant context (i.e., the default schema). */
+    private static final String DEFAULT_SCHEMA = "__default__";
+
+    /** Repository type to repository bean mapping. */
+    private final Map<Class<?>, LookupRepository<?>> repositories = new ConcurrentHashMap<>();
+
+    /** Schema to (repository type to loaded lookup table) mapping. */
+    private final Map<String, Map<Class<?>, LookupTable>> lookups = new ConcurrentHashMap<>();
+
+    /** Duration after which a loaded lookup table is reloaded from the database. */
+    @Value("${revinciai.platform.lookup.refresh-interval:PT15M}")
+    private Duration refreshInterval;
+
+    /** Application context. */
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(@NonNull final ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * This method returns the repository bean of the provided type. The bean is resolved from the application context
+     * only once.
+     *
+     * @param repositoryType Type of the lookup repository.
+     * @param <R>            Type of the lookup repository.
+     *
+     * @return Repository bean of the provided type.
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends LookupRepository<?>> R repository(@NonNull final Class<R> repositoryType) {
+        return (R) repositories.computeIfAbsent(repositoryType, type -> applicationContext.getBean(repositoryType));
+    }
+
+    /**
+     * This method finds the lookup value with the provided {@code code} in the lookup table managed by the provided
+     * repository type.
+     *
+     * @param code           Code of the lookup value.
+     * @param repositoryType Type of the lookup repository.
+     * @param <R>            Type of the lookup repository.
+     * @param <T>            Type of the lookup entity.
+     *
+     * @return An optional containing the lookup value if found, an empty optional otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends LookupRepository<T>, T extends ILookupEntity> Optional<T> findByCode(
+            final String code, @NonNull final Class<R> repositoryType) {
+        if (StringUtils.isBlank(code)) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable((T) lookupTable(repositoryType).byCode()
+                .get(code));
+    }
+
+    /**
+     * This method returns all the lookup values in the lookup table managed by the provided repository type.
+     *
+     * @param repositoryType Type of the lookup repository.
+     * @param <R>            Type of the lookup repository.
+     * @param <T>            Type of the lookup entity.
+     *
+     * @return Unmodifiable list of lookup values.
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends LookupRepository<T>, T extends ILookupEntity> List<T> findAll(
+            @NonNull final Class<R> repositoryType) {
+        return (List<T>) lookupTable(repositoryType).values();
+    }
+
+    /**
+     * This method returns all the lookup values in the lookup table managed by the provided repository type, when the
+     * exact entity type is not known to the caller (e.g., the repository type is resolved dynamically).
+     *
+     * @param repositoryType Type of the lookup repository.
+     *
+     * @return Unmodifiable list of lookup values.
+     */
+    public List<? extends ILookupEntity> findAllValues(
+            @NonNull final Class<? extends LookupRepository<? extends ILookupEntity>> repositoryType) {
+        return lookupTable(repositoryType).values();
+    }
+
+    /**
+     * This method returns the version of the lookup table managed by the provided repository type. The version is a
+     * digest of the contents of the loaded table and hence changes only when a refresh of the table loads changed
+     * data (see the refresh interval).
+     *
+     * @param repositoryType Type of the lookup repository.
+     *
+     * @return Version of the lookup table.
+     */
+    public String version(@NonNull final Class<? extends LookupRepository<? extends ILookupEntity>> repositoryType) {
+        return lookupTable(repositoryType).version();
+    }
+
+    /**
+     * This method loads all the lookup tables of the default schema once the application is ready, so that the first
+     * requests do not have to.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        warmUp(null);
+    }
+
+    /**
+     * This method reloads all the lookup tables of the schema of a tenant whose datasource has just been added.
+     *
+     * @param event Event carrying the tenant whose datasource was added.
+     */
+    @EventListener
+    public void onTenantDataSourceAdded(final TenantDataSourceAddedEvent event) {
+        LookupRegistry.LOGGER.debug("Reloading the lookup values of schema {}", event.realm());
+        lookups.remove(StringUtils.isBlank(event.realm()) ?
+                               LookupRegistry.DEFAULT_SCHEMA :
+                               event.realm());
+        final TenantRealm previousTenantRealm = TenantContext.get();
+        try {
+            TenantContext.set(TenantRealm.builder()
+                                      .realm(event.realm())
+                                      .tenantId(event.tenantId())
+                                      .build());
+            warmUp(event.realm());
+        } finally {
+            if (Objects.nonNull(previousTenantRealm)) {
+                TenantContext.set(previousTenantRealm);
+            } else {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    /**
+     * This method loads all the lookup tables (of all the lookup repositories in the application context) of the
+     * schema in the current tenant context. A table that cannot be loaded (e.g., it does not exist in the schema) is
+     * skipped and loaded the first time it is accessed instead.
+     *
+     * @param realm Realm whose lookup tables are loaded, for logging.
+     */
+    @SuppressWarnings("unchecked")
+    private void warmUp(final String realm) {
+        for (final LookupRepository<?> repository : applicationContext.getBeansOfType(LookupRepository.class)
+                .values()) {
+            for (final Class<?> repositoryType : ClassUtils.getAllInterfacesForClassAsSet(repository.getClass())) {
+                if (repositoryType.equals(LookupRepository.class) || !LookupRepository.class.isAssignableFrom(
+                        repositoryType)) {
+                    continue;
+                }
+                try {
+                    lookupTable((Class<? extends LookupRepository<? extends ILookupEntity>>) repositoryType);
+                } catch (final Exception ex) {
+                    LookupRegistry.LOGGER.warn("Realm: {}. Failed to load the lookup values using {}. Error: {}",
+                                               realm, repositoryType.getSimpleName(), ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private LookupTable lookupTable(final Class<? extends LookupRepository<? extends ILookupEntity>> repositoryType) {
+        final String realm = TenantContext.realm();
+        final String schema = StringUtils.isBlank(realm) ?
+                LookupRegistry.DEFAULT_SCHEMA :
+                realm;
+        final Map<Class<?>, LookupTable> tables = lookups.computeIfAbsent(schema, k -> new ConcurrentHashMap<>());
+
+        final LookupTable table = tables.get(repositoryType);
+        if (Objects.nonNull(table) && !table.isStale(refreshInterval)) {
+            return table;
+        }
+
+        // Load (or reload) the entire lookup table. Concurrent loads of the same table are harmless as the last one
+        // wins and both of them read the same data.
+        final LookupTable loadedTable = LookupTable.of(repository(repositoryType).findAll());
+        tables.put(repositoryType, loadedTable);
+        LookupRegistry.LOGGER.debug("Schema: {}. Loaded {} lookup values using {}", schema, loadedTable.values()
+                .size(), repositoryType.getSimpleName());
+
+        return loadedTable;
+    }
+
+    /**
+     * Snapshot of a lookup table.
+     *
+     * @param byCode   Lookup values keyed by their code.
+     * @param values   Lookup values in the order in which they were loaded.
+     * @param version  Digest of the contents of the lookup table.
+     * @param loadedAt Instant at which the snapshot was loaded.
+     */
+    private record LookupTable(Map<String, ILookupEntity> byCode, List<ILookupEntity> values, String version,
+                               Instant loadedAt) {
+
+        static LookupTable of(final List<? extends ILookupEntity> values) {
+            final Map<String, ILookupEntity> byCode = new LinkedHashMap<>();
+            values.forEach(value -> byCode.put(value.getCode(), value));
+            return new LookupTable(Collections.unmodifiableMap(byCode), List.copyOf(values), digest(byCode),
+                                   Instant.now());
+        }
+
+        private static String digest(final Map<String, ILookupEntity> byCode) {
+            try {
+                final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+                // Sort by the code so that the version does not depend on the order in which the rows were read.
+                new TreeMap<>(byCode).values()
+                        .forEach(value -> Stream.of(value.getCode(), value.getName(), value.getDescription())
+                                .forEach(field -> {
+                                    messageDigest.update(String.valueOf(field)
+                                                                 .getBytes(StandardCharsets.UTF_8));
+                                    messageDigest.update((byte) 0);
+                                }));
+                return HexFormat.of()
+                        .formatHex(messageDigest.digest());
+            } catch (final NoSuchAlgorithmException e) {
+                // Every JVM is required to support SHA-256, hence this should never happen.
+                throw new IllegalStateException("SHA-256 algorithm is not available", e);
+            }
+        }
+
+        boolean isStale(final Duration refreshInterval) {
+            return Objects.nonNull(refreshInterval) && Instant.now()
+                    .isAfter(loadedAt.plus(refreshInterval));
+        }
+    }
+}
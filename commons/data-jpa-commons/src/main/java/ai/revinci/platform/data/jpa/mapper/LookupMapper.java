@@ -28,49 +28,41 @@ package ai.revinci.platform.data.jpa.mapper;
 import java.util.List;
 import java.util.function.Supplier;
 
-import org.springframework.beans.BeansException;
-import org.springframework.context.ApplicationContext;
-import org.springframework.context.ApplicationContextAware;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.exception.ServiceException;
+import ai.revinci.platform.data.jpa.lookup.LookupRegistry;
 import ai.revinci.platform.data.jpa.model.experience.lookup.LookupValue;
 import ai.revinci.platform.data.jpa.persistence.ILookupEntity;
 import ai.revinci.platform.data.jpa.repository.LookupRepository;
 
 @Slf4j
 @Component
-public class LookupMapper  implements ApplicationContextAware {
-    /** Application context. */
-    private ApplicationContext applicationContext;
-
-    @Override
-    public void setApplicationContext(@NonNull final ApplicationContext applicationContext) throws BeansException {
-        this.applicationContext = applicationContext;
-    }
+@RequiredArgsConstructor
+public class LookupMapper {
+    /** In-memory registry of lookup values of type {@link LookupRegistry}. */
+    private final LookupRegistry lookupRegistry;
 
     public <R extends LookupRepository<T>, T extends ILookupEntity> T transform(final String name,
                                                                                 final Class<R> repositoryType,
                                                                                 final Supplier<ServiceException> exceptionSupplier) {
-        return applicationContext.getBean(repositoryType)
-                .findByCode(name)
+        return lookupRegistry.findByCode(name, repositoryType)
                 .orElseThrow(exceptionSupplier);
     }
 
     public <T extends ILookupEntity, R extends LookupRepository<T>> List<T> findAllValues(
             final Class<R> repositoryType) {
-        return applicationContext.getBean(repositoryType)
-                .findAll();
+        return lookupRegistry.findAll(repositoryType);
     }
 
     public <R extends LookupRepository<? extends ILookupEntity>> List<LookupValue> findAllValuesAndTransform(
             final Class<R> repositoryType) {
-        return applicationContext.getBean(repositoryType)
-                .findAll()
+        return lookupRegistry.findAllValues(repositoryType)
                 .stream()
                 .map(this::transform)
                 .toList();
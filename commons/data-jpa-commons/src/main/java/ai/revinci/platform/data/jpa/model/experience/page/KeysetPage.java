@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.data.jpa.model.experience.page;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A page of records retrieved using keyset (seek) pagination.
+ * <p>
+ * Unlike offset based pages, a keyset page does not carry the page number or the total number of records. The next page
+ * is requested using the opaque {@code nextPageToken}, which is null when there are no more records.
+ *
+ * @param <T> Type of the records in the page.
+ */
+@Getter
+@Builder
+@ToString(onlyExplicitlyIncluded = true)
+public class KeysetPage<T> {
+    /** Records in this page. */
+    private List<T> content;
+
+    /** Maximum number of records in a page. */
+    @ToString.Include
+    private int pageSize;
+
+    /** Opaque token to retrieve the next page. Null if this is the last page. */
+    @ToString.Include
+    private String nextPageToken;
+
+    /**
+     * This method checks if there are more records after this page.
+     *
+     * @return True if there are more records, false otherwise.
+     */
+    public boolean isHasNext() {
+        return nextPageToken != null;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.data.jpa.page;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.enums.Token;
+import ai.revinci.platform.common.error.CommonErrors;
+import ai.revinci.platform.common.exception.ServiceException;
+
+/**
+ * Encodes and decodes the opaque, signed continuation tokens used by keyset (seek) pagination.
+ * <p>
+ * A token carries the sort key of the last record of a page and an HMAC-SHA256 signature over the key and the scope
+ * (i.e., the listing) it was issued for. Tokens that were tampered with, or issued for a different listing, are
+ * rejected.
+ * <p>
+ * This class is not a component. A service that issues page tokens declares it as a bean with the signing secret
+ * (typically {@code revinciai.platform.pagination.page-token-secret}), which is required as all the instances of the
+ * service (and its restarts) have to share it for the tokens to remain valid across them.
+ *
+ * @author Subbu
+ */
+@Slf4j
+public class PageTokenCodec {
+    /** HMAC algorithm used to sign the tokens. */
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /** Key used to sign the tokens. */
+    private final SecretKeySpec signingKey;
+
+    /**
+     * Constructor.
+     *
+     * @param secret Secret used to sign the tokens.
+     */
+    public PageTokenCodec(final String secret) {
+        if (StringUtils.isBlank(secret)) {
+            throw new IllegalStateException("Page token secret is not configured");
+        }
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), PageTokenCodec.ALGORITHM);
+    }
+
+    /**
+     * This method encodes the provided sort key into an opaque, signed page token.
+     *
+     * @param scope Scope (i.e., the listing) for which the token is issued, for example "tenants".
+     * @param key   Sort key of the last record of the current page.
+     *
+     * @return Opaque page token.
+     */
+    public String encode(@NonNull final String scope, @NonNull final String key) {
+        final Base64.Encoder encoder = Base64.getUrlEncoder()
+                .withoutPadding();
+        return encoder.encodeToString(key.getBytes(StandardCharsets.UTF_8))
+                .concat(Token.DOT.value())
+                .concat(encoder.encodeToString(sign(scope, key)));
+    }
+
+    /**
+     * This method decodes the provided page token and returns the sort key carried in it.
+     *
+     * @param scope     Scope (i.e., the listing) for which the token is expected to be issued.
+     * @param pageToken Page token to decode.
+     *
+     * @return Sort key carried in the token.
+     */
+    public String decode(@NonNull final String scope, @NonNull final String pageToken) {
+        try {
+            final String[] parts = pageToken.split(Token.DOT_IN_REGEXP.value());
+            if (parts.length != 2) {
+                throw ServiceException.of(CommonErrors.INVALID_PAGE_TOKEN);
+            }
+
+            final Base64.Decoder decoder = Base64.getUrlDecoder();
+            final String key = new String(decoder.decode(parts[0]), StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(sign(scope, key), decoder.decode(parts[1]))) {
+                throw ServiceException.of(CommonErrors.INVALID_PAGE_TOKEN);
+            }
+            return key;
+        } catch (final IllegalArgumentException e) {
+            PageTokenCodec.LOGGER.warn("Failed to decode the page token. Error: {}", e.getMessage());
+            throw ServiceException.of(CommonErrors.INVALID_PAGE_TOKEN);
+        }
+    }
+
+    private byte[] sign(final String scope, final String key) {
+        try {
+            final Mac mac = Mac.getInstance(PageTokenCodec.ALGORITHM);
+            mac.init(signingKey);
+            mac.update(scope.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(key.getBytes(StandardCharsets.UTF_8));
+        } catch (final GeneralSecurityException e) {
+            throw ServiceException.of(CommonErrors.ALGORITHM_NOT_FOUND, e.getMessage());
+        }
+    }
+}
@@ -27,10 +27,12 @@ package ai.revinci.platform.data.jpa.repository;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.StreamSupport;
 
 import org.springframework.data.domain.Example;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -47,6 +49,10 @@ import ai.revinci.platform.data.jpa.persistence.ISoftDeletable;
 
 /**
  * Base Repository interface that provides common behaviors.
+ * <p>
+ * Repositories extending this interface need to be enabled with
+ * {@code @EnableJpaRepositories(repositoryBaseClass = ExtendedJpaRepositoryImpl.class)} as some of the behaviors are
+ * implemented in {@link ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl}.
  *
  * @param <T>  Type of the entity.
  * @param <ID> Type of the primary key.
@@ -104,17 +110,75 @@ public interface ExtendedJpaRepository<T extends IEntity<ID>, ID extends Seriali
      */
     default Iterable<T> findAllOrThrow(final Collection<ID> ids) {
         // 1. Find all the entities with the provided identifiers.
-        final Iterable<T> entities = findAllById(ids);
+        final List<T> entities = findAllById(ids);
 
         // 2. If we were not able to find any ids, throw an exception.
-        if (StreamSupport.stream(entities.spliterator(), false)
-                .count() != ids.size()) {
+        if (entities.size() != new HashSet<>(ids).size()) {
             throw ServiceException.of(CommonErrors.RESOURCES_NOT_FOUND);
         }
 
         return entities;
     }
 
+    /**
+     * This method finds the identifiers, among the provided ones, that do not exist in the system. Soft-deleted
+     * entities are considered as not existing.
+     * <p>
+     * The existence check is done using {@code SELECT id ... WHERE id IN (...)} queries i.e., the entities are not
+     * loaded. Large collections of identifiers are split into chunks of the configured JDBC batch size.
+     *
+     * @param ids Collection of unique identifiers that needs to be checked.
+     *
+     * @return Identifiers that do not exist in the system. An empty set is returned if all of them exist.
+     */
+    Set<ID> findMissingIds(Collection<ID> ids);
+
+    /**
+     * This method checks if all the provided identifiers exist in the system.
+     *
+     * @param ids Collection of unique identifiers that needs to be checked.
+     *
+     * @return True if all the identifiers exist, false otherwise.
+     */
+    default boolean existsAllById(final Collection<ID> ids) {
+        return findMissingIds(ids).isEmpty();
+    }
+
+    /**
+     * This method attempts to delete the objects with the provided identifiers from the database using set-based
+     * statements i.e., without loading the entities.
+     * <p>
+     * If the type of the entity is {@link ISoftDeletable}, the entities are marked as deleted using a single
+     * {@code UPDATE ... WHERE id IN (...)} statement, else they are hard deleted using a single
+     * {@code DELETE ... WHERE id IN (...)} statement. Large collections of identifiers are split into chunks of the
+     * configured JDBC batch size.
+     * <p>
+     * As the statements bypass the persistence context, entity instances that are already loaded in the current
+     * persistence context are not updated.
+     *
+     * @param ids Collection of unique identifiers of the objects that needs to be deleted.
+     *
+     * @return Number of rows that were affected (rows that were already soft-deleted are not counted).
+     */
+    int deleteAllByIdInBulk(Collection<ID> ids);
+
+    /**
+     * This method attempts to find a page of entities using keyset (seek) pagination i.e., the entities whose value of
+     * the provided key property is greater than the provided value, ordered by the key property.
+     * <p>
+     * Unlike offset pagination, the database seeks directly to the first matching row using the index on the key
+     * property, hence deep pages cost the same as the first page. The key property must be unique (e.g., the primary
+     * key or a column with a unique constraint) and indexed. Soft-deleted entities are excluded.
+     *
+     * @param keyProperty Name of the (unique and indexed) property on which the entities are ordered.
+     * @param after       Value of the key property of the last entity of the previous page. Null for the first page.
+     * @param limit       Maximum number of entities to return.
+     * @param <K>         Type of the key property.
+     *
+     * @return Entities ordered by the key property.
+     */
+    <K extends Comparable<? super K>> List<T> findAllAfter(String keyProperty, K after, int limit);
+
     /**
      * This method attempts to delete the object from the database.
      * <p>
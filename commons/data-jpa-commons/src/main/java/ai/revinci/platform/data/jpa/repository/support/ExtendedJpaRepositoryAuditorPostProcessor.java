@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.data.jpa.repository.support;
+
+import java.util.Optional;
+
+import org.springframework.aop.target.SingletonTargetSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Post processor that hands the auditor over to the repositories based on {@link ExtendedJpaRepositoryImpl}, so that
+ * the soft-deletes record the user who deleted the entities.
+ * <p>
+ * The repository base class is instantiated by Spring Data and not by the container, hence the auditor is set on the
+ * repository once the repository factory has created it.
+ */
+@RequiredArgsConstructor
+public class ExtendedJpaRepositoryAuditorPostProcessor implements BeanPostProcessor {
+    /** Provider of the auditor that is also used to populate the auditing attributes of the entities. */
+    private final ObjectProvider<AuditorAware<?>> auditorAwareProvider;
+
+    @Override
+    public Object postProcessBeforeInitialization(@NonNull final Object bean, @NonNull final String beanName) {
+        if (bean instanceof final RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            final AuditorAware<Object> auditorAware = () -> Optional.ofNullable(auditorAwareProvider.getIfUnique())
+                    .flatMap(AuditorAware::getCurrentAuditor);
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> {
+                        if (proxyFactory.getTargetSource() instanceof final SingletonTargetSource targetSource &&
+                                targetSource.getTarget() instanceof final ExtendedJpaRepositoryImpl<?, ?> repository) {
+                            repository.setAuditorAware(auditorAware);
+                        }
+                    }));
+        }
+        return bean;
+    }
+}
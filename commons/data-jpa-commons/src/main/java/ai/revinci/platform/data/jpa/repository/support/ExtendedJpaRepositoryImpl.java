@@ -0,0 +1,320 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.data.jpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
+
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.data.jpa.persistence.AbstractTenantAwareEntity;
+import ai.revinci.platform.data.jpa.persistence.IEntity;
+import ai.revinci.platform.data.jpa.persistence.ISoftDeletable;
+import ai.revinci.platform.data.jpa.persistence.ITenantAwareEntity;
+import ai.revinci.platform.data.jpa.repository.ExtendedJpaRepository;
+import ai.revinci.platform.data.jpa.utils.PageUtils;
+
+/**
+ * Repository base class that implements the set-based behaviors declared in {@link ExtendedJpaRepository}.
+ *
+ * @param <T>  Type of the entity.
+ * @param <ID> Type of the primary key.
+ */
+@Slf4j
+@Transactional(readOnly = true)
+public class ExtendedJpaRepositoryImpl<T extends IEntity<ID>, ID extends Serializable>
+        extends SimpleJpaRepository<T, ID> implements ExtendedJpaRepository<T, ID> {
+    /** Hibernate property that holds the JDBC batch size. */
+    private static final String JDBC_BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+
+    /** Query template to find the existing identifiers. {0} is the entity name and {1} is the id attribute. */
+    private static final String FIND_IDS_QUERY = "SELECT e.{1} FROM {0} e WHERE e.{1} IN :ids";
+
+    /** Attribute that flags the soft-deleted entities. */
+    private static final String DELETED_ATTRIBUTE = "deleted";
+
+    /** Attribute that holds the time at which the entity was soft-deleted. */
+    private static final String DELETED_DATE_ATTRIBUTE = "deletedDate";
+
+    /** Attribute that holds the user who soft-deleted the entity. */
+    private static final String DELETED_BY_ATTRIBUTE = "deletedBy";
+
+    /** Attribute that holds the tenant of the entity. */
+    private static final String TENANT_ID_ATTRIBUTE = "tenantId";
+
+    /** Query template to soft-delete the entities. {0} is the entity name and {1} is the id attribute. */
+    private static final String SOFT_DELETE_QUERY = "UPDATE {0} e SET e.deleted = true, " +
+            "e.deletedDate = :deletedDate, e.deletedBy = :deletedBy WHERE e.{1} IN :ids AND e.deleted = false";
+
+    /** Query template to hard-delete the entities. {0} is the entity name and {1} is the id attribute. */
+    private static final String HARD_DELETE_QUERY = "DELETE FROM {0} e WHERE e.{1} IN :ids";
+
+    /** Query template to find the entities. {0} is the entity name and {1} is the id attribute. */
+    private static final String FIND_ALL_QUERY = "SELECT e FROM {0} e WHERE 1 = 1";
+
+    /** Condition that seeks past the last entity of the previous page. {2} is the key property. */
+    private static final String KEYSET_CONDITION = " AND e.{2} > :after";
+
+    /** Order by clause of the keyset queries. {2} is the key property. */
+    private static final String KEYSET_ORDER_BY = " ORDER BY e.{2} ASC";
+
+    /** Condition that excludes the soft-deleted entities. */
+    private static final String NOT_DELETED_CONDITION = " AND e.deleted = false";
+
+    /** Condition that restricts the statements to the current tenant. */
+    private static final String TENANT_CONDITION = " AND e.tenantId = :" +
+            AbstractTenantAwareEntity.TENANT_ID_PARAMETER_NAME;
+
+    /** Metadata of the entity managed by this repository. */
+    private final JpaEntityInformation<T, ?> entityInformation;
+
+    /** Entity manager. */
+    private final EntityManager entityManager;
+
+    /** Flag that indicates whether the entities are soft-deleted. */
+    private final boolean softDeletable;
+
+    /** Flag that indicates whether the statements are restricted to the current tenant. */
+    private final boolean tenantAware;
+
+    /** Auditor that provides the user recorded on the soft-deleted entities. */
+    private AuditorAware<?> auditorAware;
+
+    /**
+     * Constructor.
+     * <p>
+     * The attributes referenced by the queries of this repository are checked against the metamodel of the entity, so
+     * that a mapping that does not follow {@link ISoftDeletable} or {@link ITenantAwareEntity} fails when the
+     * repository is created rather than when the first query is run.
+     *
+     * @param entityInformation Metadata of the entity managed by this repository.
+     * @param entityManager     Entity manager.
+     */
+    public ExtendedJpaRepositoryImpl(final JpaEntityInformation<T, ?> entityInformation,
+                                     final EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+
+        final Class<T> domainClass = entityInformation.getJavaType();
+        this.softDeletable = ISoftDeletable.class.isAssignableFrom(domainClass);
+        this.tenantAware = ITenantAwareEntity.class.isAssignableFrom(domainClass);
+        if (softDeletable) {
+            requireAttributes(ExtendedJpaRepositoryImpl.DELETED_ATTRIBUTE,
+                              ExtendedJpaRepositoryImpl.DELETED_DATE_ATTRIBUTE,
+                              ExtendedJpaRepositoryImpl.DELETED_BY_ATTRIBUTE);
+        }
+        if (tenantAware) {
+            requireAttributes(ExtendedJpaRepositoryImpl.TENANT_ID_ATTRIBUTE);
+        }
+    }
+
+    /**
+     * This method sets the auditor that provides the user recorded on the soft-deleted entities. Without an auditor,
+     * the soft-deleted entities are not attributed to any user.
+     *
+     * @param auditorAware Auditor that provides the current user.
+     */
+    public void setAuditorAware(final AuditorAware<?> auditorAware) {
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    public Set<ID> findMissingIds(@NonNull final Collection<ID> ids) {
+        final Set<ID> missingIds = new LinkedHashSet<>(ids);
+        if (CollectionUtils.isEmpty(missingIds)) {
+            return missingIds;
+        }
+
+        final String jpql = softDeletable ?
+                formatQuery(ExtendedJpaRepositoryImpl.FIND_IDS_QUERY) +
+                        ExtendedJpaRepositoryImpl.NOT_DELETED_CONDITION :
+                formatQuery(ExtendedJpaRepositoryImpl.FIND_IDS_QUERY);
+        for (final List<ID> chunk : chunks(missingIds)) {
+            final TypedQuery<?> query = entityManager.createQuery(jpql, entityInformation.getIdType())
+                    .setParameter("ids", chunk);
+            query.getResultList()
+                    .forEach(missingIds::remove);
+        }
+
+        return missingIds;
+    }
+
+    @Transactional
+    @Override
+    public int deleteAllByIdInBulk(@NonNull final Collection<ID> ids) {
+        final Set<ID> idsToDelete = new LinkedHashSet<>(ids);
+        if (CollectionUtils.isEmpty(idsToDelete)) {
+            return 0;
+        }
+
+        final UUID tenantId = tenantId();
+        final String template = softDeletable ?
+                ExtendedJpaRepositoryImpl.SOFT_DELETE_QUERY :
+                ExtendedJpaRepositoryImpl.HARD_DELETE_QUERY;
+        final String jpql = Objects.isNull(tenantId) ?
+                formatQuery(template) :
+                formatQuery(template) + ExtendedJpaRepositoryImpl.TENANT_CONDITION;
+        final long deletedDate = System.currentTimeMillis();
+        final String deletedBy = softDeletable ?
+                currentAuditor() :
+                null;
+
+        int affectedRows = 0;
+        for (final List<ID> chunk : chunks(idsToDelete)) {
+            final Query query = entityManager.createQuery(jpql)
+                    .setParameter("ids", chunk);
+            if (softDeletable) {
+                query.setParameter("deletedDate", deletedDate);
+                query.setParameter("deletedBy", deletedBy);
+            }
+            if (Objects.nonNull(tenantId)) {
+                query.setParameter(AbstractTenantAwareEntity.TENANT_ID_PARAMETER_NAME, tenantId);
+            }
+            affectedRows += query.executeUpdate();
+        }
+
+        ExtendedJpaRepositoryImpl.LOGGER.debug("Entity: {}. Deleted {} of {} requested rows (soft-delete: {})",
+                                               entityInformation.getEntityName(), affectedRows, idsToDelete.size(),
+                                               softDeletable);
+        return affectedRows;
+    }
+
+    @Override
+    public <K extends Comparable<? super K>> List<T> findAllAfter(@NonNull final String keyProperty, final K after,
+                                                                  final int limit) {
+        // Fail fast on unknown properties, which also prevents arbitrary input from reaching the query.
+        entityManager.getMetamodel()
+                .entity(getDomainClass())
+                .getAttribute(keyProperty);
+
+        final StringBuilder jpql = new StringBuilder(ExtendedJpaRepositoryImpl.FIND_ALL_QUERY);
+        if (Objects.nonNull(after)) {
+            jpql.append(ExtendedJpaRepositoryImpl.KEYSET_CONDITION);
+        }
+        if (softDeletable) {
+            jpql.append(ExtendedJpaRepositoryImpl.NOT_DELETED_CONDITION);
+        }
+        jpql.append(ExtendedJpaRepositoryImpl.KEYSET_ORDER_BY);
+
+        final TypedQuery<T> query = entityManager.createQuery(formatQuery(jpql.toString(), keyProperty),
+                                                             getDomainClass())
+                .setMaxResults(limit);
+        if (Objects.nonNull(after)) {
+            query.setParameter("after", after);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * This method splits the provided identifiers into chunks of the configured JDBC batch size.
+     *
+     * @param ids Identifiers to split.
+     *
+     * @return Chunks of identifiers.
+     */
+    private List<List<ID>> chunks(final Collection<ID> ids) {
+        final int chunkSize = jdbcBatchSize();
+        final List<ID> source = new ArrayList<>(ids);
+        final List<List<ID>> chunks = new ArrayList<>();
+        for (int start = 0; start < source.size(); start += chunkSize) {
+            chunks.add(source.subList(start, Math.min(start + chunkSize, source.size())));
+        }
+        return chunks;
+    }
+
+    private int jdbcBatchSize() {
+        final Object batchSize = entityManager.getEntityManagerFactory()
+                .getProperties()
+                .get(ExtendedJpaRepositoryImpl.JDBC_BATCH_SIZE_PROPERTY);
+        final int value = Objects.isNull(batchSize) ?
+                0 :
+                NumberUtils.toInt(batchSize.toString());
+        return value > 0 ?
+                value :
+                PageUtils.DEFAULT_BATCH_SIZE;
+    }
+
+    private String formatQuery(final String template, final Object... arguments) {
+        final Object[] allArguments = new Object[arguments.length + 2];
+        allArguments[0] = entityInformation.getEntityName();
+        allArguments[1] = entityInformation.getRequiredIdAttribute()
+                .getName();
+        System.arraycopy(arguments, 0, allArguments, 2, arguments.length);
+        return MessageFormat.format(template, allArguments);
+    }
+
+    private void requireAttributes(final String... attributeNames) {
+        final EntityType<T> entityType = entityManager.getMetamodel()
+                .entity(getDomainClass());
+        for (final String attributeName : attributeNames) {
+            final boolean present = entityType.getAttributes()
+                    .stream()
+                    .anyMatch(attribute -> attribute.getName()
+                            .equals(attributeName));
+            if (!present) {
+                throw new IllegalStateException(
+                        MessageFormat.format("Entity {0} does not map the attribute {1} used by the repository queries",
+                                             entityInformation.getEntityName(), attributeName));
+            }
+        }
+    }
+
+    private String currentAuditor() {
+        return Optional.ofNullable(auditorAware)
+                .flatMap(AuditorAware::getCurrentAuditor)
+                .map(Object::toString)
+                .orElse(null);
+    }
+
+    private UUID tenantId() {
+        return tenantAware ?
+                TenantContext.tenantId() :
+                null;
+    }
+}
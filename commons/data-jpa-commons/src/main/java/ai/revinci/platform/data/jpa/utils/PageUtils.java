@@ -28,6 +28,7 @@ package ai.revinci.platform.data.jpa.utils;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
@@ -40,6 +41,7 @@ import org.springframework.data.domain.Sort;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.enums.Token;
+import ai.revinci.platform.data.jpa.model.experience.page.KeysetPage;
 
 @Slf4j
 public final class PageUtils {
@@ -224,6 +226,50 @@ public final class PageUtils {
         return pageNumber * pageSize;
     }
 
+    /**
+     * This method validates the page size requested for keyset (seek) pagination. If the page size is not positive,
+     * the default page size ({@code PageUtils.DEFAULT_PAGE_SIZE}) is returned, and if it is larger than the maximum
+     * page size ({@code PageUtils.MAX_PAGE_SIZE}), the maximum page size is returned.
+     *
+     * @param pageSize Requested page size.
+     *
+     * @return Page size to use.
+     */
+    public static int keysetPageSize(final int pageSize) {
+        if (pageSize <= 0) {
+            return PageUtils.defaultPageSize();
+        }
+        return Math.min(pageSize, PageUtils.maximumPageSize());
+    }
+
+    /**
+     * Creates and returns a keyset page using the provided records.
+     * <p>
+     * The records are expected to have been fetched with a limit of {@code pageSize + 1}. The extra record, if present,
+     * is only used to determine that there is a next page and is not part of the returned page.
+     *
+     * @param records       Records fetched with a limit of {@code pageSize + 1}, ordered by the sort key.
+     * @param pageSize      Page size.
+     * @param tokenSupplier Function that generates the next page token from the last record of the page.
+     *
+     * @return Keyset page of type {@link KeysetPage}.
+     */
+    public static <X> KeysetPage<X> createKeysetPage(final List<X> records, final int pageSize,
+                                                     final Function<X, String> tokenSupplier) {
+        final boolean hasNext = records.size() > pageSize;
+        final List<X> content = hasNext ?
+                records.subList(0, pageSize) :
+                records;
+
+        return KeysetPage.<X>builder()
+                .content(content)
+                .pageSize(pageSize)
+                .nextPageToken(hasNext ?
+                                       tokenSupplier.apply(content.getLast()) :
+                                       null)
+                .build();
+    }
+
     /**
      * This method returns the default page number ({@code PageUtils.DEFAULT_PAGE_NUMBER}) and is used in situations
      * where the pagination settings are invalid.
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.aspect;
+
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.messaging.service.ProcessedMessageStore;
+import ai.revinci.platform.messaging.utils.MessageUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Skips the messages that have already been processed by the handlers annotated with
+ * {@link ai.revinci.platform.messaging.annotation.IdempotentConsumer}.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(MessageContextAspect.ORDER + 2)
+@RequiredArgsConstructor
+public class IdempotentConsumerAspect {
+    /** Name of the counter of the duplicate messages that were skipped. */
+    private static final String METRIC_DUPLICATES = "revinciai.messaging.consume.duplicates";
+
+    private final ProcessedMessageStore processedMessageStore;
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(ai.revinci.platform.messaging.annotation.IdempotentConsumer)")
+    public Object skipDuplicates(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final Message<?> message = MessageAspectSupport.findMessage(joinPoint.getArgs());
+        final String messageId = Objects.isNull(message) ?
+                null :
+                MessageUtils.getMessageId(message.getHeaders());
+        final String handler = MessageAspectSupport.handlerName(joinPoint);
+        if (StringUtils.isBlank(messageId)) {
+            IdempotentConsumerAspect.LOGGER.debug("Handler: {}. Message does not have an identifier", handler);
+            return joinPoint.proceed();
+        }
+
+        final ProcessedMessageStore.Recording recording = processedMessageStore.markProcessing(handler, messageId);
+        if (ProcessedMessageStore.Recording.DUPLICATE == recording) {
+            IdempotentConsumerAspect.LOGGER.info("Handler: {}, Message: {}. Skipping the duplicate message", handler,
+                                                 messageId);
+            meterRegistry.counter(IdempotentConsumerAspect.METRIC_DUPLICATES, MessageContextAspect.TAG_HANDLER,
+                                  handler)
+                    .increment();
+            return null;
+        }
+
+        try {
+            return joinPoint.proceed();
+        } catch (final Throwable t) {
+            // Release the message so that its redelivery is processed.
+            processedMessageStore.release(handler, messageId, recording);
+            throw t;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.aspect;
+
+import org.aspectj.lang.JoinPoint;
+import org.springframework.messaging.Message;
+
+import ai.revinci.platform.common.enums.Token;
+
+/**
+ * Helpers shared by the aspects that apply to the message handlers.
+ */
+final class MessageAspectSupport {
+    /**
+     * Private constructor.
+     */
+    private MessageAspectSupport() {
+        throw new IllegalStateException("Cannot create instances of this class");
+    }
+
+    /**
+     * This method returns the first argument of type {@link Message}.
+     *
+     * @param args Arguments of the handler.
+     *
+     * @return Message or null if none of the arguments is a message.
+     */
+    static Message<?> findMessage(final Object[] args) {
+        for (final Object arg : args) {
+            if (arg instanceof Message<?> message) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method returns the name of the handler i.e., {@code <simple class name>.<method name>}.
+     *
+     * @param joinPoint Join point of the handler.
+     *
+     * @return Name of the handler.
+     */
+    static String handlerName(final JoinPoint joinPoint) {
+        return joinPoint.getSignature()
+                .getDeclaringType()
+                .getSimpleName()
+                .concat(Token.DOT.value())
+                .concat(joinPoint.getSignature()
+                                .getName());
+    }
+}
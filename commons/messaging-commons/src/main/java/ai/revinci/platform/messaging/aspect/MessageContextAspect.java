@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.aspect;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.MDC;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.enums.Key;
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.messaging.utils.MessageUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Restores the context carried in the headers of a message for the methods annotated with
+ * {@link ai.revinci.platform.messaging.annotation.ConsumeMessage}.
+ * <p>
+ * The tenant and realm are set in the {@link TenantContext} and the correlation-id in the MDC (so that the messages
+ * published while handling it carry the same correlation-id). The context that existed before the call is restored
+ * after the call. The time from publishing to handling the message is recorded as a histogram.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(MessageContextAspect.ORDER)
+@RequiredArgsConstructor
+public class MessageContextAspect {
+    /** Order of this aspect. It runs before the other aspects of the message handlers. */
+    public static final int ORDER = 1;
+
+    /** Name of the tag that holds the name of the handler. */
+    static final String TAG_HANDLER = "handler";
+
+    /** Name of the timer that records the time from publishing to handling a message. */
+    private static final String METRIC_LATENCY = "revinciai.messaging.consume.latency";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(ai.revinci.platform.messaging.annotation.ConsumeMessage)")
+    public Object restoreContext(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final Message<?> message = MessageAspectSupport.findMessage(joinPoint.getArgs());
+        if (Objects.isNull(message)) {
+            return joinPoint.proceed();
+        }
+
+        final MessageHeaders headers = message.getHeaders();
+        final TenantRealm previousTenantRealm = TenantContext.get();
+        final String previousCorrelationId = MDC.get(Key.CORRELATION_ID.value());
+        try {
+            setContext(headers);
+            return joinPoint.proceed();
+        } finally {
+            recordLatency(joinPoint, headers);
+            resetContext(previousTenantRealm, previousCorrelationId);
+        }
+    }
+
+    private void setContext(final MessageHeaders headers) {
+        final String correlationId = MessageUtils.getHeaderAsString(headers, Key.CORRELATION_ID.value());
+        if (StringUtils.isNotBlank(correlationId)) {
+            MDC.put(Key.CORRELATION_ID.value(), correlationId);
+        }
+
+        final String tenantId = MessageUtils.getHeaderAsString(headers, Key.TENANT_ID.value());
+        final String realm = MessageUtils.getHeaderAsString(headers, Key.REALM.value());
+        if (StringUtils.isBlank(tenantId) && StringUtils.isBlank(realm)) {
+            return;
+        }
+
+        try {
+            TenantContext.refresh(TenantRealm.builder()
+                                          .tenantId(StringUtils.isBlank(tenantId) ?
+                                                            null :
+                                                            UUID.fromString(tenantId))
+                                          .realm(realm)
+                                          .build());
+        } catch (final IllegalArgumentException e) {
+            MessageContextAspect.LOGGER.warn("Realm: {}. Invalid tenant identifier {} in the message headers", realm,
+                                             tenantId);
+        }
+    }
+
+    private void resetContext(final TenantRealm previousTenantRealm, final String previousCorrelationId) {
+        if (Objects.isNull(previousTenantRealm)) {
+            TenantContext.clear();
+        } else {
+            TenantContext.refresh(previousTenantRealm);
+        }
+
+        if (StringUtils.isBlank(previousCorrelationId)) {
+            MDC.remove(Key.CORRELATION_ID.value());
+        } else {
+            MDC.put(Key.CORRELATION_ID.value(), previousCorrelationId);
+        }
+    }
+
+    private void recordLatency(final ProceedingJoinPoint joinPoint, final MessageHeaders headers) {
+        final Long publishedAt = MessageUtils.getPublishedAt(headers);
+        if (Objects.isNull(publishedAt)) {
+            return;
+        }
+
+        Timer.builder(MessageContextAspect.METRIC_LATENCY)
+                .description("Time from publishing to handling a message")
+                .tag(MessageContextAspect.TAG_HANDLER, MessageAspectSupport.handlerName(joinPoint))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+    }
+}
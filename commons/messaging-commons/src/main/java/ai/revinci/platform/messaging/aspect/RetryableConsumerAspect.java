@@ -0,0 +1,223 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.aspect;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.messaging.service.DeadLetterService;
+import ai.revinci.platform.messaging.utils.MessageUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Retries the handlers annotated with {@link ai.revinci.platform.messaging.annotation.RetryableConsumer} with an
+ * exponential backoff and moves the messages that fail all the attempts to the dead-letter store.
+ * <p>
+ * The handlers are {@code @Async} (or hand the messages over to executors of their own), hence a failure never reaches
+ * the binder and the retries have to happen here. A retry does not block the thread of the failed attempt: it is
+ * scheduled after the backoff and invoked on the handler proxy with the attempt number in the
+ * {@value #HEADER_ATTEMPT} header, so that all the aspects of the handler apply to it. The retries of the handlers
+ * that are not {@code @Async} run on the scheduler threads and a retried message may be processed after the messages
+ * that were received after it. This aspect runs inside the {@link MessageContextAspect} (so that the retries have the
+ * context of the message) and outside the {@link IdempotentConsumerAspect} (so that every attempt is processed).
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(MessageContextAspect.ORDER + 1)
+@RequiredArgsConstructor
+public class RetryableConsumerAspect implements DisposableBean {
+    /** Name of the header that holds the number of the attempt of a retried message. */
+    public static final String HEADER_ATTEMPT = "retryAttempt";
+
+    /** Name of the counter of the failed attempts that were retried. */
+    private static final String METRIC_RETRIED = "revinciai.messaging.consume.retried";
+
+    /** Name of the counter of the messages that were dead-lettered. */
+    private static final String METRIC_DEAD_LETTERED = "revinciai.messaging.consume.dead-lettered";
+
+    private final DeadLetterService deadLetterService;
+
+    private final MeterRegistry meterRegistry;
+
+    /** Maximum number of attempts (including the first one) after which a message is dead-lettered. */
+    @Value("${revinciai.platform.messaging.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    /** Delay before the first retry of a message. */
+    @Value("${revinciai.platform.messaging.retry.initial-backoff:PT1S}")
+    private Duration initialBackoff;
+
+    /** Factor by which the delay grows after every retry. */
+    @Value("${revinciai.platform.messaging.retry.multiplier:2.0}")
+    private double multiplier;
+
+    /** Maximum delay between two attempts of a message. */
+    @Value("${revinciai.platform.messaging.retry.max-backoff:PT30S}")
+    private Duration maxBackoff;
+
+    /** Number of threads that run the scheduled retries. */
+    @Value("${revinciai.platform.messaging.retry.pool-size:2}")
+    private int poolSize;
+
+    /** Scheduler of the retries, which is created on the first failure. */
+    private volatile ScheduledExecutorService retryScheduler;
+
+    @Around("@annotation(ai.revinci.platform.messaging.annotation.RetryableConsumer)")
+    public Object retry(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final Message<?> message = MessageAspectSupport.findMessage(joinPoint.getArgs());
+        if (Objects.isNull(message)) {
+            return joinPoint.proceed();
+        }
+
+        final int attempt = attempt(message);
+        try {
+            return joinPoint.proceed();
+        } catch (final Exception e) {
+            final String handler = MessageAspectSupport.handlerName(joinPoint);
+            if (attempt >= maxAttempts || !scheduleRetry(joinPoint, message, attempt + 1)) {
+                RetryableConsumerAspect.LOGGER.error("Handler: {}. Attempt {} of {} failed. Dead-lettering the "
+                                                             + "message. Error: {}", handler, attempt, maxAttempts,
+                                                     e.getMessage(), e);
+                // A replay of the dead-lettered message starts afresh.
+                final Message<?> deadLetter = MessageBuilder.fromMessage(message)
+                        .removeHeader(RetryableConsumerAspect.HEADER_ATTEMPT)
+                        .build();
+                deadLetterService.deadLetter(AopUtils.getTargetClass(joinPoint.getTarget()),
+                                             joinPoint.getSignature()
+                                                     .getName(), deadLetter, attempt, e);
+                meterRegistry.counter(RetryableConsumerAspect.METRIC_DEAD_LETTERED,
+                                      MessageContextAspect.TAG_HANDLER, handler)
+                        .increment();
+                return null;
+            }
+
+            RetryableConsumerAspect.LOGGER.warn("Handler: {}. Attempt {} of {} failed. Retrying after {} ms. Error: {}",
+                                                handler, attempt, maxAttempts, backoff(attempt), e.getMessage());
+            meterRegistry.counter(RetryableConsumerAspect.METRIC_RETRIED, MessageContextAspect.TAG_HANDLER, handler)
+                    .increment();
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        final ScheduledExecutorService scheduler = retryScheduler;
+        if (Objects.nonNull(scheduler)) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * This method schedules the provided attempt of the message on the handler proxy after the backoff of the previous
+     * attempt.
+     *
+     * @param joinPoint Join point of the handler.
+     * @param message   Message that failed.
+     * @param attempt   Number of the attempt to schedule.
+     *
+     * @return True if the attempt was scheduled, false if the scheduler has been shut down.
+     */
+    private boolean scheduleRetry(final ProceedingJoinPoint joinPoint, final Message<?> message, final int attempt) {
+        final Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        final Object handler = joinPoint.getThis();
+        final Object[] args = joinPoint.getArgs()
+                .clone();
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i] == message) {
+                args[i] = MessageBuilder.fromMessage(message)
+                        .setHeader(RetryableConsumerAspect.HEADER_ATTEMPT, attempt)
+                        .build();
+            }
+        }
+
+        try {
+            retryScheduler().schedule(() -> ReflectionUtils.invokeMethod(method, handler, args),
+                                      backoff(attempt - 1), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private ScheduledExecutorService retryScheduler() {
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (Objects.isNull(scheduler)) {
+            synchronized (this) {
+                scheduler = retryScheduler;
+                if (Objects.isNull(scheduler)) {
+                    final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                            Math.max(1, poolSize), new CustomizableThreadFactory("message-retry-"));
+                    executor.setRemoveOnCancelPolicy(true);
+                    scheduler = executor;
+                    retryScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * This method returns the delay after the provided (failed) attempt.
+     *
+     * @param attempt Number of the failed attempt.
+     *
+     * @return Delay in milliseconds.
+     */
+    private long backoff(final int attempt) {
+        final double backoff = initialBackoff.toMillis() * Math.pow(multiplier, Math.max(0, attempt - 1));
+        return (long) Math.min(maxBackoff.toMillis(), backoff);
+    }
+
+    private int attempt(final Message<?> message) {
+        final String attempt = MessageUtils.getHeaderAsString(message.getHeaders(),
+                                                              RetryableConsumerAspect.HEADER_ATTEMPT);
+        return Math.max(1, NumberUtils.toInt(attempt, 1));
+    }
+}
@@ -27,10 +27,13 @@ package ai.revinci.platform.messaging.configuration;
 
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import ai.revinci.platform.messaging.aspect.MessageContextAspect;
 import ai.revinci.platform.messaging.service.MessagePublisher;
 
-@ComponentScan(basePackageClasses = {MessagePublisher.class})
+@EnableScheduling
+@ComponentScan(basePackageClasses = {MessageContextAspect.class, MessagePublisher.class})
 @Configuration
 public class MessagingConfiguration {
 }
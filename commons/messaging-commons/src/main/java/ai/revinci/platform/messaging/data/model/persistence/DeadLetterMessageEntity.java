@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.data.model.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import ai.revinci.platform.data.jpa.persistence.IEntity;
+
+/**
+ * A message that could not be processed by a consumer after the permitted number of attempts.
+ * <p>
+ * The message is stored along with the handler that failed to process it and the details of the failure, so that it
+ * can be replayed to the same handler once the cause of the failure has been fixed.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@Setter
+@Entity
+@Table(name = DeadLetterMessageEntity.TABLE_NAME)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterMessageEntity implements IEntity<Long> {
+    /** Name of the table. */
+    public static final String TABLE_NAME = "dead_letter_message";
+
+    /** Primary key of the entity. */
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /** Name of the application (service) in which the message failed. Only this application can replay it. */
+    @ToString.Include
+    @Column(name = "application", length = 128, nullable = false)
+    private String application;
+
+    /** Fully qualified name of the class of the handler that failed to process the message. */
+    @ToString.Include
+    @Column(name = "handler_type", nullable = false)
+    private String handlerType;
+
+    /** Name of the handler method that failed to process the message. */
+    @ToString.Include
+    @Column(name = "handler_method", length = 128, nullable = false)
+    private String handlerMethod;
+
+    /** Payload of the message. */
+    @Column(name = "payload", columnDefinition = "text", nullable = false)
+    private String payload;
+
+    /** Flag indicating that the payload of the message was binary (UTF-8 encoded in {@link #payload}). */
+    @Column(name = "binary_payload", nullable = false)
+    private boolean binaryPayload;
+
+    /** Headers of the message in JSON format. */
+    @Column(name = "headers", columnDefinition = "text", nullable = false)
+    private String headers;
+
+    /** Fully qualified name of the class of the error of the last attempt. */
+    @Column(name = "error_type")
+    private String errorType;
+
+    /** Message of the error of the last attempt. */
+    @Column(name = "error_message", length = 1024)
+    private String errorMessage;
+
+    /** Number of attempts made to process the message. */
+    @ToString.Include
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** Time (epoch milliseconds) at which the message was dead-lettered. */
+    @Column(name = "failed_at", nullable = false)
+    private long failedAt;
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.data.model.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import ai.revinci.platform.data.jpa.persistence.IEntity;
+
+/**
+ * A message recorded in the transactional outbox.
+ * <p>
+ * Messages are written in the same transaction as the business change that produced them and are relayed to the
+ * broker after the commit by the {@code OutboxMessageRelay}. The generated identifier is monotonically increasing and
+ * defines the order in which the messages of a key are relayed.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@Setter
+@Entity
+@Table(name = OutboxMessageEntity.TABLE_NAME)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessageEntity implements IEntity<Long> {
+    /** Name of the table. */
+    public static final String TABLE_NAME = "outbox_message";
+
+    /** Primary key of the entity, which also defines the order of the messages. */
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /** Key of the message. Messages with the same key are relayed in the order in which they were written. */
+    @ToString.Include
+    @Column(name = "message_key", length = 128, nullable = false)
+    private String messageKey;
+
+    /** Name of the binding to which the message is relayed. */
+    @ToString.Include
+    @Column(name = "binding_name", nullable = false)
+    private String bindingName;
+
+    /** Payload of the message (serialized and encrypted). */
+    @Column(name = "payload", columnDefinition = "text", nullable = false)
+    private String payload;
+
+    /** Headers of the message in JSON format. */
+    @Column(name = "headers", columnDefinition = "text", nullable = false)
+    private String headers;
+
+    /** Number of failed attempts to relay the message. */
+    @ToString.Include
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** Time (epoch milliseconds) before which the message should not be relayed. */
+    @Column(name = "next_attempt_at", nullable = false)
+    private long nextAttemptAt;
+
+    /** Time (epoch milliseconds) at which the message was written. */
+    @Column(name = "created_date", nullable = false)
+    private long createdDate;
+
+    /** Error of the last failed attempt. */
+    @Column(name = "last_error", length = 1024)
+    private String lastError;
+
+    /** Flag indicating that the message could not be relayed after the permitted number of attempts. */
+    @ToString.Include
+    @Column(name = "failed", nullable = false)
+    private boolean failed;
+}
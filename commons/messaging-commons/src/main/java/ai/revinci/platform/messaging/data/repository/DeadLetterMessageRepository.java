@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.data.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import ai.revinci.platform.data.jpa.repository.ExtendedJpaRepository;
+import ai.revinci.platform.messaging.data.model.persistence.DeadLetterMessageEntity;
+
+@Repository
+public interface DeadLetterMessageRepository extends ExtendedJpaRepository<DeadLetterMessageEntity, Long> {
+    /**
+     * This method returns the dead-lettered messages of the provided application that come after the provided
+     * identifier, in the order in which they were dead-lettered.
+     *
+     * @param application Name of the application.
+     * @param id          Identifier after which the messages are to be returned.
+     * @param limit       Maximum number of messages to return.
+     *
+     * @return Dead-lettered messages ordered by their identifier.
+     */
+    List<DeadLetterMessageEntity> findByApplicationAndIdGreaterThanOrderByIdAsc(String application, Long id,
+                                                                                Limit limit);
+}
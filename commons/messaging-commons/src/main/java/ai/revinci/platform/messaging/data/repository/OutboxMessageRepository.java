@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.data.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ai.revinci.platform.data.jpa.repository.ExtendedJpaRepository;
+import ai.revinci.platform.messaging.data.model.persistence.OutboxMessageEntity;
+
+@Repository
+public interface OutboxMessageRepository extends ExtendedJpaRepository<OutboxMessageEntity, Long> {
+    /**
+     * This method locks and returns the messages that are due to be relayed.
+     * <p>
+     * Only the oldest pending message of every key is returned, hence the messages of a key are always relayed in the
+     * order in which they were written. Rows that are locked by another relay are skipped (i.e.,
+     * {@code FOR UPDATE SKIP LOCKED}), so that multiple instances of a service can drain the outbox concurrently.
+     *
+     * @param now   Current time in epoch milliseconds.
+     * @param limit Maximum number of messages to return.
+     *
+     * @return Messages that are due to be relayed, ordered by their identifier.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+                        SELECT o FROM OutboxMessageEntity o WHERE o.failed = false AND o.nextAttemptAt <= :now
+                        AND NOT EXISTS (SELECT p.id FROM OutboxMessageEntity p WHERE p.messageKey = o.messageKey
+                        AND p.failed = false AND p.id < o.id) ORDER BY o.id ASC""")
+    List<OutboxMessageEntity> findRelayableMessages(@Param("now") long now, Limit limit);
+}
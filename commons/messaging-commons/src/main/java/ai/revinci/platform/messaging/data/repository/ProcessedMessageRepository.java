@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.data.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ai.revinci.platform.data.jpa.repository.ExtendedJpaRepository;
+import ai.revinci.platform.messaging.data.model.persistence.ProcessedMessageEntity;
+
+@Repository
+public interface ProcessedMessageRepository extends ExtendedJpaRepository<ProcessedMessageEntity, String> {
+    /**
+     * This method atomically records that the message with the provided identifier is being processed. An existing
+     * record is taken over only if it is older than the retention window.
+     *
+     * @param id            Consumer and message identifier.
+     * @param processedAt   Current time in epoch milliseconds.
+     * @param expiredBefore Records older than this time (epoch milliseconds) are considered to have expired.
+     *
+     * @return 1 if the message was recorded, 0 if it had already been processed within the retention window.
+     */
+    @Modifying
+    @Query(value = """
+                        INSERT INTO processed_message (id, processed_at) VALUES (:id, :processedAt)
+                        ON CONFLICT (id) DO UPDATE SET processed_at = EXCLUDED.processed_at
+                        WHERE processed_message.processed_at < :expiredBefore""", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("processedAt") long processedAt,
+                       @Param("expiredBefore") long expiredBefore);
+
+    /**
+     * This method deletes the records that are older than the retention window.
+     *
+     * @param expiredBefore Records older than this time (epoch milliseconds) are deleted.
+     *
+     * @return Number of records that were deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM ProcessedMessageEntity p WHERE p.processedAt < :expiredBefore")
+    int deleteExpired(@Param("expiredBefore") long expiredBefore);
+}
@@ -34,7 +34,8 @@ public enum MessagingErrors implements IError {
     // src/main/resources/l10n/messaging_error_messages.properties
 
     MISSING_TENANT_ID_OR_REALM,
-    MISSING_CORRELATION_ID;
+    MISSING_CORRELATION_ID,
+    FAILED_TO_PUBLISH_MESSAGES;
     /** Reference to {@link IErrorMessageProvider}, which holds the error messages. */
     private static final ErrorMessageProvider ERROR_MESSAGE_PROVIDER = ErrorMessageProvider.instance(
             "l10n/messaging_error_messages", MessagingErrors.class.getClassLoader());
@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.util.JsonUtils;
+import ai.revinci.platform.messaging.data.model.persistence.OutboxMessageEntity;
+import ai.revinci.platform.messaging.data.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Relays the messages recorded by the {@link OutboxMessageWriter} to the broker.
+ * <p>
+ * The outbox is drained in batches, each in its own transaction. Only the oldest pending message of a key is picked in
+ * a batch, so the messages of a key are delivered in the order in which they were written, while the messages of
+ * different keys are relayed together. A message that could not be sent is retried with an exponential backoff (during
+ * which the subsequent messages of its key wait) and is marked as failed once the permitted number of attempts are
+ * exhausted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxMessageRelay {
+    /** Name of the counter of the relayed messages. */
+    private static final String METRIC_RELAYED = "revinciai.messaging.outbox.relayed";
+
+    /** Name of the counter of the failed attempts. */
+    private static final String METRIC_RETRIED = "revinciai.messaging.outbox.retried";
+
+    /** Name of the counter of the messages that exhausted the permitted number of attempts. */
+    private static final String METRIC_FAILED = "revinciai.messaging.outbox.failed";
+
+    /** Name of the timer that records the time between writing and relaying a message. */
+    private static final String METRIC_LAG = "revinciai.messaging.outbox.lag";
+
+    /** Maximum length of the error that is stored against a message. */
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    /** Type reference to deserialize the headers. */
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private final StreamBridge streamBridge;
+
+    /** A repository implementation of type {@link OutboxMessageRepository}. */
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry;
+
+    /** Maximum number of messages relayed in a transaction. */
+    @Value("${revinciai.platform.messaging.outbox.batch-size:100}")
+    private int batchSize;
+
+    /** Delay before the first retry of a message. */
+    @Value("${revinciai.platform.messaging.outbox.initial-backoff:PT1S}")
+    private Duration initialBackoff;
+
+    /** Maximum delay between two attempts of a message. */
+    @Value("${revinciai.platform.messaging.outbox.max-backoff:PT5M}")
+    private Duration maxBackoff;
+
+    /** Maximum number of attempts after which a message is marked as failed. */
+    @Value("${revinciai.platform.messaging.outbox.max-attempts:20}")
+    private int maxAttempts;
+
+    /**
+     * This method drains the outbox i.e., relays batches of messages as long as there are messages that are due.
+     */
+    @Scheduled(fixedDelayString = "${revinciai.platform.messaging.outbox.poll-interval:PT1S}")
+    public void drain() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (Objects.nonNull(relayed) && relayed > 0);
+    }
+
+    /**
+     * This method relays a batch of messages that are due, in the current transaction.
+     *
+     * @return Number of messages that were relayed.
+     */
+    private int relayBatch() {
+        final long now = System.currentTimeMillis();
+        final List<OutboxMessageEntity> messages = outboxMessageRepository.findRelayableMessages(now,
+                                                                                                 Limit.of(batchSize));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        final List<OutboxMessageEntity> relayedMessages = new ArrayList<>(messages.size());
+        for (final OutboxMessageEntity outboxMessage : messages) {
+            if (send(outboxMessage)) {
+                relayedMessages.add(outboxMessage);
+                meterRegistry.timer(OutboxMessageRelay.METRIC_LAG)
+                        .record(now - outboxMessage.getCreatedDate(), TimeUnit.MILLISECONDS);
+            } else {
+                scheduleRetry(outboxMessage, now);
+            }
+        }
+
+        // Remove the relayed messages in a single statement.
+        outboxMessageRepository.deleteAllInBatch(relayedMessages);
+        meterRegistry.counter(OutboxMessageRelay.METRIC_RELAYED)
+                .increment(relayedMessages.size());
+
+        OutboxMessageRelay.LOGGER.debug("Relayed {} of {} messages from the outbox", relayedMessages.size(),
+                                        messages.size());
+        return relayedMessages.size();
+    }
+
+    private boolean send(final OutboxMessageEntity outboxMessage) {
+        try {
+            final Map<String, Object> headers = JsonUtils.deserialize(outboxMessage.getHeaders(),
+                                                                      OutboxMessageRelay.HEADERS_TYPE);
+            final Message<String> message = MessageBuilder.createMessage(outboxMessage.getPayload(),
+                                                                         new MessageHeaders(headers));
+            if (streamBridge.send(outboxMessage.getBindingName(), message)) {
+                return true;
+            }
+            outboxMessage.setLastError("Message was not accepted by the binder");
+        } catch (final Exception e) {
+            OutboxMessageRelay.LOGGER.warn("Failed to relay the message {} to the binding {}. Error: {}",
+                                           outboxMessage.getId(), outboxMessage.getBindingName(), e.getMessage());
+            outboxMessage.setLastError(StringUtils.abbreviate(e.getMessage(), OutboxMessageRelay.MAX_ERROR_LENGTH));
+        }
+        return false;
+    }
+
+    private void scheduleRetry(final OutboxMessageEntity outboxMessage, final long now) {
+        final int attempts = outboxMessage.getAttempts() + 1;
+        outboxMessage.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            OutboxMessageRelay.LOGGER.error("Message {} to the binding {} could not be relayed after {} attempts",
+                                            outboxMessage.getId(), outboxMessage.getBindingName(), attempts);
+            outboxMessage.setFailed(true);
+            meterRegistry.counter(OutboxMessageRelay.METRIC_FAILED)
+                    .increment();
+            return;
+        }
+
+        // Exponential backoff i.e., initial-backoff * 2^(attempts - 1), capped at max-backoff.
+        final long backoff = Math.min(maxBackoff.toMillis(),
+                                      initialBackoff.toMillis() << Math.min(attempts - 1, Integer.SIZE - 2));
+        outboxMessage.setNextAttemptAt(now + backoff);
+        meterRegistry.counter(OutboxMessageRelay.METRIC_RETRIED)
+                .increment();
+    }
+}
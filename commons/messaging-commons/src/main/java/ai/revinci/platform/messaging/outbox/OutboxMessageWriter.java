@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.outbox;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.enums.Key;
+import ai.revinci.platform.common.log.Instrumentation;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.common.util.JsonUtils;
+import ai.revinci.platform.messaging.data.model.persistence.OutboxMessageEntity;
+import ai.revinci.platform.messaging.data.repository.OutboxMessageRepository;
+import ai.revinci.platform.messaging.service.MessagePublisher;
+
+/**
+ * Records messages in the transactional outbox instead of sending them to the broker.
+ * <p>
+ * The message is written in the transaction of the caller, hence it is recorded if and only if the business change
+ * that produced it is committed. The {@link OutboxMessageRelay} sends the recorded messages to the broker after the
+ * commit, which keeps the latency (and the failures) of the broker off the request path.
+ * <p>
+ * The messages of a tenant are relayed in the order in which they were written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxMessageWriter {
+    /** Publisher used to build the messages. */
+    private final MessagePublisher messagePublisher;
+
+    /** A repository implementation of type {@link OutboxMessageRepository}. */
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    @Instrumentation
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void write(@NonNull final TenantRealm tenantRealm, @NonNull final String bindingName,
+                          @NonNull final T messagePayload) {
+        write(tenantRealm, bindingName, messagePayload, Map.of());
+    }
+
+    @Instrumentation
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void write(@NonNull final TenantRealm tenantRealm, @NonNull final String bindingName,
+                          @NonNull final T messagePayload, final Map<String, Object> messageFilters) {
+        // 1. Build the message exactly as it would have been published.
+        final Message<String> message = messagePublisher.createMessage(tenantRealm, messagePayload, messageFilters);
+
+        // 2. Record it in the outbox, keyed by the tenant so that the messages of a tenant are relayed in order. The id
+        //    and the timestamp headers are regenerated by the relay.
+        final Map<String, Object> headers = new HashMap<>(message.getHeaders());
+        headers.remove(MessageHeaders.ID);
+        headers.remove(MessageHeaders.TIMESTAMP);
+        final long now = System.currentTimeMillis();
+        final OutboxMessageEntity outboxMessage = outboxMessageRepository.save(OutboxMessageEntity.builder()
+                                                                                    .messageKey(tenantRealm.getTenantId()
+                                                                                                        .toString())
+                                                                                    .bindingName(bindingName)
+                                                                                    .payload(message.getPayload())
+                                                                                    .headers(JsonUtils.serialize(headers))
+                                                                                    .nextAttemptAt(now)
+                                                                                    .createdDate(now)
+                                                                                    .build());
+
+        OutboxMessageWriter.LOGGER.info(
+                "Tenant: {}, Realm: {}. Recorded message {} for the binding {} with correlation-id: {}",
+                tenantRealm.getTenantId(), tenantRealm.getRealm(), outboxMessage.getId(), bindingName,
+                message.getHeaders()
+                        .get(Key.CORRELATION_ID.value()));
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.service;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.util.JsonUtils;
+import ai.revinci.platform.messaging.data.model.experience.DeadLetterReplaySummary;
+import ai.revinci.platform.messaging.data.model.persistence.DeadLetterMessageEntity;
+import ai.revinci.platform.messaging.data.repository.DeadLetterMessageRepository;
+import ai.revinci.platform.messaging.utils.MessageUtils;
+
+/**
+ * Stores the messages that could not be processed by their handlers (see
+ * {@link ai.revinci.platform.messaging.annotation.RetryableConsumer}) and replays them.
+ * <p>
+ * Dead-lettered messages are stored in the {@code dead_letter_message} table of the default database, provided the
+ * service has registered the {@link DeadLetterMessageRepository}. Otherwise, only the identifier and the headers of the
+ * message are logged. A message is replayed by invoking its handler through the application context, hence the aspects
+ * of the handler (e.g., retries, idempotency and {@code @Async}) apply to the replay as they do to a delivery from the
+ * broker.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeadLetterService {
+    /** Maximum length of the error that is stored against a message. */
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    /** Type reference to deserialize the headers. */
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private final ApplicationContext applicationContext;
+
+    private final ObjectProvider<DeadLetterMessageRepository> deadLetterMessageRepositoryProvider;
+
+    private final DefaultDatabaseExecutor defaultDatabaseExecutor;
+
+    /** Name of the application, which identifies the dead-lettered messages that this application can replay. */
+    @Value("${spring.application.name:unknown}")
+    private String applicationName;
+
+    /** Number of dead-lettered messages that are read at a time for a replay. */
+    @Value("${revinciai.platform.messaging.dead-letter.replay-batch-size:100}")
+    private int replayBatchSize;
+
+    /**
+     * This method moves the provided message to the dead-letter store.
+     *
+     * @param handlerType   Class of the handler that failed to process the message.
+     * @param handlerMethod Name of the handler method that failed to process the message.
+     * @param message       Message that could not be processed.
+     * @param attempts      Number of attempts made to process the message.
+     * @param error         Error of the last attempt.
+     */
+    public void deadLetter(@NonNull final Class<?> handlerType, @NonNull final String handlerMethod,
+                           @NonNull final Message<?> message, final int attempts, @NonNull final Throwable error) {
+        final Object payload = message.getPayload();
+        final boolean binaryPayload = payload instanceof byte[];
+        final DeadLetterMessageEntity deadLetterMessage = DeadLetterMessageEntity.builder()
+                .application(applicationName)
+                .handlerType(handlerType.getName())
+                .handlerMethod(handlerMethod)
+                .payload(serializePayload(payload))
+                .binaryPayload(binaryPayload)
+                .headers(JsonUtils.serialize(serializableHeaders(message.getHeaders())))
+                .errorType(error.getClass()
+                                   .getName())
+                .errorMessage(StringUtils.abbreviate(error.getMessage(), DeadLetterService.MAX_ERROR_LENGTH))
+                .attempts(attempts)
+                .failedAt(System.currentTimeMillis())
+                .build();
+
+        final Long id = executeInDefaultDatabase(repository -> repository.save(deadLetterMessage)
+                .getId());
+        if (Objects.isNull(id)) {
+            // The payload may hold personal data, hence only the identifier and the headers of the message are logged.
+            DeadLetterService.LOGGER.error("Handler: {}.{}. Dead-letter store is unavailable. Dropping the message {} "
+                                                   + "with headers: {}", handlerType.getSimpleName(), handlerMethod,
+                                           MessageUtils.getMessageId(message.getHeaders()),
+                                           deadLetterMessage.getHeaders());
+            return;
+        }
+        DeadLetterService.LOGGER.warn("Handler: {}.{}. Message was dead-lettered with id {} after {} attempts",
+                                      handlerType.getSimpleName(), handlerMethod, id, attempts);
+    }
+
+    /**
+     * This method replays all the messages that were dead-lettered by this application.
+     * <p>
+     * The messages are handed over to their handlers one at a time and every message is removed from the dead-letter
+     * store once its handler has returned, i.e., once the handler has processed it, handed it over to an executor or
+     * dead-lettered it again as a new record. Messages whose handler no longer exists in this application, or whose
+     * handler throws, are left in the store.
+     *
+     * @return Summary of the replay.
+     */
+    public DeadLetterReplaySummary replayAll() {
+        int replayed = 0;
+        int skipped = 0;
+        long lastId = 0L;
+        while (true) {
+            final long afterId = lastId;
+            final List<DeadLetterMessageEntity> deadLetterMessages = executeInDefaultDatabase(
+                    repository -> repository.findByApplicationAndIdGreaterThanOrderByIdAsc(applicationName, afterId,
+                                                                                          Limit.of(replayBatchSize)));
+            if (Objects.isNull(deadLetterMessages) || deadLetterMessages.isEmpty()) {
+                break;
+            }
+
+            for (final DeadLetterMessageEntity deadLetterMessage : deadLetterMessages) {
+                final Runnable replay = resolveReplay(deadLetterMessage);
+                if (Objects.isNull(replay)) {
+                    ++skipped;
+                    continue;
+                }
+
+                try {
+                    replay.run();
+                } catch (final Exception e) {
+                    DeadLetterService.LOGGER.error("Dead-letter: {}. Replay failed. Error: {}",
+                                                   deadLetterMessage.getId(), e.getMessage(), e);
+                    ++skipped;
+                    continue;
+                }
+
+                final Boolean removed = executeInDefaultDatabase(repository -> {
+                    repository.deleteById(deadLetterMessage.getId());
+                    return Boolean.TRUE;
+                });
+                if (!Boolean.TRUE.equals(removed)) {
+                    DeadLetterService.LOGGER.warn("Dead-letter: {}. Failed to remove the replayed message",
+                                                  deadLetterMessage.getId());
+                }
+                ++replayed;
+            }
+
+            lastId = deadLetterMessages.getLast()
+                    .getId();
+            if (deadLetterMessages.size() < replayBatchSize) {
+                break;
+            }
+        }
+
+        DeadLetterService.LOGGER.info("Replayed {} dead-lettered messages. Skipped: {}", replayed, skipped);
+        return DeadLetterReplaySummary.builder()
+                .replayed(replayed)
+                .skipped(skipped)
+                .build();
+    }
+
+    private Runnable resolveReplay(final DeadLetterMessageEntity deadLetterMessage) {
+        try {
+            final Class<?> handlerType = ClassUtils.forName(deadLetterMessage.getHandlerType(),
+                                                            applicationContext.getClassLoader());
+            final Method method = ReflectionUtils.findMethod(handlerType, deadLetterMessage.getHandlerMethod(),
+                                                             Message.class);
+            if (Objects.isNull(method)) {
+                DeadLetterService.LOGGER.warn("Dead-letter: {}. Handler method {} does not exist",
+                                              deadLetterMessage.getId(), deadLetterMessage.getHandlerMethod());
+                return null;
+            }
+
+            // The bean is the proxy of the handler, hence the aspects of the handler apply to the replay.
+            final Object handler = applicationContext.getBean(handlerType);
+            final Message<?> message = toMessage(deadLetterMessage);
+            return () -> ReflectionUtils.invokeMethod(method, handler, message);
+        } catch (final Exception e) {
+            DeadLetterService.LOGGER.warn("Dead-letter: {}. Handler {} could not be resolved. Error: {}",
+                                          deadLetterMessage.getId(), deadLetterMessage.getHandlerType(),
+                                          e.getMessage());
+            return null;
+        }
+    }
+
+    private Message<?> toMessage(final DeadLetterMessageEntity deadLetterMessage) {
+        final Map<String, Object> headers = JsonUtils.deserialize(deadLetterMessage.getHeaders(),
+                                                                  DeadLetterService.HEADERS_TYPE);
+        final MessageHeaders messageHeaders = new MessageHeaders(Objects.isNull(headers) ?
+                                                                         Map.of() :
+                                                                         headers);
+        if (deadLetterMessage.isBinaryPayload()) {
+            return MessageBuilder.createMessage(deadLetterMessage.getPayload()
+                                                        .getBytes(StandardCharsets.UTF_8), messageHeaders);
+        }
+        return MessageBuilder.createMessage(deadLetterMessage.getPayload(), messageHeaders);
+    }
+
+    private String serializePayload(final Object payload) {
+        if (payload instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (payload instanceof String text) {
+            return text;
+        }
+        return JsonUtils.serialize(payload);
+    }
+
+    /**
+     * This method returns the headers that can be stored and restored, i.e., the headers with simple values. The
+     * identifier and timestamp headers are left out as they are regenerated for the replayed message.
+     *
+     * @param headers Headers of the message.
+     *
+     * @return Headers that can be stored.
+     */
+    private Map<String, Object> serializableHeaders(final MessageHeaders headers) {
+        final Map<String, Object> serializableHeaders = new HashMap<>();
+        headers.forEach((key, value) -> {
+            if (MessageHeaders.ID.equals(key) || MessageHeaders.TIMESTAMP.equals(key)) {
+                return;
+            }
+            if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+                serializableHeaders.put(key, value);
+            } else if (value instanceof UUID) {
+                serializableHeaders.put(key, value.toString());
+            }
+        });
+        return serializableHeaders;
+    }
+
+    private <T> T executeInDefaultDatabase(final Function<DeadLetterMessageRepository, T> operation) {
+        return defaultDatabaseExecutor.execute(deadLetterMessageRepositoryProvider, operation);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.service;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+
+/**
+ * Executes the operations of the messaging infrastructure (e.g., the dead-lettered and processed messages) on the
+ * default database, i.e., without the tenant context, so that their records are kept in one place irrespective of the
+ * tenant of the message.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DefaultDatabaseExecutor {
+    private final ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+
+    /**
+     * This method executes the provided operation on the provided repository in a new transaction on the default
+     * database.
+     *
+     * @param repositoryProvider Provider of the repository, which is not registered by every service.
+     * @param operation          Operation to execute.
+     * @param <R>                Type of the repository.
+     * @param <T>                Type of the result of the operation.
+     *
+     * @return Result of the operation or null if the repository or the database is not available.
+     */
+    public <R, T> T execute(@NonNull final ObjectProvider<R> repositoryProvider,
+                            @NonNull final Function<R, T> operation) {
+        final R repository = repositoryProvider.getIfAvailable();
+        final PlatformTransactionManager transactionManager = transactionManagerProvider.getIfAvailable();
+        if (Objects.isNull(repository) || Objects.isNull(transactionManager)) {
+            return null;
+        }
+
+        final TenantRealm tenantRealm = TenantContext.get();
+        try {
+            TenantContext.clear();
+            final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            return transactionTemplate.execute(status -> operation.apply(repository));
+        } catch (final Exception e) {
+            DefaultDatabaseExecutor.LOGGER.warn("Failed to access the default database. Error: {}", e.getMessage());
+            return null;
+        } finally {
+            if (Objects.nonNull(tenantRealm)) {
+                TenantContext.set(tenantRealm);
+            }
+        }
+    }
+}
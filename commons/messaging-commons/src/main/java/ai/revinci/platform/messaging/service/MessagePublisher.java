@@ -25,15 +25,20 @@
 
 package ai.revinci.platform.messaging.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
@@ -48,7 +53,10 @@ import ai.revinci.platform.common.log.Instrumentation;
 import ai.revinci.platform.common.tenant.context.TenantRealm;
 import ai.revinci.platform.common.util.JsonUtils;
 import ai.revinci.platform.common.util.Strings;
+import ai.revinci.platform.messaging.data.model.experience.PublishResult;
 import ai.revinci.platform.messaging.error.MessagingErrors;
+import ai.revinci.platform.messaging.outbox.OutboxMessageWriter;
+import ai.revinci.platform.messaging.utils.MessageUtils;
 
 @Slf4j
 @Component
@@ -68,28 +76,123 @@ public class MessagePublisher {
     @Instrumentation
     public <T> void publish(@NonNull final TenantRealm tenantRealm, @NonNull final String bindingName,
                             @NonNull final T messagePayload, final Map<String, Object> messageFilters) {
-        // 1. Validate that we have the tenant-id and realm.
+        final Message<String> message = createMessage(tenantRealm, messagePayload, messageFilters);
         final UUID tenantId = tenantRealm.getTenantId();
         final String realm = tenantRealm.getRealm();
-        if (Objects.isNull(tenantId) || StringUtils.isBlank(realm)) {
-            MessagePublisher.LOGGER.error("Tenant identifier or realm is missing. Cannot publish message.");
-            throw ServiceException.of(MessagingErrors.MISSING_TENANT_ID_OR_REALM);
+        final Object correlationId = message.getHeaders()
+                .get(Key.CORRELATION_ID.value());
+
+        MessagePublisher.LOGGER.info(
+                "Tenant: {}, Realm: {}. Publishing message to the binding {} with correlation-id: {}", tenantId, realm,
+                bindingName, correlationId);
+
+        streamBridge.send(bindingName, message);
+
+        MessagePublisher.LOGGER.info(
+                "Tenant: {}, Realm: {}. Successfully published a message to the binding {} with correlation-id: {}",
+                tenantId, realm, bindingName, correlationId);
+    }
+
+    /**
+     * This method publishes a batch of messages to the provided binding.
+     * <p>
+     * The payloads are serialized and encrypted on the calling thread (the encryption key is derived once for the
+     * batch) and the messages are then handed over to the binder in the order of the payloads, so that the binder can
+     * batch them (e.g., using the producer batching properties of the binder). A payload that fails does not fail the
+     * batch; the outcome of every message is returned instead.
+     *
+     * @param tenantRealm     Tenant and realm to which the messages belong.
+     * @param bindingName     Name of the binding to which the messages are published.
+     * @param messagePayloads Payloads of the messages.
+     * @param messageFilters  Additional headers (common to all the messages), which are used by the consumers to
+     *                        filter the messages.
+     *
+     * @return Outcome of every message, in the order of the payloads.
+     */
+    @Instrumentation
+    public <T> List<PublishResult> publishAll(@NonNull final TenantRealm tenantRealm, @NonNull final String bindingName,
+                                              @NonNull final List<T> messagePayloads,
+                                              final Map<String, Object> messageFilters) {
+        validateTenantRealm(tenantRealm);
+        final UUID tenantId = tenantRealm.getTenantId();
+        final String realm = tenantRealm.getRealm();
+        final long start = System.currentTimeMillis();
+
+        // 1. The correlation-id is resolved on this thread (it is held in the MDC) and the key is derived only once.
+        final String correlationId = correlationId();
+        final UnaryOperator<String> encryptor = Strings.encryptorUsingSalt(Strings.generateSalt(tenantId, realm));
+
+        // 2. Serialize and encrypt the payloads. This is kept on the calling thread (rather than the common fork-join
+        //    pool) as it is cheap once the key has been derived.
+        final List<PreparedMessage> preparedMessages = messagePayloads.stream()
+                .map(payload -> prepareMessage(tenantRealm, payload, messageFilters, correlationId, encryptor))
+                .toList();
+
+        // 3. Hand over the messages to the binder in order.
+        final List<PublishResult> results = new ArrayList<>(preparedMessages.size());
+        int published = 0;
+        for (int index = 0; index < preparedMessages.size(); ++index) {
+            final PublishResult result = send(bindingName, index, preparedMessages.get(index));
+            if (result.isPublished()) {
+                ++published;
+            }
+            results.add(result);
         }
 
-        // 2. Generate the correlation identifier, which will be added to the message header.
-        final UUID correlationId = UUID.randomUUID();
+        MessagePublisher.LOGGER.info(
+                "Tenant: {}, Realm: {}. Published {} of {} messages to the binding {} with correlation-id: {} in {} ms",
+                tenantId, realm, published, results.size(), bindingName, correlationId,
+                System.currentTimeMillis() - start);
+        return results;
+    }
+
+    /**
+     * This method creates the message that is sent to the broker i.e., the payload is serialized and encrypted and
+     * the headers (tenant-id, realm, service name, correlation-id and the message filters) are initialized.
+     * <p>
+     * This is shared by {@link #publish(TenantRealm, String, Object, Map)}, which sends the message immediately, and
+     * {@link OutboxMessageWriter}, which records the message in the outbox to be relayed after the commit.
+     *
+     * @param tenantRealm    Tenant and realm to which the message belongs.
+     * @param messagePayload Payload of the message.
+     * @param messageFilters Additional headers, which are used by the consumers to filter the messages.
+     *
+     * @return Message of type {@link Message}.
+     */
+    public <T> Message<String> createMessage(@NonNull final TenantRealm tenantRealm, @NonNull final T messagePayload,
+                                             final Map<String, Object> messageFilters) {
+        // 1. Validate that we have the tenant-id and realm.
+        validateTenantRealm(tenantRealm);
+
+        // 2. Propagate the correlation identifier of the message being handled (if any) or generate a new one and
+        //    create the message.
+        return createMessage(tenantRealm, messagePayload, messageFilters, correlationId(),
+                             Strings.encryptorUsingSalt(Strings.generateSalt(tenantRealm.getTenantId(),
+                                                                             tenantRealm.getRealm())));
+    }
 
-        // 3. Stringify the message payload and encrypt.
+    private <T> Message<String> createMessage(final TenantRealm tenantRealm, final T messagePayload,
+                                              final Map<String, Object> messageFilters, final String correlationId,
+                                              final UnaryOperator<String> encryptor) {
+        final UUID tenantId = tenantRealm.getTenantId();
+        final String realm = tenantRealm.getRealm();
+
+        // 1. Stringify the message payload and encrypt.
         final String json = JsonUtils.serialize(messagePayload);
-        final String encryptedJson = Strings.encryptUsingSalt(json, Strings.generateSalt(tenantId, realm));
+        final String encryptedJson = encryptor.apply(json);
 
-        // 4. Initialize the headers, build the message object and publish the message.
+        // 2. Initialize the headers.
+        //    Values are added as strings / numbers so that they survive the serialization of the headers by any binder.
         final Map<String, Object> headers = new HashMap<>();
-        headers.put(Key.TENANT_ID.value(), tenantId);
+        headers.put(Key.TENANT_ID.value(), tenantId.toString());
         headers.put(Key.REALM.value(), realm);
         headers.put(Key.SERVICE_NAME.value(), serviceName);
+        headers.put(Key.MESSAGE_ID.value(), UUID.randomUUID()
+                .toString());
+        headers.put(Key.CORRELATION_ID.value(), correlationId);
+        headers.put(Key.PUBLISHED_AT.value(), System.currentTimeMillis());
 
-        // 5. Do we have any message filters? If so, add them as headers and skip if the key already exists.
+        // 3. Do we have any message filters? If so, add them as headers and skip if the key already exists.
         if (!CollectionUtils.isEmpty(messageFilters)) {
             MessagePublisher.LOGGER.trace("Tenant: {}, Realm: {}. Number of message filters: {}", tenantId, realm,
                                           messageFilters.size());
@@ -100,14 +203,81 @@ public class MessagePublisher {
                     .forEach(e -> headers.put(e.getKey(), e.getValue()));
         }
 
-        MessagePublisher.LOGGER.info(
-                "Tenant: {}, Realm: {}. Publishing message to the binding {} with correlation-id: {}", tenantId, realm,
-                bindingName, correlationId);
+        // 4. Build the message object.
+        return MessageBuilder.createMessage(encryptedJson, new MessageHeaders(headers));
+    }
 
-        streamBridge.send(bindingName, MessageBuilder.createMessage(encryptedJson, new MessageHeaders(headers)));
+    private <T> PreparedMessage prepareMessage(final TenantRealm tenantRealm, final T messagePayload,
+                                               final Map<String, Object> messageFilters, final String correlationId,
+                                               final UnaryOperator<String> encryptor) {
+        try {
+            return new PreparedMessage(
+                    createMessage(tenantRealm, messagePayload, messageFilters, correlationId, encryptor), null);
+        } catch (final Exception e) {
+            MessagePublisher.LOGGER.warn("Tenant: {}, Realm: {}. Failed to create the message. Error: {}",
+                                         tenantRealm.getTenantId(), tenantRealm.getRealm(), e.getMessage());
+            return new PreparedMessage(null, e.getMessage());
+        }
+    }
 
-        MessagePublisher.LOGGER.info(
-                "Tenant: {}, Realm: {}. Successfully published a message to the binding {} with correlation-id: {}",
-                tenantId, realm, bindingName, correlationId);
+    private PublishResult send(final String bindingName, final int index, final PreparedMessage preparedMessage) {
+        final Message<String> message = preparedMessage.message();
+        if (Objects.isNull(message)) {
+            return PublishResult.builder()
+                    .index(index)
+                    .published(false)
+                    .error(preparedMessage.error())
+                    .build();
+        }
+
+        final String messageId = MessageUtils.getMessageId(message.getHeaders());
+        String error = null;
+        try {
+            if (!streamBridge.send(bindingName, message)) {
+                error = "Message was not accepted by the binder";
+            }
+        } catch (final Exception e) {
+            MessagePublisher.LOGGER.warn("Failed to publish the message {} to the binding {}. Error: {}", messageId,
+                                         bindingName, e.getMessage());
+            error = e.getMessage();
+        }
+
+        return PublishResult.builder()
+                .index(index)
+                .messageId(messageId)
+                .published(Objects.isNull(error))
+                .error(error)
+                .build();
+    }
+
+    private void validateTenantRealm(final TenantRealm tenantRealm) {
+        if (Objects.isNull(tenantRealm.getTenantId()) || StringUtils.isBlank(tenantRealm.getRealm())) {
+            MessagePublisher.LOGGER.error("Tenant identifier or realm is missing. Cannot publish message.");
+            throw ServiceException.of(MessagingErrors.MISSING_TENANT_ID_OR_REALM);
+        }
+    }
+
+    /**
+     * This method returns the correlation identifier of the message that is being handled by the current thread (see
+     * {@code MessageContextAspect}) so that the messages published while handling it carry the same identifier. If
+     * there is none, a new correlation identifier is generated.
+     *
+     * @return Correlation identifier.
+     */
+    private String correlationId() {
+        final String correlationId = MDC.get(Key.CORRELATION_ID.value());
+        return StringUtils.isBlank(correlationId) ?
+                UUID.randomUUID()
+                        .toString() :
+                correlationId;
+    }
+
+    /**
+     * A message of a batch that is ready to be sent or the error due to which it could not be created.
+     *
+     * @param message Message to be sent. Null if the message could not be created.
+     * @param error   Error due to which the message could not be created.
+     */
+    private record PreparedMessage(Message<String> message, String error) {
     }
 }
@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.messaging.service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.client.ICacheClient;
+import ai.revinci.platform.common.enums.PatternTemplate;
+import ai.revinci.platform.messaging.data.repository.ProcessedMessageRepository;
+
+/**
+ * Keeps track of the messages processed by the consumers so that the redeliveries of a message can be skipped.
+ * <p>
+ * A message is recorded in Redis using {@code SET NX} with the configured retention window as the expiry. If Redis is
+ * unavailable, the message is recorded in the {@code processed_message} table of the default database, provided the
+ * service has registered the {@link ProcessedMessageRepository}. If neither is available, the message is processed
+ * (i.e., the store fails open) as losing a message is worse than processing it twice.
+ * <p>
+ * The records that have expired are removed from the database periodically rather than on every insert.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProcessedMessageStore {
+    private final ObjectProvider<ICacheClient> cacheClientProvider;
+
+    private final ObjectProvider<ProcessedMessageRepository> processedMessageRepositoryProvider;
+
+    private final DefaultDatabaseExecutor defaultDatabaseExecutor;
+
+    /** Duration for which a processed message is remembered. */
+    @Value("${revinciai.platform.messaging.idempotency.retention:P1D}")
+    private Duration retention;
+
+    /**
+     * This method records that the provided message is being processed by the provided consumer.
+     *
+     * @param consumer  Name of the consumer.
+     * @param messageId Unique identifier of the message.
+     *
+     * @return Store in which the message was recorded (in which case it has to be processed now), or
+     *         {@link Recording#DUPLICATE} if the message has been processed by the consumer within the retention
+     *         window.
+     */
+    public Recording markProcessing(@NonNull final String consumer, @NonNull final String messageId) {
+        final String key = PatternTemplate.CACHE_KEY_PROCESSED_MESSAGE.format(consumer, messageId);
+        final ICacheClient cacheClient = cacheClientProvider.getIfAvailable();
+        if (Objects.nonNull(cacheClient)) {
+            try {
+                return cacheClient.putIfAbsent(key, System.currentTimeMillis(), retention) ?
+                        Recording.CACHE :
+                        Recording.DUPLICATE;
+            } catch (final Exception e) {
+                ProcessedMessageStore.LOGGER.warn("Consumer: {}, Message: {}. Redis is unavailable. Error: {}",
+                                                  consumer, messageId, e.getMessage());
+            }
+        }
+
+        return markProcessingInDatabase(consumer, messageId, key);
+    }
+
+    /**
+     * This method removes the record of the provided message from the store that recorded it, so that a redelivery
+     * of the message is processed again. This is used when the processing of the message has failed.
+     *
+     * @param consumer  Name of the consumer.
+     * @param messageId Unique identifier of the message.
+     * @param recording Store in which the message was recorded (see {@link #markProcessing(String, String)}).
+     */
+    public void release(@NonNull final String consumer, @NonNull final String messageId,
+                        @NonNull final Recording recording) {
+        final String key = PatternTemplate.CACHE_KEY_PROCESSED_MESSAGE.format(consumer, messageId);
+        if (Recording.CACHE == recording) {
+            final ICacheClient cacheClient = cacheClientProvider.getIfAvailable();
+            try {
+                if (Objects.nonNull(cacheClient)) {
+                    cacheClient.delete(key);
+                }
+            } catch (final Exception e) {
+                ProcessedMessageStore.LOGGER.warn("Consumer: {}, Message: {}. Failed to release the message. Error: {}",
+                                                  consumer, messageId, e.getMessage());
+            }
+        } else if (Recording.DATABASE == recording) {
+            executeInDefaultDatabase(repository -> {
+                repository.deleteById(key);
+                return Boolean.TRUE;
+            });
+        }
+    }
+
+    /**
+     * This method removes the records of the processed messages that are older than the retention window from the
+     * database.
+     */
+    @Scheduled(fixedDelayString = "${revinciai.platform.messaging.idempotency.cleanup-interval:PT1H}")
+    public void deleteExpired() {
+        final long expiredBefore = System.currentTimeMillis() - retention.toMillis();
+        final Boolean deleted = executeInDefaultDatabase(repository -> {
+            final int count = repository.deleteExpired(expiredBefore);
+            ProcessedMessageStore.LOGGER.debug("Deleted {} expired processed messages", count);
+            return Boolean.TRUE;
+        });
+        if (Objects.isNull(deleted)) {
+            ProcessedMessageStore.LOGGER.debug("Processed messages are not stored in the database. Nothing to delete");
+        }
+    }
+
+    private Recording markProcessingInDatabase(final String consumer, final String messageId, final String key) {
+        final long now = System.currentTimeMillis();
+        final long expiredBefore = now - retention.toMillis();
+        final Boolean recorded = executeInDefaultDatabase(
+                repository -> repository.insertIfAbsent(key, now, expiredBefore) > 0);
+
+        if (Objects.isNull(recorded)) {
+            ProcessedMessageStore.LOGGER.warn("Consumer: {}, Message: {}. No store is available to detect duplicates",
+                                              consumer, messageId);
+            return Recording.NONE;
+        }
+        return recorded ?
+                Recording.DATABASE :
+                Recording.DUPLICATE;
+    }
+
+    private Boolean executeInDefaultDatabase(final Function<ProcessedMessageRepository, Boolean> operation) {
+        return defaultDatabaseExecutor.execute(processedMessageRepositoryProvider, operation);
+    }
+
+    /**
+     * Outcome of recording a message that is being processed.
+     */
+    public enum Recording {
+        /** The message has already been processed by the consumer within the retention window. */
+        DUPLICATE,
+
+        /** The message was recorded in Redis. */
+        CACHE,
+
+        /** The message was recorded in the database. */
+        DATABASE,
+
+        /** The message was not recorded as no store is available. */
+        NONE
+    }
+}
@@ -25,9 +25,11 @@
 
 package ai.revinci.platform.messaging.utils;
 
+import java.util.Objects;
 import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
@@ -97,7 +99,38 @@ public final class MessageUtils {
     }
 
     public static String getHeaderAsString(@NonNull final MessageHeaders headers, @NonNull final String key) {
-        return MessageUtils.getHeader(headers, key, String.class);
+        // Depending on the binder, the header may or may not have been converted to a string.
+        return Objects.toString(headers.get(key), null);
+    }
+
+    /**
+     * This method introspects into the provided {@code headers} and extracts the unique identifier of the message.
+     * Unlike the correlation-id, which is shared by all the messages of a flow, the message-id is unique to a message
+     * and is retained when the message is redelivered.
+     *
+     * @param headers Instance of type {@link MessageHeaders}, which represents the headers on the {@link Message}
+     *                object.
+     *
+     * @return Unique identifier of the message or null if it is not available.
+     */
+    public static String getMessageId(@NonNull final MessageHeaders headers) {
+        return MessageUtils.getHeaderAsString(headers, Key.MESSAGE_ID.value());
+    }
+
+    /**
+     * This method introspects into the provided {@code headers} and extracts the time (epoch milliseconds) at which the
+     * message was published.
+     *
+     * @param headers Instance of type {@link MessageHeaders}, which represents the headers on the {@link Message}
+     *                object.
+     *
+     * @return Time at which the message was published or null if it is not available.
+     */
+    public static Long getPublishedAt(@NonNull final MessageHeaders headers) {
+        final String publishedAt = MessageUtils.getHeaderAsString(headers, Key.PUBLISHED_AT.value());
+        return NumberUtils.isDigits(publishedAt) ?
+                Long.valueOf(publishedAt) :
+                null;
     }
 
     public static <T> T getPayload(@NonNull final Message<String> message, @NonNull final TypeReference<T> targetType) {
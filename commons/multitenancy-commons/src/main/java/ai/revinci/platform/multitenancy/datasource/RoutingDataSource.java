@@ -28,8 +28,10 @@ package ai.revinci.platform.multitenancy.datasource;
 import javax.sql.DataSource;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
@@ -140,6 +142,18 @@ public class RoutingDataSource extends AbstractRoutingDataSource {
         return dataSources.containsKey(realm);
     }
 
+    /**
+     * This method returns the realms for which a data source exists.
+     *
+     * @return An unmodifiable {@link Set} of realms (i.e., a snapshot) for which a data source exists.
+     */
+    public Set<String> realms() {
+        return dataSources.keySet()
+                .stream()
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     /**
      * This method refreshes the tenant context if required.
      * <p>
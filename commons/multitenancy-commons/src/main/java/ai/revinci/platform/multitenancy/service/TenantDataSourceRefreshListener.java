@@ -30,11 +30,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import ai.revinci.platform.common.tenant.event.TenantDataSourceAddedEvent;
 import ai.revinci.platform.multitenancy.data.model.experience.Tenant;
 import ai.revinci.platform.multitenancy.data.repository.MultiTenantRepository;
 import ai.revinci.platform.multitenancy.datasource.RoutingDataSource;
@@ -49,6 +51,9 @@ public class TenantDataSourceRefreshListener {
     /** A repository implementation of type {@link MultiTenantRepository}. */
     private final MultiTenantRepository multiTenantRepository;
 
+    /** Publisher of the {@link TenantDataSourceAddedEvent}. */
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     /**
      * This method is called whenever a new tenant is provisioned.
      *
@@ -80,5 +85,8 @@ public class TenantDataSourceRefreshListener {
                                                         tenantId, realm);
             routingDataSource.addRealmMappings(Map.of(tenant.getRealmName(), tenant));
         }
+
+        // 5. Let the listeners refresh whatever they hold for the tenant.
+        applicationEventPublisher.publishEvent(new TenantDataSourceAddedEvent(tenantId, realm));
     }
 }
@@ -26,6 +26,7 @@
 package ai.revinci.platform.notification.model;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -60,6 +61,9 @@ public class NotificationMessage {
     /** Template name to be used for the notification. */
     private String templateName;
 
+    /** Locale of the template. If not set, the default locale is used. */
+    private Locale locale;
+
     /** Collection of recipients for the notification. */
     @Singular("recipient")
     private Collection<String> recipients;
@@ -25,10 +25,19 @@
 
 package ai.revinci.platform.notification.client;
 
+import jakarta.activation.DataHandler;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -48,6 +57,18 @@ import ai.revinci.platform.notification.parser.ITemplateContentParser;
 @Component
 @RequiredArgsConstructor
 public class EmailClient implements IEmailClient {
+    /** Content type of the html body of an email. */
+    private static final String CONTENT_TYPE_HTML = "text/html;charset=UTF-8";
+
+    /** Name of the header that holds the content type. */
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+
+    /** Name of the header that holds the content transfer encoding. */
+    private static final String HEADER_CONTENT_TRANSFER_ENCODING = "Content-Transfer-Encoding";
+
+    /** Content transfer encoding of the html body of an email. */
+    private static final String QUOTED_PRINTABLE = "quoted-printable";
+
     /** Template content parser. */
     private final ITemplateContentParser templateContentParser;
 
@@ -72,6 +93,12 @@ public class EmailClient implements IEmailClient {
     @Override
     public void sendEmail(final EmailMessage emailMessage, final String templateName,
                           final Map<String, Object> placeholders) {
+        sendEmail(emailMessage, null, templateName, null, placeholders);
+    }
+
+    @Override
+    public void sendEmail(final EmailMessage emailMessage, final String tenant, final String templateName,
+                          final Locale locale, final Map<String, Object> placeholders) {
         final String trimmedTemplate = StringUtils.isBlank(templateName) ?
                 null :
                 templateName.trim();
@@ -83,13 +110,32 @@ public class EmailClient implements IEmailClient {
             }
             EmailClient.LOGGER.info("No template was provided. Attempting to send as plain text message.");
             emailMessage.setHtml(false);
-        } else {
-            // Template specified. Need to send as html content. Parse the template which becomes the body of the email
-            emailMessage.setBody(templateContentParser.parse(trimmedTemplate, placeholders));
-            emailMessage.setHtml(true);
+            sendEmail(emailMessage);
+            return;
         }
 
-        sendEmail(emailMessage);
+        // Template specified. Need to send as html content, which is the template rendered straight into the body of
+        // the mime message. The template is rendered before the message is handed over to the mail sender, so that a
+        // template that fails to render does not abort the transfer of the message half-way through the SMTP session.
+        if (!templateContentParser.exists(tenant, trimmedTemplate, locale)) {
+            EmailClient.LOGGER.error("Template {} not found. Not sending the email.", trimmedTemplate);
+            return;
+        }
+        final byte[] htmlBody;
+        try {
+            htmlBody = render(tenant, trimmedTemplate, locale, placeholders);
+        } catch (final IOException e) {
+            EmailClient.LOGGER.error("Failed to render template {}. Not sending the email. Error: {}", trimmedTemplate,
+                                     e.getMessage(), e);
+            return;
+        }
+        emailMessage.setHtml(true);
+        final MimeMessage message = createMimeMessage(emailMessage, htmlBody);
+        if (Objects.isNull(message)) {
+            EmailClient.LOGGER.warn("Message is null. Skipping the process of sending email.");
+            return;
+        }
+        mailSender.send(message);
     }
 
     /**
@@ -101,6 +147,42 @@ public class EmailClient implements IEmailClient {
      * @return Mime message of type {@link MimeMessage}.
      */
     private MimeMessage createMimeMessage(final EmailMessage emailMessage) {
+        return createMimeMessage(emailMessage, null);
+    }
+
+    /**
+     * This method renders the provided template straight into a buffer of UTF-8 encoded bytes, without building the
+     * content as a string first.
+     *
+     * @param tenant       Tenant whose template has to be used. Can be null.
+     * @param templateName Name of the template.
+     * @param locale       Locale of the template. Can be null.
+     * @param placeholders Values of the placeholders in the template.
+     *
+     * @return Rendered content, encoded as UTF-8.
+     *
+     * @throws IOException If the template could not be rendered.
+     */
+    private byte[] render(final String tenant, final String templateName, final Locale locale,
+                          final Map<String, Object> placeholders) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final Writer writer = new OutputStreamWriter(content, StandardCharsets.UTF_8);
+        templateContentParser.parse(tenant, templateName, locale, placeholders, writer);
+        writer.flush();
+        return content.toByteArray();
+    }
+
+    /**
+     * This method creates a mime-message (of type {@link MimeMessage}) using the details from the {@link EmailMessage}
+     * that is provided as a parameter to this function, with the provided {@code htmlBody} (if any) instead of the
+     * body of the {@link EmailMessage}.
+     *
+     * @param emailMessage Email message that holds the data.
+     * @param htmlBody     Html body, encoded as UTF-8. Can be null.
+     *
+     * @return Mime message of type {@link MimeMessage}.
+     */
+    private MimeMessage createMimeMessage(final EmailMessage emailMessage, final byte[] htmlBody) {
         MimeMessage mimeMessage = mailSender.createMimeMessage();
         try {
             final MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true);
@@ -115,7 +197,19 @@ public class EmailClient implements IEmailClient {
                 messageHelper.setBcc(toInternetAddresses(emailMessage.getBcc()));
             }
             messageHelper.setSubject(emailMessage.getSubject());
-            messageHelper.setText(emailMessage.getBody(), emailMessage.isHtml());
+            if (Objects.isNull(htmlBody)) {
+                messageHelper.setText(emailMessage.getBody(), emailMessage.isHtml());
+            } else {
+                messageHelper.setText(StringUtils.EMPTY, true);
+                // The main (text) part is the first part. Replacing the handler resets the content headers, which are
+                // set explicitly so that the body is not scanned to determine its transfer encoding.
+                final MimeBodyPart bodyPart = (MimeBodyPart) messageHelper.getMimeMultipart()
+                        .getBodyPart(0);
+                bodyPart.setDataHandler(new DataHandler(new ByteArrayDataSource(htmlBody,
+                                                                                EmailClient.CONTENT_TYPE_HTML)));
+                bodyPart.setHeader(EmailClient.HEADER_CONTENT_TYPE, EmailClient.CONTENT_TYPE_HTML);
+                bodyPart.setHeader(EmailClient.HEADER_CONTENT_TRANSFER_ENCODING, EmailClient.QUOTED_PRINTABLE);
+            }
             // Support attachments
             if (emailMessage.hasAttachments()) {
                 for (final Map.Entry<String, File> attachmentEntry : emailMessage.getAttachments()
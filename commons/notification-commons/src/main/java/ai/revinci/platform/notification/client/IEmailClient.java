@@ -25,6 +25,7 @@
 
 package ai.revinci.platform.notification.client;
 
+import java.util.Locale;
 import java.util.Map;
 
 import ai.revinci.platform.notification.model.EmailMessage;
@@ -33,4 +34,6 @@ public interface IEmailClient {
     void sendEmail(EmailMessage emailMessage);
     void sendEmail(EmailMessage emailMessage, String templateName);
     void sendEmail(EmailMessage emailMessage, String templateName, Map<String, Object> placeholders);
+    void sendEmail(EmailMessage emailMessage, String tenant, String templateName, Locale locale,
+                   Map<String, Object> placeholders);
 }
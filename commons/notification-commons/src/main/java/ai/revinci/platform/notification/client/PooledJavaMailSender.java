@@ -0,0 +1,313 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.notification.client;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.notification.configuration.properties.MailPoolProperties;
+
+/**
+ * A {@link JavaMailSenderImpl} that keeps the SMTP connections open and reuses them across messages instead of
+ * connecting (and completing the STARTTLS and authentication handshakes) for every message that is sent.
+ * <p>
+ * At most {@link MailPoolProperties#getMaxConnections()} connections are open at any point in time. A connection is
+ * replaced after it has sent {@link MailPoolProperties#getMaxMessagesPerConnection()} messages and is closed once it
+ * has been idle for longer than {@link MailPoolProperties#getIdleTimeout()}. All the messages that are passed in a
+ * single call to {@code send(MimeMessage...)} are sent over the same connection (session).
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+    /** Name of the header that holds the message id. */
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    /** Pool settings. */
+    private final MailPoolProperties poolProperties;
+
+    /** Permits that limit the number of connections that are in use at any point in time. */
+    private final Semaphore permits;
+
+    /** Connections that are open and not in use, with the most recently used one at the head. */
+    private final Deque<PooledTransport> idleTransports = new ConcurrentLinkedDeque<>();
+
+    /** Executor that periodically closes the connections that have been idle for too long. */
+    private final ScheduledExecutorService evictor;
+
+    /** Flag indicating if this sender has been shut down. */
+    private volatile boolean closed;
+
+    public PooledJavaMailSender(final MailPoolProperties poolProperties) {
+        this.poolProperties = poolProperties;
+        this.permits = new Semaphore(Math.max(1, poolProperties.getMaxConnections()), true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                                                                          .name("smtp-pool-evictor")
+                                                                          .daemon(true)
+                                                                          .factory());
+        final long evictionInterval = Math.max(1000L, poolProperties.getIdleTimeout()
+                .toMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleTransports, evictionInterval, evictionInterval,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doSend(final MimeMessage[] mimeMessages, @Nullable final Object[] originalMessages) {
+        final Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport transport = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                final MimeMessage mimeMessage = mimeMessages[i];
+                final Object originalMessage = Objects.nonNull(originalMessages) ?
+                        originalMessages[i] :
+                        mimeMessage;
+                if (Objects.isNull(transport)) {
+                    try {
+                        transport = borrow();
+                    } catch (final AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (final MessagingException ex) {
+                        // The remaining messages cannot be sent either.
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(Objects.nonNull(originalMessages) ?
+                                                       originalMessages[j] :
+                                                       mimeMessages[j], ex);
+                        }
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+
+                try {
+                    transport.send(mimeMessage);
+                } catch (final MessagingException ex) {
+                    // The state of the connection is unknown at this point. Do not hand it out again.
+                    failedMessages.put(originalMessage, ex);
+                    discard(transport);
+                    transport = null;
+                    continue;
+                }
+
+                if (transport.getMessagesSent() >= poolProperties.getMaxMessagesPerConnection()) {
+                    discard(transport);
+                    transport = null;
+                }
+            }
+        } finally {
+            if (Objects.nonNull(transport)) {
+                release(transport);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledTransport transport;
+        while (Objects.nonNull(transport = idleTransports.poll())) {
+            transport.close();
+        }
+    }
+
+    /**
+     * This method hands out a connection, reusing an idle one if available and opening a new one otherwise. The caller
+     * has to return the connection using either {@link #release(PooledTransport)} or {@link #discard(PooledTransport)}.
+     *
+     * @return Connected transport of type {@link PooledTransport}.
+     *
+     * @throws MessagingException If no connection became available in time or the connection could not be opened.
+     */
+    private PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(poolProperties.getBorrowTimeout()
+                                            .toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out while waiting for a free SMTP connection");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new MessagingException("Interrupted while waiting for a free SMTP connection", ex);
+        }
+
+        try {
+            PooledTransport transport;
+            while (Objects.nonNull(transport = idleTransports.poll())) {
+                if (isReusable(transport)) {
+                    return transport;
+                }
+                transport.close();
+            }
+
+            PooledJavaMailSender.LOGGER.debug("Opening a new SMTP connection to {}:{}", getHost(), getPort());
+            return new PooledTransport(connectTransport());
+        } catch (final MessagingException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * This method returns the provided connection to the pool of idle connections.
+     *
+     * @param transport Connection that is no longer in use.
+     */
+    private void release(final PooledTransport transport) {
+        if (closed) {
+            discard(transport);
+            return;
+        }
+        transport.touch();
+        idleTransports.offerFirst(transport);
+        permits.release();
+    }
+
+    /**
+     * This method closes the provided connection instead of returning it to the pool.
+     *
+     * @param transport Connection that is no longer in use.
+     */
+    private void discard(final PooledTransport transport) {
+        transport.close();
+        permits.release();
+    }
+
+    /**
+     * This method checks if the provided idle connection can be handed out again. Connections that have been idle for
+     * a while are verified with the server, as the server may have closed them in the meantime.
+     *
+     * @param transport Idle connection.
+     *
+     * @return True if the connection can be reused, false otherwise.
+     */
+    private boolean isReusable(final PooledTransport transport) {
+        final long idleMillis = transport.getIdleMillis();
+        if (idleMillis >= poolProperties.getIdleTimeout()
+                .toMillis()) {
+            return false;
+        }
+        if (idleMillis < poolProperties.getValidationInterval()
+                .toMillis()) {
+            return true;
+        }
+        return transport.isConnected();
+    }
+
+    /**
+     * This method closes the connections that have been idle for longer than the configured idle timeout.
+     */
+    private void evictIdleTransports() {
+        final long idleTimeoutMillis = poolProperties.getIdleTimeout()
+                .toMillis();
+        for (final PooledTransport transport : idleTransports) {
+            // Only close the connection if it was not handed out in the meantime.
+            if (transport.getIdleMillis() >= idleTimeoutMillis && idleTransports.remove(transport)) {
+                PooledJavaMailSender.LOGGER.debug("Closing SMTP connection that was idle for {} ms",
+                                                  transport.getIdleMillis());
+                transport.close();
+            }
+        }
+    }
+
+    /**
+     * A connected {@link Transport} along with the bookkeeping needed to pool it.
+     */
+    private static final class PooledTransport {
+        /** Underlying connected transport. */
+        private final Transport transport;
+
+        /** Number of messages sent over this connection. */
+        @Getter
+        private int messagesSent;
+
+        /** Time (in nanos) when this connection was last returned to the pool. */
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private PooledTransport(final Transport transport) {
+            this.transport = transport;
+        }
+
+        private void send(final MimeMessage mimeMessage) throws MessagingException {
+            if (Objects.isNull(mimeMessage.getSentDate())) {
+                mimeMessage.setSentDate(new Date());
+            }
+            // Preserve an explicitly specified message id, as saveChanges() would replace it.
+            final String messageId = mimeMessage.getMessageID();
+            mimeMessage.saveChanges();
+            if (Objects.nonNull(messageId)) {
+                mimeMessage.setHeader(PooledJavaMailSender.HEADER_MESSAGE_ID, messageId);
+            }
+            final Address[] addresses = mimeMessage.getAllRecipients();
+            transport.sendMessage(mimeMessage, Objects.nonNull(addresses) ?
+                    addresses :
+                    new Address[0]);
+            messagesSent++;
+        }
+
+        private void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+
+        private long getIdleMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUsedNanos);
+        }
+
+        private boolean isConnected() {
+            return transport.isConnected();
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (final MessagingException ex) {
+                PooledJavaMailSender.LOGGER.debug("Ignoring error ({}) while closing SMTP connection", ex.getMessage());
+            }
+        }
+    }
+}
@@ -37,16 +37,23 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import ai.revinci.platform.notification.client.EmailClient;
+import ai.revinci.platform.notification.client.PooledJavaMailSender;
+import ai.revinci.platform.notification.configuration.properties.MailPoolProperties;
+import ai.revinci.platform.notification.configuration.properties.TemplateCacheProperties;
 import ai.revinci.platform.notification.parser.FreeMarkerContentParser;
 
 @ComponentScan(basePackageClasses = {FreeMarkerContentParser.class, EmailClient.class})
-@EnableConfigurationProperties(value = {MailProperties.class})
+@EnableConfigurationProperties(value = {MailProperties.class, MailPoolProperties.class,
+        TemplateCacheProperties.class})
 @Configuration
 public class NotificationConfiguration {
 
     @Bean
-    public JavaMailSender getMailSender(final MailProperties mailProperties) {
-        final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    public JavaMailSender getMailSender(final MailProperties mailProperties, final MailPoolProperties poolProperties) {
+        // Pooled sender reuses the SMTP connections instead of connecting (and handshaking) for every message.
+        final JavaMailSenderImpl mailSender = poolProperties.isEnabled() ?
+                new PooledJavaMailSender(poolProperties) :
+                new JavaMailSenderImpl();
 
         mailSender.setHost(mailProperties.getHost());
         mailSender.setPort(Optional.ofNullable(mailProperties.getPort())
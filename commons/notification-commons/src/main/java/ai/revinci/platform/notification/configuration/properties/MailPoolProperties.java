@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.notification.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "revinciai.platform.mail.pool")
+public class MailPoolProperties {
+    /** Flag indicating if the SMTP connections have to be pooled and reused across messages. */
+    private boolean enabled = true;
+
+    /** Maximum number of SMTP connections that are open (idle or in use) at any point in time. */
+    private int maxConnections = 4;
+
+    /** Maximum number of messages sent over a single SMTP connection before it is closed and replaced. */
+    private int maxMessagesPerConnection = 100;
+
+    /** Duration after which an idle SMTP connection is closed. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Idle duration after which a pooled SMTP connection is verified (using a NOOP) before it is reused. */
+    private Duration validationInterval = Duration.ofSeconds(2);
+
+    /** Maximum duration to wait for a free SMTP connection when all of them are in use. */
+    private Duration borrowTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.notification.parser;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.enums.Token;
+import ai.revinci.platform.notification.configuration.properties.TemplateCacheProperties;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+
+/**
+ * Caches the compiled FreeMarker templates by tenant, template name and locale, so that rendering a template does not
+ * go through the template loader (and its checks for modified templates) for every message.
+ * <p>
+ * A tenant can override a template by placing a template with the same name in a directory named after the tenant
+ * (e.g., {@code acme/tenant-onboarded.html}). Overrides that do not exist are cached as well, so that the template
+ * loader is not asked for them on every message. All the entries are looked up again after
+ * {@link TemplateCacheProperties#getRefreshInterval()}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompiledTemplateCache {
+    /** Cached templates, including the ones that were found to be missing. */
+    private final Map<TemplateKey, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+    /** FreeMarker configuration that loads and compiles the templates. */
+    private final Configuration freeMarkerConfiguration;
+
+    /** Template cache settings. */
+    private final TemplateCacheProperties templateCacheProperties;
+
+    /**
+     * This method returns the compiled template of the provided {@code templateName}, preferring the override of the
+     * tenant (if any).
+     *
+     * @param tenant       Tenant (e.g., realm) whose override is preferred. Can be null.
+     * @param templateName Template name.
+     * @param locale       Locale of the template. If null, the default locale of the FreeMarker configuration is used.
+     *
+     * @return Compiled template, or null if neither the override nor the template exist.
+     */
+    public Template getTemplate(final String tenant, @NonNull final String templateName, final Locale locale) {
+        final Locale templateLocale = Objects.nonNull(locale) ?
+                locale :
+                freeMarkerConfiguration.getLocale();
+        if (StringUtils.isNotBlank(tenant)) {
+            final Template override = getTemplate(new TemplateKey(tenant, templateName, templateLocale),
+                                                  tenant + Token.FORWARD_SLASH.value() + templateName);
+            if (Objects.nonNull(override)) {
+                return override;
+            }
+        }
+
+        return getTemplate(new TemplateKey(null, templateName, templateLocale), templateName);
+    }
+
+    /**
+     * This method evicts all the cached templates, e.g., after the templates have been modified.
+     */
+    public void clear() {
+        templates.clear();
+    }
+
+    private Template getTemplate(final TemplateKey key, final String path) {
+        final CachedTemplate cachedTemplate = templates.get(key);
+        final long now = System.currentTimeMillis();
+        if (Objects.nonNull(cachedTemplate) && now < cachedTemplate.refreshAt()) {
+            return cachedTemplate.template();
+        }
+
+        final Template template = load(path, key.locale());
+        final long refreshMillis = templateCacheProperties.getRefreshInterval()
+                .toMillis();
+        templates.put(key, new CachedTemplate(template, refreshMillis > 0 ?
+                now + refreshMillis :
+                Long.MAX_VALUE));
+        return template;
+    }
+
+    private Template load(final String path, final Locale locale) {
+        CompiledTemplateCache.LOGGER.debug("Loading template {} for locale {}", path, locale);
+        try {
+            // Missing templates are returned as null instead of being reported as an exception.
+            return freeMarkerConfiguration.getTemplate(path, locale, null, true, true);
+        } catch (final IOException ex) {
+            CompiledTemplateCache.LOGGER.error("Failed to load template {}. Error message : {}", path,
+                                               ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Key of the cached templates.
+     *
+     * @param tenant       Tenant whose override it is, or null for the template itself.
+     * @param templateName Template name.
+     * @param locale       Locale of the template.
+     */
+    private record TemplateKey(String tenant, String templateName, Locale locale) {
+    }
+
+    /**
+     * Cached template.
+     *
+     * @param template  Compiled template, or null if it does not exist.
+     * @param refreshAt Time (epoch millis) after which the template has to be looked up again.
+     */
+    private record CachedTemplate(Template template, long refreshAt) {
+    }
+}
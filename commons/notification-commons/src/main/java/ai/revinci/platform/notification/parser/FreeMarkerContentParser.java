@@ -25,35 +25,61 @@
 
 package ai.revinci.platform.notification.parser;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 import org.springframework.stereotype.Component;
-import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import freemarker.template.Configuration;
 import freemarker.template.Template;
+import freemarker.template.TemplateException;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class FreeMarkerContentParser implements ITemplateContentParser {
-    private final Configuration freeMarkerConfiguration;
+    /** Cache of the compiled templates. */
+    private final CompiledTemplateCache compiledTemplateCache;
 
     @Override
     public String parse(final String templateFileName, final Map<String, Object> placeholders) {
         FreeMarkerContentParser.LOGGER.debug("Processing template {}", templateFileName);
-        String parsedContent = "";
+        final StringWriter writer = new StringWriter();
         try {
-            final Template template = freeMarkerConfiguration.getTemplate(templateFileName);
-            parsedContent = FreeMarkerTemplateUtils.processTemplateIntoString(template, placeholders);
+            parse(null, templateFileName, null, placeholders, writer);
         } catch (final Exception ioe) {
             FreeMarkerContentParser.LOGGER.error("Failed to parse template {}. Error message : {}", templateFileName,
                                                  ioe.getMessage());
+            return "";
         }
 
-        return parsedContent;
+        return writer.toString();
+    }
+
+    @Override
+    public boolean exists(final String tenant, final String templateFileName, final Locale locale) {
+        return Objects.nonNull(compiledTemplateCache.getTemplate(tenant, templateFileName, locale));
+    }
+
+    @Override
+    public void parse(final String tenant, final String templateFileName, final Locale locale,
+                      final Map<String, Object> placeholders, final Writer writer) throws IOException {
+        final Template template = compiledTemplateCache.getTemplate(tenant, templateFileName, locale);
+        if (Objects.isNull(template)) {
+            throw new IOException("Template " + templateFileName + " not found");
+        }
+
+        try {
+            // Rendered straight into the writer, without building the content as a string first.
+            template.process(placeholders, writer);
+        } catch (final TemplateException ex) {
+            throw new IOException("Failed to parse template " + templateFileName, ex);
+        }
     }
 }
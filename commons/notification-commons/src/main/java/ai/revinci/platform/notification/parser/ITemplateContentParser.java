@@ -25,8 +25,14 @@
 
 package ai.revinci.platform.notification.parser;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
 import java.util.Map;
 
 public interface ITemplateContentParser {
     String parse(String templateFileName, Map<String, Object> placeholders);
+    boolean exists(String tenant, String templateFileName, Locale locale);
+    void parse(String tenant, String templateFileName, Locale locale, Map<String, Object> placeholders, Writer writer)
+            throws IOException;
 }
@@ -42,6 +42,7 @@ public enum Key implements IEnumValueProvider {
     ID("id"),
     JDBC_URL("jdbcUrl"),
     LIMIT("limit"),
+    MESSAGE_ID("messageId"),
     NAME("name"),
     OFFSET("offset"),
     OPERATION("operation"),
@@ -50,6 +51,7 @@ public enum Key implements IEnumValueProvider {
     OPERATION_ID_CREATE_DB("createDBOperationId"),
     OPERATION_ID_SHUTDOWN_DB_INSTANCE("shutdownDBInstanceOperationId"),
     PASSWORD("password"),
+    PUBLISHED_AT("publishedAt"),
     TENANT_CONFIGURATION("configuration"),
     TENANT_CONTACT("tenantContact"),
     TENANT_ID("tenantId"),
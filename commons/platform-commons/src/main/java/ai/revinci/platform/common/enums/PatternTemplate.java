@@ -40,7 +40,12 @@ import lombok.AllArgsConstructor;
 public enum PatternTemplate implements IEnumValueProvider{
 
     AUTHORITY("ROLE_{0}"),
+    // {0} is the consumer (handler) and {1} is the message identifier.
+    CACHE_KEY_PROCESSED_MESSAGE("processedMessage:{0}:{1}"),
+    CACHE_KEY_RECONCILIATION_LOCK("keycloakReconciliation:lock"),
     CACHE_KEY_REVOKED_TOKEN("revokedToken:{0}"),
+    // {0} is the realm and {1} is the subject (user) of the token.
+    CACHE_KEY_REVOKED_TOKENS_BEFORE("revokedTokensBefore:{0}:{1}"),
     CACHE_KEY_TENANT_DB_POST_PROVISIONING("tenantDbPostProvisioning:{0}"),
     DB_SEARCH_PATH("SET search_path TO \"{0}\""),
     JDBC_URL("jdbc:postgresql://{0}:{1,number,#}/{2}?currentSchema=\"{3}\""),
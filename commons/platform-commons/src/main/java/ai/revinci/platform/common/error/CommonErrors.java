@@ -41,6 +41,7 @@ public enum CommonErrors implements IError {
     FILE_DOES_NOT_EXIST,
     ILLEGAL_ARGUMENT,
     ILLEGAL_ARGUMENT_DETAILED,
+    INVALID_PAGE_TOKEN,
     JSON_READ_FAILED,
     JSON_SERIALIZATION_FAILED,
     JSON_DESERIALIZATION_FAILED,
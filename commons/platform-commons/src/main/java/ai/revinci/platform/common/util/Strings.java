@@ -40,6 +40,7 @@ import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.lang.NonNull;
@@ -144,12 +145,32 @@ public final class Strings {
     }
 
     public static synchronized String encrypt(final String input, final byte[] secret) {
+        return Strings.encrypt(input, Strings.generateSecretKeySpec(secret));
+    }
+
+    /**
+     * This method returns a function that encrypts its input exactly like {@link #encryptUsingSalt(String, String)}.
+     * <p>
+     * The key is derived from the salt only once and the returned function does not lock, hence it can be used to
+     * encrypt a batch of inputs concurrently.
+     *
+     * @param salt Salt from which the key is derived.
+     *
+     * @return Function that encrypts its input.
+     */
+    public static synchronized UnaryOperator<String> encryptorUsingSalt(final String salt) {
+        final SecretKeySpec secretKeySpec = Strings.generateSecretKeySpec(Strings.generateSecret(salt));
+        return input -> Strings.encrypt(input, secretKeySpec);
+    }
+
+    private static String encrypt(final String input, final SecretKeySpec secretKeySpec) {
         // Credits go to the author of the below article:
         // https://howtodoinjava.com/security/java-aes-encryption-example/
 
         try {
+            // Cipher instances are not thread-safe, hence a new one is created for every input.
             final Cipher cipher = Cipher.getInstance(new String(Strings.ENCRYPTION_ALGORITHM));
-            cipher.init(Cipher.ENCRYPT_MODE, Strings.generateSecretKeySpec(secret), new IvParameterSpec(new byte[16]));
+            cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, new IvParameterSpec(new byte[16]));
             return Base64.getEncoder()
                     .encodeToString(cipher.doFinal(input.getBytes(StandardCharsets.UTF_8)));
         } catch (final NoSuchAlgorithmException | InvalidKeyException | NoSuchPaddingException | BadPaddingException |
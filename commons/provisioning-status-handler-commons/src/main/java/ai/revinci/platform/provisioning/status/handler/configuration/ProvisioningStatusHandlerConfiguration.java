@@ -34,6 +34,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 import ai.revinci.platform.data.jpa.annotation.EnableDataConfiguration;
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl;
 import ai.revinci.platform.provisioning.status.handler.data.model.persistence.TenantEntity;
 import ai.revinci.platform.provisioning.status.handler.data.repository.TenantRepository;
 import ai.revinci.platform.provisioning.status.handler.service.TenantService;
@@ -41,7 +42,8 @@ import ai.revinci.platform.provisioning.status.handler.service.TenantService;
 @EnableAsync
 @EnableDataConfiguration
 @ComponentScan(basePackageClasses = {TenantService.class})
-@EnableJpaRepositories(basePackageClasses = {TenantRepository.class})
+@EnableJpaRepositories(basePackageClasses = {TenantRepository.class},
+                       repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
 @EntityScan(basePackageClasses = {TenantEntity.class})
 @Configuration
 public class ProvisioningStatusHandlerConfiguration {
@@ -27,8 +27,11 @@ package ai.revinci.platform.security.service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Objects;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.lang.NonNull;
@@ -40,7 +43,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.client.ICacheClient;
-import ai.revinci.platform.common.enums.JwtClaim;
 import ai.revinci.platform.common.enums.PatternTemplate;
 import ai.revinci.platform.common.log.Instrumentation;
 import ai.revinci.platform.security.token.PlatformJwtDecoder;
@@ -54,49 +56,149 @@ public class TokenRevocationService implements ApplicationContextAware {
     private ApplicationContext applicationContext;
     private final ICacheClient redisCacheClient;
 
+    /** Maximum lifetime of the tokens issued by the IAM system (e.g., the access token lifespan of the realms). */
+    @Value("${revinciai.platform.security.token.max-lifetime:PT1H}")
+    private Duration maxTokenLifetime;
+
     @Override
     public void setApplicationContext(@NonNull final ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
 
+    /**
+     * Revokes the provided raw token.
+     * <p>
+     * Prefer {@link #revoke(Jwt)} when the token has already been decoded (e.g., the principal of the current request)
+     * as this method has to decode the token again to determine its expiry.
+     *
+     * @param token Raw token value that needs to be revoked.
+     */
     @Instrumentation
     public void revoke(@NonNull final String token) {
+        try {
+            final JwtDecoder jwtDecoder = applicationContext.getBean(PlatformJwtDecoder.class);
+            revoke(jwtDecoder.decode(token));
+        } catch (final Exception ex) {
+            TokenRevocationService.LOGGER.warn("Error while decoding the token to be revoked. Error: {}",
+                                               ex.getMessage());
+            // Fallback to the digest of the raw token with the default expiration.
+            redisCacheClient.put(PatternTemplate.CACHE_KEY_REVOKED_TOKEN.format(JwtTokenUtils.digest(token)),
+                                 Boolean.TRUE,
+                                 Duration.ofMinutes(TokenRevocationService.DEFAULT_REVOKED_TOKEN_EXPIRATION_DURATION_MINUTES));
+        }
+    }
+
+    /**
+     * Revokes the provided (already decoded) token.
+     * <p>
+     * The token is stored against a fixed-size digest of its value and expires exactly when the token itself expires.
+     * Tokens that have already expired are not stored at all.
+     *
+     * @param jwt Token that needs to be revoked.
+     */
+    @Instrumentation
+    public void revoke(@NonNull final Jwt jwt) {
+        final Duration remainingLifetime = remainingLifetime(jwt);
+        if (remainingLifetime.isZero() || remainingLifetime.isNegative()) {
+            TokenRevocationService.LOGGER.debug("Token has already expired. Skipping the revocation");
+            return;
+        }
+
         // Build the key.
-        final String key = PatternTemplate.CACHE_KEY_REVOKED_TOKEN.format(token);
+        final String key = PatternTemplate.CACHE_KEY_REVOKED_TOKEN.format(JwtTokenUtils.digest(jwt.getTokenValue()));
         // Put the key.
-        redisCacheClient.put(key, Boolean.TRUE, Duration.ofMinutes(tokenExpirationDurationInMinutes(token)));
+        redisCacheClient.put(key, Boolean.TRUE, remainingLifetime);
     }
 
+    /**
+     * Revokes all the tokens issued to the subject (user) of the provided token up to now, i.e., terminates all the
+     * sessions of the user.
+     * <p>
+     * This is a single write of a per-user "revoked-before" timestamp (epoch seconds, stored as a string so that it
+     * does not depend on how the cache serializes numbers). Any token of the user issued before this timestamp is
+     * considered revoked by {@link #isRevoked(Jwt)}. As the issue time of a token only has a precision of seconds, a
+     * token issued in the same second as the revocation (e.g., a new login right after it) remains valid. The
+     * timestamp is retained for the configured maximum token lifetime
+     * ({@code revinciai.platform.security.token.max-lifetime}) from now, or the lifetime of the provided token if it is
+     * longer, as any outstanding token of the user (of any session or client) expires by then.
+     *
+     * @param jwt Token of the user whose sessions have to be revoked.
+     */
     @Instrumentation
-    public boolean isRevoked(@NonNull final String token) {
-        // Build the key.
-        final String key = PatternTemplate.CACHE_KEY_REVOKED_TOKEN.format(token);
-        // Get the value of the key.
-        return redisCacheClient.get(key, Boolean.class)
+    public void revokeAll(@NonNull final Jwt jwt) {
+        final String key = revokedTokensBeforeKey(jwt);
+        if (Objects.isNull(key)) {
+            TokenRevocationService.LOGGER.warn("Token does not have an issuer or a subject. Revoking only this token");
+            revoke(jwt);
+            return;
+        }
+
+        final Duration tokenLifetime = tokenLifetime(jwt);
+        final Duration retention = tokenLifetime.compareTo(maxTokenLifetime) > 0 ?
+                tokenLifetime :
+                maxTokenLifetime;
+        redisCacheClient.put(key, String.valueOf(Instant.now()
+                                                         .getEpochSecond()), retention);
+    }
+
+    /**
+     * Checks if the provided token has been revoked, either individually (see {@link #revoke(Jwt)}) or as part of a
+     * revocation of all sessions of the user (see {@link #revokeAll(Jwt)}).
+     *
+     * @param jwt Token to check.
+     *
+     * @return True if the token has been revoked, false otherwise.
+     */
+    @Instrumentation
+    public boolean isRevoked(@NonNull final Jwt jwt) {
+        // 1. Has this specific token been revoked?
+        final String key = PatternTemplate.CACHE_KEY_REVOKED_TOKEN.format(JwtTokenUtils.digest(jwt.getTokenValue()));
+        final boolean revoked = redisCacheClient.get(key, Boolean.class)
                 .orElse(Boolean.FALSE)
                 .equals(Boolean.TRUE);
+        if (revoked) {
+            return true;
+        }
+
+        // 2. Have all the tokens of this user issued before a point in time been revoked?
+        final String revokedTokensBeforeKey = revokedTokensBeforeKey(jwt);
+        if (Objects.isNull(revokedTokensBeforeKey) || Objects.isNull(jwt.getIssuedAt())) {
+            return false;
+        }
+        return redisCacheClient.get(revokedTokensBeforeKey, String.class)
+                .map(Long::parseLong)
+                .map(revokedBefore -> jwt.getIssuedAt()
+                        .getEpochSecond() < revokedBefore)
+                .orElse(Boolean.FALSE);
     }
 
-    private long tokenExpirationDurationInMinutes(@NonNull final String token) {
-        try {
-            final JwtDecoder jwtDecoder = applicationContext.getBean(PlatformJwtDecoder.class);
-            final Jwt jwt = jwtDecoder.decode(token);
-            // Token expiration in seconds.
-            final long tokenExpirationEpoch = JwtTokenUtils.extractClaim(JwtClaim.EXP, jwt);
-            // Current time in seconds
-            final long currentEpoch = Instant.now()
-                    .getEpochSecond();
-            // Duration between the two in seconds.
-            final long durationInSeconds = tokenExpirationEpoch - currentEpoch;
-            // Convert this duration to minutes.
-            return durationInSeconds <= 0 ?
-                    5 :
-                    Duration.ofSeconds(durationInSeconds)
-                            .toMinutes();
-        } catch (final Exception ex) {
-            TokenRevocationService.LOGGER.warn("Error while extracting expiration from token. Error: {}",
-                                               ex.getMessage());
+    private Duration remainingLifetime(final Jwt jwt) {
+        final Instant expiresAt = jwt.getExpiresAt();
+        if (Objects.isNull(expiresAt)) {
+            return Duration.ofMinutes(TokenRevocationService.DEFAULT_REVOKED_TOKEN_EXPIRATION_DURATION_MINUTES);
+        }
+
+        return Duration.between(Instant.now(), expiresAt);
+    }
+
+    private Duration tokenLifetime(final Jwt jwt) {
+        if (Objects.nonNull(jwt.getIssuedAt()) && Objects.nonNull(jwt.getExpiresAt())) {
+            final Duration lifetime = Duration.between(jwt.getIssuedAt(), jwt.getExpiresAt());
+            if (!lifetime.isNegative() && !lifetime.isZero()) {
+                return lifetime;
+            }
+        }
+
+        return Duration.ofMinutes(TokenRevocationService.DEFAULT_REVOKED_TOKEN_EXPIRATION_DURATION_MINUTES);
+    }
+
+    private String revokedTokensBeforeKey(final Jwt jwt) {
+        if (Objects.isNull(jwt.getIssuer()) || StringUtils.isBlank(jwt.getSubject())) {
+            return null;
         }
-        return TokenRevocationService.DEFAULT_REVOKED_TOKEN_EXPIRATION_DURATION_MINUTES;
+
+        final String realm = JwtTokenUtils.extractRealmFromIssuer(jwt.getIssuer()
+                                                                          .toString());
+        return PatternTemplate.CACHE_KEY_REVOKED_TOKENS_BEFORE.format(realm, jwt.getSubject());
     }
 }
@@ -73,7 +73,7 @@ public class PlatformJwtDecoder implements JwtDecoder {
             }
 
             // 5. Is this token valid (i.e., has the user with this token logged out in which case, this is invalid).
-            if (tokenRevocationService.isRevoked(token)) {
+            if (tokenRevocationService.isRevoked(jwt)) {
                 PlatformJwtDecoder.LOGGER.error(
                         "Invalid token provided. The token has been revoked as the user must have logged out");
                 throw ServiceException.of(SecurityErrors.TOKEN_INVALID);
@@ -25,6 +25,9 @@
 
 package ai.revinci.platform.security.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.util.Base64;
 import java.util.Collection;
@@ -119,6 +122,29 @@ public final class JwtTokenUtils {
                 .build();
     }
 
+    /**
+     * Computes a fixed-size digest (SHA-256, base64-url encoded without padding) of the provided token value.
+     * <p>
+     * The digest is 43 characters long irrespective of the size of the token and is therefore suitable to be used as
+     * (part of) a cache key.
+     *
+     * @param tokenValue Token value whose digest has to be computed.
+     *
+     * @return Digest of the provided token value.
+     */
+    public static String digest(@NonNull final String tokenValue) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(tokenValue.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(hash);
+        } catch (final NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256, hence this should never happen.
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+
     public static <T> T extractClaim(@NonNull final JwtClaim claim, @NonNull final Jwt token) {
         return token.getClaim(claim.value());
     }
@@ -30,6 +30,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl;
 import ai.revinci.platform.security.annotation.EnableSecurityConfiguration;
 import ai.revinci.platform.security.data.model.persistence.PermissionEntity;
 import ai.revinci.platform.security.data.repository.PermissionRepository;
@@ -38,7 +39,8 @@ import ai.revinci.platform.tenant.data.jpa.persistence.TenantEntity;
 
 @ComponentScan(basePackageClasses = {PermissionService.class})
 @EntityScan(basePackageClasses = {TenantEntity.class, PermissionEntity.class})
-@EnableJpaRepositories(basePackageClasses = { PermissionRepository.class})
+@EnableJpaRepositories(basePackageClasses = { PermissionRepository.class},
+                       repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
 @EnableSecurityConfiguration
 @Configuration
 public class TenantDataConfiguration {
@@ -44,6 +44,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.enums.Key;
 import ai.revinci.platform.common.enums.ResourceState;
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl;
 import ai.revinci.platform.messaging.annotation.EnableMessaging;
 import ai.revinci.platform.messaging.utils.MessageUtils;
 import ai.revinci.platform.provisioning.db.configuration.DatabaseProvisioningConfiguration;
@@ -65,7 +66,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 @EnableMessaging
 @EnableWebConfiguration
 @EnableConfigurationProperties(value = {DatabaseProvisioningProperties.class})
-@EnableJpaRepositories(basePackageClasses = {PermissionRepository.class})
+@EnableJpaRepositories(basePackageClasses = {PermissionRepository.class},
+                       repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
 @EntityScan(basePackageClasses = {PermissionEntity.class})
 @Configuration
 @RequiredArgsConstructor
@@ -41,6 +41,8 @@ import org.springframework.messaging.Message;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl;
+import ai.revinci.platform.messaging.annotation.EnableMessaging;
 import ai.revinci.platform.provisioning.iam.configuration.IamProvisioningConfiguration;
 import ai.revinci.platform.provisioning.status.handler.configuration.ProvisioningStatusHandlerConfiguration;
 import ai.revinci.platform.security.data.model.persistence.PermissionEntity;
@@ -51,9 +53,11 @@ import ai.revinci.platform.web.annotation.EnableWebConfiguration;
 
 @Slf4j
 @Import(value = {ProvisioningStatusHandlerConfiguration.class, IamProvisioningConfiguration.class})
+@EnableMessaging
 @EnableWebConfiguration
 @EnableConfigurationProperties(value = {KeycloakProperties.class})
-@EnableJpaRepositories(basePackageClasses = {PermissionRepository.class})
+@EnableJpaRepositories(basePackageClasses = {PermissionRepository.class},
+                       repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
 @EntityScan(basePackageClasses = {PermissionEntity.class})
 @Configuration
 @RequiredArgsConstructor
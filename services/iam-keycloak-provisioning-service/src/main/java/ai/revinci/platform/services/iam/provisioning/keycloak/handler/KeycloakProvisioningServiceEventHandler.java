@@ -38,6 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.enums.IamProvider;
 import ai.revinci.platform.common.log.Instrumentation;
+import ai.revinci.platform.messaging.annotation.ConsumeMessage;
 import ai.revinci.platform.messaging.utils.MessageUtils;
 import ai.revinci.platform.provisioning.iam.service.IamService;
 
@@ -58,6 +59,7 @@ public class KeycloakProvisioningServiceEventHandler {
      */
     @Instrumentation
     @Async
+    @ConsumeMessage
     public void handleDbProvisionedEvent(final Message<String> message) {
         final MessageHeaders headers = message.getHeaders();
         final UUID correlationId = MessageUtils.getCorrelationId(headers);
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+import ai.revinci.platform.messaging.data.model.experience.DeadLetterReplaySummary;
+import ai.revinci.platform.messaging.service.DeadLetterService;
+import ai.revinci.platform.web.api.AbstractApi;
+import ai.revinci.platform.web.configuration.properties.OpenApiDocumentationSettings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+@RestController
+@RequestMapping(DeadLetterApi.ROOT_ENDPOINT)
+@RequiredArgsConstructor
+public class DeadLetterApi extends AbstractApi {
+    public static final String API_TAG = "Dead Letters";
+
+    public static final String ROOT_ENDPOINT = "/api/v1/dead-letters";
+
+    private final DeadLetterService deadLetterService;
+
+    @Operation(method = "replayDeadLetters",
+               summary = "Replay the dead-lettered messages.",
+               description = "This API is used to replay all the messages that this service could not process after "
+                       + "the permitted number of attempts. A message that fails again is dead-lettered again.",
+               tags = {DeadLetterApi.API_TAG},
+               security = {
+                       @SecurityRequirement(name =
+                               OpenApiDocumentationSettings.ApiSecurityScheme.DEFAULT_SECURITY_SCHEME_NAME)
+               })
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200",
+                                 description = "Successfully replayed the dead-lettered messages.",
+                                 content = @Content),
+                    @ApiResponse(responseCode = "403",
+                                 description = "You do not have permissions to perform this operation.",
+                                 content = @Content)
+            })
+    // @formatter:on
+    @PreAuthorize("hasRole('ROLE_super_admin')")
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplaySummary> replayDeadLetters() {
+        // Delegate to the service layer.
+        final DeadLetterReplaySummary summary = deadLetterService.replayAll();
+        // Build a response entity object and return it.
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(summary);
+    }
+}
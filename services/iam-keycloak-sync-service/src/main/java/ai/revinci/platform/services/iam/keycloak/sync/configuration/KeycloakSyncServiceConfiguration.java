@@ -37,28 +37,38 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.messaging.Message;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl;
 import ai.revinci.platform.messaging.annotation.EnableMessaging;
+import ai.revinci.platform.messaging.data.model.persistence.ProcessedMessageEntity;
+import ai.revinci.platform.messaging.data.repository.ProcessedMessageRepository;
 import ai.revinci.platform.multitenancy.annotation.EnableMultiTenancy;
 import ai.revinci.platform.security.data.model.persistence.PermissionEntity;
 import ai.revinci.platform.security.data.repository.PermissionRepository;
 import ai.revinci.platform.services.iam.keycloak.sync.KeycloakSyncService;
 import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.KeycloakProperties;
+import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.KeyedEventExecutorProperties;
+import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.RealmBootstrapProperties;
+import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.ReconciliationProperties;
 import ai.revinci.platform.services.iam.keycloak.sync.data.repository.TenantRepository;
 import ai.revinci.platform.services.iam.keycloak.sync.handler.KeycloakEventHandler;
 import ai.revinci.platform.web.annotation.EnableWebConfiguration;
 
 @Slf4j
 @EnableAsync
+@EnableScheduling
 @EnableMessaging
 @EnableMultiTenancy
 @EnableWebConfiguration
-@EnableConfigurationProperties(value = {KeycloakProperties.class})
-@EnableJpaRepositories(basePackageClasses = {TenantRepository.class, PermissionRepository.class})
-@EntityScan(basePackageClasses = {KeycloakSyncService.class, PermissionEntity.class})
+@EnableConfigurationProperties(value = {KeycloakProperties.class, KeyedEventExecutorProperties.class,
+        RealmBootstrapProperties.class, ReconciliationProperties.class})
+@EnableJpaRepositories(basePackageClasses = {TenantRepository.class, PermissionRepository.class,
+        ProcessedMessageRepository.class}, repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
+@EntityScan(basePackageClasses = {KeycloakSyncService.class, PermissionEntity.class, ProcessedMessageEntity.class})
 @Configuration
 @RequiredArgsConstructor
 public class KeycloakSyncServiceConfiguration {
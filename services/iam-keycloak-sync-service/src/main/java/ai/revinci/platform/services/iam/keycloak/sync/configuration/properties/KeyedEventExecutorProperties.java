@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.configuration.properties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "revinciai.platform.iam.keycloak.event-executor")
+public class KeyedEventExecutorProperties {
+    /**
+     * Number of shared lanes i.e., the number of keys (realms) whose events are processed in parallel. The keys are
+     * spread over the shared lanes by their hash, hence a slow key holds up the other keys on its lane.
+     */
+    private int lanes = Runtime.getRuntime()
+            .availableProcessors();
+
+    /** Keys (realms) that get a lane of their own, so that they neither hold up nor are held up by the other keys. */
+    private Set<String> dedicatedLaneKeys = new HashSet<>();
+
+    /** Maximum number of events waiting in a lane. The producer is blocked when the lane is full. */
+    private int queueCapacity = 1000;
+
+    /**
+     * Time for which the events of a user are held back so that the successive events of the user are applied as one
+     * change. A zero duration disables the coalescing.
+     */
+    private Duration userEventCoalescingWindow = Duration.ofMillis(500);
+}
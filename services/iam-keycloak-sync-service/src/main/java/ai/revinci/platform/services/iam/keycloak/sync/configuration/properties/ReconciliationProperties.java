@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.configuration.properties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "revinciai.platform.iam.keycloak.reconciliation")
+public class ReconciliationProperties {
+    /**
+     * Cron expression that determines when the users of the realms are reconciled with the Keycloak server. Defaults
+     * to hourly. Use "-" to disable the reconciliation.
+     */
+    private String cron = "0 0 * * * *";
+
+    /** Realms that are reconciled. An empty list reconciles all the realms that have a data source. */
+    private List<String> realms = new ArrayList<>();
+
+    /** Number of users retrieved from the Keycloak server and compared in one go. */
+    private int pageSize = 500;
+
+    /** Maximum number of users that are changed in a realm per run. The remaining changes are left to the next run. */
+    private int maxChangesPerRealm = 1000;
+
+    /**
+     * Duration after which the lock that lets only one instance reconcile at a time expires, in case the instance
+     * holding it dies. It should be longer than a run and shorter than the interval between the runs.
+     */
+    private Duration lockTimeout = Duration.ofMinutes(50);
+}
@@ -40,7 +40,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Getter
 @Setter
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @NoArgsConstructor
 public abstract class AbstractEvent<T> {
     /** The operation that this event represents. For example: CREATE, UPDATE, DELETE. */
@@ -43,7 +43,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
 @Getter
 @Setter
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @NoArgsConstructor
 public class RealmUserEvent extends AbstractEvent<RealmUserEvent.Data> {
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -51,7 +51,7 @@ public class RealmUserEvent extends AbstractEvent<RealmUserEvent.Data> {
     @EqualsAndHashCode(onlyExplicitlyIncluded = true)
     @Getter
     @Setter
-    @SuperBuilder
+    @SuperBuilder(toBuilder = true)
     @NoArgsConstructor
     public static class Data {
         /** Unique identifier of the user. */
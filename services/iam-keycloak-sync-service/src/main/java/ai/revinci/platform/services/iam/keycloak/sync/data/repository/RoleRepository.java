@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -71,18 +72,37 @@ public interface RoleRepository extends ExtendedJpaRepository<RoleEntity, UUID>
     Optional<RoleEntity> findByName(@Param("tenantId") UUID tenantId, @Param("name") String name);
 
     /**
-     * This method attempts to find {@link RoleEntity} objects whose name matches the provided {@code names} in a tenant
-     * identified by {@code tenantId}.
+     * This method attempts to find {@link RoleEntity} objects whose IAM role identifier matches the provided
+     * {@code iamRoleIds} in a tenant identified by {@code tenantId}.
      *
-     * @param tenantId Unique identifier of the tenant.
-     * @param names    Collection of role names to find.
+     * @param tenantId   Unique identifier of the tenant.
+     * @param iamRoleIds Collection of unique identifiers of the roles in the IAM system (e.g., keycloak).
      *
-     * @return An {@link Optional} wrapping the matching {@link RoleEntity} if found, else returns an empty
-     *         {@link Optional}.
+     * @return A {@link Collection} of matching {@link RoleEntity} objects.
      */
     @Query("""
             SELECT re FROM RoleEntity re
-            WHERE re.tenant.id = :tenantId AND re.name IN (:names)
+            WHERE re.tenant.id = :tenantId AND re.iamRoleId IN (:iamRoleIds)
             """)
-    Collection<RoleEntity> findByNames(@Param("tenantId") UUID tenantId, @Param("names") Collection<String> names);
+    Collection<RoleEntity> findByIamRoleIds(@Param("tenantId") UUID tenantId,
+                                            @Param("iamRoleIds") Collection<UUID> iamRoleIds);
+
+    /**
+     * This method grants all the permissions defined in the system to the roles whose name matches the provided
+     * {@code names} in a tenant identified by {@code tenantId}, in a single {@code INSERT ... SELECT} statement.
+     * Permissions that have already been granted to a role are left untouched.
+     *
+     * @param tenantId Unique identifier of the tenant.
+     * @param names    Collection of role names.
+     *
+     * @return Number of role-permission mappings that have been created.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO role_permission (role_id, permission_code)
+            SELECT r.id, p.code FROM role r CROSS JOIN permission p
+            WHERE r.tenant_id = :tenantId AND r.name IN (:names)
+            ON CONFLICT (role_id, permission_code) DO NOTHING
+            """, nativeQuery = true)
+    int grantAllPermissionsToRoles(@Param("tenantId") UUID tenantId, @Param("names") Collection<String> names);
 }
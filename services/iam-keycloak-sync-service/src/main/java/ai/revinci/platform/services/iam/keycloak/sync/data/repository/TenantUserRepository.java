@@ -25,83 +25,230 @@
 
 package ai.revinci.platform.services.iam.keycloak.sync.data.repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ai.revinci.platform.data.jpa.repository.ExtendedJpaRepository;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.persistence.TenantUserEntity;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.projection.TenantUserDigest;
 
 @Repository
 public interface TenantUserRepository extends ExtendedJpaRepository<TenantUserEntity, UUID> {
     /**
-     * This method attempts to find a {@link TenantUserEntity} whose IAM user identifier matches the provided
-     * {@code iamUserId} in a tenant identified by {@code tenantId}.
+     * Sub-query that selects the identifier of the user of a tenant that best matches the IAM user identifier, email
+     * address and username, in that order of priority (see {@link #findBestMatch(UUID, UUID, String, String)}).
+     */
+    String BEST_MATCH_QUERY = """
+            SELECT tu.id FROM tenant_user tu
+            WHERE tu.tenant_id = :tenantId AND (tu.iam_user_id = CAST(:iamUserId AS uuid)
+            OR tu.email = CAST(:email AS varchar) OR tu.username = CAST(:username AS varchar))
+            ORDER BY CASE WHEN tu.iam_user_id = CAST(:iamUserId AS uuid) THEN 0
+            WHEN tu.email = CAST(:email AS varchar) THEN 1 ELSE 2 END
+            LIMIT 1""";
+
+    /**
+     * This method removes the provided {@code iamRoleId} from all the users who have it assigned to them in the tenant
+     * identified by {@code tenantId}, in a single statement.
+     *
+     * @param tenantId  Unique identifier of the tenant.
+     * @param iamRoleId Unique identifier of the role in the IAM system.
+     *
+     * @return Number of users from whom the role has been removed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            DELETE FROM user_role ur USING role r
+            WHERE ur.role_id = r.id AND r.tenant_id = :tenantId AND r.iam_role_id = :iamRoleId
+            """, nativeQuery = true)
+    int unassignIamRoleIdFromUsers(@Param("tenantId") UUID tenantId, @Param("iamRoleId") UUID iamRoleId);
+
+    /**
+     * This method finds the user of a tenant that best matches the provided details in a single query. A match on the
+     * IAM user identifier takes priority over a match on the email address, which takes priority over a match on the
+     * username. Details that are null are not matched.
      *
      * @param tenantId  Unique identifier of the tenant.
      * @param iamUserId Unique identifier of the user in the IAM system (e.g., keycloak).
+     * @param email     Email address of the user.
+     * @param username  Username of the user.
      *
-     * @return An {@link Optional} wrapping the matching {@link TenantUserEntity} if found, else returns an empty
-     *         {@link Optional}.
+     * @return A {@link List} containing the best matching user or an empty list if there is no match.
+     */
+    @Query(value = "SELECT * FROM tenant_user WHERE id = (" + TenantUserRepository.BEST_MATCH_QUERY + ")",
+           nativeQuery = true)
+    List<TenantUserEntity> findBestMatch(@Param("tenantId") UUID tenantId, @Param("iamUserId") UUID iamUserId,
+                                         @Param("email") String email, @Param("username") String username);
+
+    /**
+     * This method finds the users of a tenant whose IAM user identifier, email address or username is one of the
+     * provided values, in a single query.
+     *
+     * @param tenantId   Unique identifier of the tenant.
+     * @param iamUserIds Unique identifiers of the users in the IAM system (e.g., keycloak).
+     * @param emails     Email addresses of the users.
+     * @param usernames  Usernames of the users.
+     *
+     * @return A {@link List} of {@link TenantUserEntity} that match any of the provided values.
      */
     @Query("""
             SELECT tue FROM TenantUserEntity tue
-            WHERE tue.tenant.id = :tenantId AND tue.iamUserId = :iamUserId
+            WHERE tue.tenant.id = :tenantId
+            AND (tue.iamUserId IN (:iamUserIds) OR tue.email IN (:emails) OR tue.username IN (:usernames))
             """)
-    Optional<TenantUserEntity> findByIamUserId(@Param("tenantId") UUID tenantId, @Param("iamUserId") UUID iamUserId);
+    List<TenantUserEntity> findMatchingUsers(@Param("tenantId") UUID tenantId,
+                                             @Param("iamUserIds") Collection<UUID> iamUserIds,
+                                             @Param("emails") Collection<String> emails,
+                                             @Param("usernames") Collection<String> usernames);
+
+    /**
+     * This method finds the digests of the synchronized details (see {@link TenantUserDigest}) of the users of a tenant
+     * whose IAM user identifier is one of the provided values. Deleted users are not considered.
+     *
+     * @param tenantId   Unique identifier of the tenant.
+     * @param iamUserIds Unique identifiers of the users in the IAM system (e.g., keycloak).
+     *
+     * @return A {@link List} of {@link TenantUserDigest} of the matching users.
+     */
+    @Query(value = """
+            SELECT iam_user_id AS "iamUserId",
+            md5(concat_ws('|', COALESCE(firstname, ''), COALESCE(lastname, ''),
+            CASE WHEN active THEN '1' ELSE '0' END)) AS "digest"
+            FROM tenant_user
+            WHERE tenant_id = :tenantId AND deleted = false AND iam_user_id IN (:iamUserIds)
+            """, nativeQuery = true)
+    List<TenantUserDigest> findDigests(@Param("tenantId") UUID tenantId,
+                                       @Param("iamUserIds") Collection<UUID> iamUserIds);
 
     /**
-     * This method attempts to find a {@link TenantUserEntity} whose username matches the provided {@code username} in a
-     * tenant identified by {@code tenantId}.
+     * This method finds the IAM user identifiers of all the users of a tenant that have not been deleted.
      *
      * @param tenantId Unique identifier of the tenant.
-     * @param username Username of the user to find.
      *
-     * @return An {@link Optional} wrapping the matching {@link TenantUserEntity} if found, else returns an empty
-     *         {@link Optional}.
+     * @return A {@link List} of IAM user identifiers.
      */
     @Query("""
-            SELECT tue FROM TenantUserEntity tue
-            WHERE tue.tenant.id = :tenantId AND tue.username = :username
+            SELECT tue.iamUserId FROM TenantUserEntity tue
+            WHERE tue.tenant.id = :tenantId AND tue.deleted = false AND tue.iamUserId IS NOT NULL
             """)
-    Optional<TenantUserEntity> findByUsername(@Param("tenantId") UUID tenantId, @Param("username") String username);
+    List<UUID> findActiveIamUserIds(@Param("tenantId") UUID tenantId);
 
     /**
-     * This method attempts to find a {@link TenantUserEntity} whose email address matches the provided {@code email} in
-     * a tenant identified by {@code tenantId}.
+     * This method soft-deletes (i.e., marks as deleted, locked and inactive) the users of a tenant whose IAM user
+     * identifier is one of the provided values, in a single statement.
      *
-     * @param tenantId Unique identifier of the tenant.
-     * @param email    Email address of the user to find.
+     * @param tenantId   Unique identifier of the tenant.
+     * @param iamUserIds Unique identifiers of the users in the IAM system (e.g., keycloak).
      *
-     * @return An {@link Optional} wrapping the matching {@link TenantUserEntity} if found, else returns an empty
-     *         {@link Optional}.
+     * @return Number of users deleted.
      */
+    @Modifying
     @Query("""
-            SELECT tue FROM TenantUserEntity tue
-            WHERE tue.tenant.id = :tenantId AND tue.email = :email
+            UPDATE TenantUserEntity tue SET tue.deleted = true, tue.locked = true, tue.active = false
+            WHERE tue.tenant.id = :tenantId AND tue.iamUserId IN (:iamUserIds)
             """)
-    Optional<TenantUserEntity> findByEmail(@Param("tenantId") UUID tenantId, @Param("email") String email);
+    int softDeleteByIamUserIds(@Param("tenantId") UUID tenantId, @Param("iamUserIds") Collection<UUID> iamUserIds);
 
     /**
-     * This method attempt to find all users who have the provided {@code iamRoleId} assigned to them in the tenant
-     * identified by {@code tenantId}.
+     * This method updates the last login time of the user that best matches the provided details (see
+     * {@link #findBestMatch(UUID, UUID, String, String)}) in a single statement. The IAM user identifier is set if the
+     * user does not have one yet.
      *
      * @param tenantId  Unique identifier of the tenant.
-     * @param iamRoleId Unique identifier of the role in the IAM system.
+     * @param iamUserId Unique identifier of the user in the IAM system (e.g., keycloak).
+     * @param email     Email address of the user.
+     * @param username  Username of the user.
+     * @param lastLogin Last login time of the user (expressed in epoch format).
      *
-     * @return A {@link List} of {@link TenantUserEntity} objects that have the provided {@code roleId} assigned to
-     *         them.
+     * @return Number of users updated i.e., 0 if there is no matching user, 1 otherwise.
      */
-    @Query("""
-            SELECT tue FROM TenantUserEntity tue
-            INNER JOIN tue.roles ure
-            WHERE tue.tenant.id = :tenantId AND ure.role.iamRoleId = :iamRoleId
-            """)
-    List<TenantUserEntity> findUsersAssignedToIamRoleId(@Param("tenantId") UUID tenantId,
-                                                        @Param("iamRoleId") UUID iamRoleId);
-}
+    @Modifying
+    @Query(value = """
+            UPDATE tenant_user SET last_login = :lastLogin,
+            iam_user_id = COALESCE(iam_user_id, CAST(:iamUserId AS uuid))
+            WHERE id = (""" + TenantUserRepository.BEST_MATCH_QUERY + ")", nativeQuery = true)
+    int updateLastLoginOfBestMatch(@Param("tenantId") UUID tenantId, @Param("iamUserId") UUID iamUserId,
+                                   @Param("email") String email, @Param("username") String username,
+                                   @Param("lastLogin") long lastLogin);
 
+    /**
+     * This method updates the user that best matches the provided details (see
+     * {@link #findBestMatch(UUID, UUID, String, String)}) in a single statement. The first name, last name and active
+     * flag are always updated, while the IAM user identifier, username and email address are set only if the user does
+     * not have them yet. The user is restored if it had been deleted.
+     *
+     * @param tenantId  Unique identifier of the tenant.
+     * @param iamUserId Unique identifier of the user in the IAM system (e.g., keycloak).
+     * @param email     Email address of the user.
+     * @param username  Username of the user.
+     * @param firstname First name of the user.
+     * @param lastname  Last name of the user.
+     * @param active    Boolean indicating if the user is active.
+     *
+     * @return Number of users updated i.e., 0 if there is no matching user, 1 otherwise.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE tenant_user SET firstname = :firstname, lastname = :lastname, active = :active, deleted = false,
+            iam_user_id = COALESCE(iam_user_id, CAST(:iamUserId AS uuid)),
+            username = COALESCE(NULLIF(username, ''), CAST(:username AS varchar), username),
+            email = COALESCE(NULLIF(email, ''), CAST(:email AS varchar), email)
+            WHERE id = (""" + TenantUserRepository.BEST_MATCH_QUERY + ")", nativeQuery = true)
+    int updateBestMatch(@Param("tenantId") UUID tenantId, @Param("iamUserId") UUID iamUserId,
+                        @Param("email") String email, @Param("username") String username,
+                        @Param("firstname") String firstname, @Param("lastname") String lastname,
+                        @Param("active") boolean active);
+
+    /**
+     * This method inserts a new user or, if a user with the same email address already exists in the tenant (e.g.,
+     * created concurrently), updates it like {@link #updateBestMatch} does, in a single statement.
+     *
+     * @param id        Unique identifier of the new user.
+     * @param tenantId  Unique identifier of the tenant.
+     * @param iamUserId Unique identifier of the user in the IAM system (e.g., keycloak).
+     * @param email     Email address of the user.
+     * @param username  Username of the user.
+     * @param firstname First name of the user.
+     * @param lastname  Last name of the user.
+     * @param active    Boolean indicating if the user is active.
+     *
+     * @return Number of users inserted or updated.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tenant_user (id, tenant_id, iam_user_id, username, email, firstname, lastname, active, locked,
+            deleted) VALUES (:id, :tenantId, CAST(:iamUserId AS uuid), :username, :email, :firstname, :lastname,
+            :active, false, false)
+            ON CONFLICT (tenant_id, email) DO UPDATE SET firstname = EXCLUDED.firstname,
+            lastname = EXCLUDED.lastname, active = EXCLUDED.active, deleted = false,
+            iam_user_id = COALESCE(tenant_user.iam_user_id, EXCLUDED.iam_user_id),
+            username = COALESCE(NULLIF(tenant_user.username, ''), EXCLUDED.username)""", nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("tenantId") UUID tenantId, @Param("iamUserId") UUID iamUserId,
+               @Param("email") String email, @Param("username") String username, @Param("firstname") String firstname,
+               @Param("lastname") String lastname, @Param("active") boolean active);
+
+    /**
+     * This method soft-deletes (i.e., marks as deleted, locked and inactive) the user that best matches the provided
+     * details (see {@link #findBestMatch(UUID, UUID, String, String)}) in a single statement. The IAM user identifier
+     * is set if the user does not have one yet.
+     *
+     * @param tenantId  Unique identifier of the tenant.
+     * @param iamUserId Unique identifier of the user in the IAM system (e.g., keycloak).
+     * @param email     Email address of the user.
+     * @param username  Username of the user.
+     *
+     * @return Number of users deleted i.e., 0 if there is no matching user, 1 otherwise.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE tenant_user SET deleted = true, locked = true, active = false,
+            iam_user_id = COALESCE(iam_user_id, CAST(:iamUserId AS uuid))
+            WHERE id = (""" + TenantUserRepository.BEST_MATCH_QUERY + ")", nativeQuery = true)
+    int softDeleteBestMatch(@Param("tenantId") UUID tenantId, @Param("iamUserId") UUID iamUserId,
+                            @Param("email") String email, @Param("username") String username);
+}
@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.executor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.KeyedEventExecutorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Executes tasks in the order in which they were submitted for a key (e.g., realm), while the tasks of different keys
+ * are executed in parallel.
+ * <p>
+ * Every key is assigned to one of a fixed number of lanes, each of which is a single thread with a bounded queue. As
+ * the tasks of a key always land on the same lane, they are executed one at a time and in order. When the queue of a
+ * lane is full, {@link #execute(String, Runnable)} blocks until there is space (i.e., backpressure on the producer)
+ * instead of dropping the task. The number of pending tasks and the time they waited in the queue are recorded per
+ * key.
+ * <p>
+ * The keys are spread over the shared lanes by their hash, hence unrelated keys share a lane and a slow key (e.g., a
+ * realm with a burst of events or a slow schema) delays the tasks of the other keys on its lane (head-of-line
+ * blocking). The {@code lane} tag of the lag timer shows which lane is affected. The number of shared lanes is
+ * configurable and the keys that are known to be slow can be given a lane of their own (see
+ * {@link KeyedEventExecutorProperties}).
+ */
+@Slf4j
+@Component
+public class KeyedEventExecutor implements DisposableBean {
+    /** Name of the gauge of the number of tasks of a key that are waiting or running. */
+    private static final String METRIC_PENDING = "revinciai.keycloak.sync.events.pending";
+
+    /** Name of the timer that records the time the tasks of a key waited before they were started. */
+    private static final String METRIC_LAG = "revinciai.keycloak.sync.events.lag";
+
+    /** Name of the tag that holds the key. */
+    private static final String TAG_KEY = "realm";
+
+    /** Maximum time to wait for the pending tasks on shutdown. */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    /** Name of the tag that holds the lane. */
+    private static final String TAG_LANE = "lane";
+
+    /** Shared lanes on which the tasks are executed. */
+    private final ThreadPoolExecutor[] lanes;
+
+    /** Lanes of the keys that have a lane of their own. */
+    private final Map<String, ThreadPoolExecutor> dedicatedLanes = new HashMap<>();
+
+    /** Number of tasks of every key that are waiting or running. */
+    private final Map<String, AtomicInteger> pendingTasks = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public KeyedEventExecutor(final KeyedEventExecutorProperties properties, final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("keyed-event-lane-");
+        this.lanes = new ThreadPoolExecutor[Math.max(1, properties.getLanes())];
+        for (int i = 0; i < lanes.length; ++i) {
+            lanes[i] = KeyedEventExecutor.newLane(properties, threadFactory);
+        }
+        for (final String key : properties.getDedicatedLaneKeys()) {
+            dedicatedLanes.put(key, KeyedEventExecutor.newLane(properties, threadFactory));
+        }
+        KeyedEventExecutor.LOGGER.info("Started {} shared and {} dedicated lanes with a capacity of {} tasks each",
+                                       lanes.length, dedicatedLanes.size(), properties.getQueueCapacity());
+    }
+
+    /**
+     * This method executes the provided task after the tasks of the same key that were submitted before it.
+     * <p>
+     * This method blocks while the lane of the key is full.
+     *
+     * @param key  Key of the task (e.g., realm).
+     * @param task Task to execute.
+     */
+    public void execute(@NonNull final String key, @NonNull final Runnable task) {
+        final AtomicInteger pending = pendingTasks.computeIfAbsent(key, k -> meterRegistry.gauge(
+                KeyedEventExecutor.METRIC_PENDING, Tags.of(KeyedEventExecutor.TAG_KEY, k), new AtomicInteger()));
+        final long submittedAt = System.nanoTime();
+        final String laneName = laneName(key);
+        pending.incrementAndGet();
+        try {
+            lane(key).execute(() -> {
+                meterRegistry.timer(KeyedEventExecutor.METRIC_LAG, KeyedEventExecutor.TAG_KEY, key,
+                                    KeyedEventExecutor.TAG_LANE, laneName)
+                        .record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } catch (final Exception e) {
+                    KeyedEventExecutor.LOGGER.error("Key: {}. Task failed. Error: {}", key, e.getMessage(), e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * This method executes the provided task like {@link #execute(String, Runnable)} does and makes its outcome
+     * available through the returned future.
+     *
+     * @param key  Key of the task (e.g., realm).
+     * @param task Task to execute.
+     * @param <T>  Type of the outcome of the task.
+     *
+     * @return A {@link CompletableFuture} that is completed with the outcome of the task.
+     */
+    public <T> CompletableFuture<T> submit(@NonNull final String key, @NonNull final Supplier<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        execute(key, () -> {
+            try {
+                future.complete(task.get());
+            } catch (final Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        final List<ThreadPoolExecutor> allLanes = new ArrayList<>(List.of(lanes));
+        allLanes.addAll(dedicatedLanes.values());
+        for (final ThreadPoolExecutor lane : allLanes) {
+            lane.shutdown();
+        }
+        for (final ThreadPoolExecutor lane : allLanes) {
+            if (!lane.awaitTermination(KeyedEventExecutor.SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                KeyedEventExecutor.LOGGER.warn("Lane did not finish the pending {} tasks", lane.getQueue()
+                        .size());
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    private ThreadPoolExecutor lane(final String key) {
+        final ThreadPoolExecutor dedicatedLane = dedicatedLanes.get(key);
+        return Objects.nonNull(dedicatedLane) ?
+                dedicatedLane :
+                lanes[Math.floorMod(key.hashCode(), lanes.length)];
+    }
+
+    private String laneName(final String key) {
+        return dedicatedLanes.containsKey(key) ?
+                key :
+                String.valueOf(Math.floorMod(key.hashCode(), lanes.length));
+    }
+
+    /**
+     * This method creates a lane i.e., a single thread with a bounded queue.
+     *
+     * @param properties    Settings of the lanes.
+     * @param threadFactory Factory of the thread of the lane.
+     *
+     * @return Lane.
+     */
+    private static ThreadPoolExecutor newLane(final KeyedEventExecutorProperties properties,
+                                              final CustomizableThreadFactory threadFactory) {
+        final ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                                                               new ArrayBlockingQueue<>(
+                                                                       Math.max(1, properties.getQueueCapacity())),
+                                                               threadFactory, KeyedEventExecutor.blockWhenFull());
+        // Start the thread now so that it does not inherit the (tenant) context of the first producer.
+        lane.prestartAllCoreThreads();
+        return lane;
+    }
+
+    /**
+     * This method returns a handler that waits for space in the queue of a lane, which makes the producer wait when
+     * the lane is full.
+     *
+     * @return Rejected execution handler of the lanes.
+     */
+    private static RejectedExecutionHandler blockWhenFull() {
+        return (task, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Lane has been shut down");
+            }
+            try {
+                executor.getQueue()
+                        .put(task);
+            } catch (final InterruptedException e) {
+                Thread.currentThread()
+                        .interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for space in the lane", e);
+            }
+        };
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.log.Instrumentation;
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.messaging.annotation.RetryableConsumer;
+import ai.revinci.platform.multitenancy.datasource.RoutingDataSource;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.AbstractEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmRoleEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmRoleMappingEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmUserEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.UserLoginEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.UserLogoutEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.enums.OperationType;
+import ai.revinci.platform.services.iam.keycloak.sync.service.KeycloakService;
+import ai.revinci.platform.services.iam.keycloak.sync.service.RoleService;
+import ai.revinci.platform.services.iam.keycloak.sync.service.UserService;
+
+/**
+ * Processes the events published by Keycloak i.e., applies the changes to the roles and users of a realm to the
+ * tenant-specific database.
+ * <p>
+ * The events are handed over by the {@link KeycloakEventHandler} on the lane of their realm, hence the events of a
+ * realm are processed one at a time and in the order in which they were received.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class KeycloakEventProcessor {
+    /** A routing data source instance of type {@link RoutingDataSource}. */
+    private final RoutingDataSource routingDataSource;
+
+    /** A service implementation of type {@link UserService}. */
+    private final UserService userService;
+
+    /** A service implementation of type {@link RoleService}. */
+    private final RoleService roleService;
+
+    /** A service implementation of type {@link KeycloakService}. */
+    private final KeycloakService keycloakService;
+
+    /** Reader of the events published by Keycloak. */
+    private final KeycloakEventReader keycloakEventReader;
+
+    /**
+     * This method processes the keycloak event carried in the provided message.
+     * <p>
+     * The payload of the message is the event read by the {@link KeycloakEventHandler}. The payload of a replayed
+     * (dead-lettered) message is the serialized event, which is read again.
+     *
+     * @param message Message carrying the keycloak event.
+     */
+    @Instrumentation
+    @RetryableConsumer
+    public void processEvent(final Message<?> message) {
+        final AbstractEvent<?> event = toEvent(message.getPayload());
+        if (Objects.isNull(event)) {
+            KeycloakEventProcessor.LOGGER.info("Operation / Resource type is missing. Ignoring the event");
+            return;
+        }
+
+        try {
+            // Get the realm and set it in the context. This determines the datasource to be picked up.
+            final String realm = event.getRealm();
+
+            // Does the routing datasource now have the new tenant? If not, let us not even move to the next steps as we
+            // know that they will lead to exceptions.
+            if (!routingDataSource.hasTenantDataSource(realm)) {
+                KeycloakEventProcessor.LOGGER.warn("Realm: {}. Datasource not found for tenant and realm combination",
+                                                   realm);
+                return;
+            }
+
+            if (StringUtils.isNotBlank(realm)) {
+                TenantContext.set(TenantRealm.builder()
+                                          .realm(realm)
+                                          .build());
+            }
+
+            if (event instanceof RealmRoleEvent realmRoleEvent) {
+                // Event pertaining to realm-role
+                handleRealmRoleEvent(realmRoleEvent);
+            } else if (event instanceof RealmRoleMappingEvent realmRoleMappingEvent) {
+                // Event pertaining to realm-role-mapping
+                handleRealmRoleMappingEvent(realmRoleMappingEvent);
+            } else if (event instanceof UserLoginEvent userLoginEvent) {
+                // Event pertaining to user login
+                handleUserLoginEvent(userLoginEvent);
+            } else if (event instanceof UserLogoutEvent userLogoutEvent) {
+                // Event pertaining to user logout
+                handleUserLogoutEvent(userLogoutEvent);
+            } else if (event instanceof RealmUserEvent realmUserEvent) {
+                // Event pertaining to realm-user
+                handleRealmUserEvent(realmUserEvent);
+            }
+        } finally {
+            // Clear the context.
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * This method returns the keycloak event in the provided payload.
+     *
+     * @param payload Payload of the message.
+     *
+     * @return Keycloak event or null if the payload does not carry a known event.
+     */
+    private AbstractEvent<?> toEvent(final Object payload) {
+        if (payload instanceof AbstractEvent<?> event) {
+            return event;
+        }
+        if (payload instanceof byte[] bytes) {
+            return keycloakEventReader.read(bytes);
+        }
+        if (payload instanceof String text) {
+            return keycloakEventReader.read(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    /**
+     * This method handles the event pertaining to realm roles.
+     *
+     * @param payload Realm role event.
+     */
+    private void handleRealmRoleEvent(final RealmRoleEvent payload) {
+        final String realm = payload.getRealm();
+        final OperationType operation = payload.getOperation();
+        KeycloakEventProcessor.LOGGER.info("Realm: {}. Processing {} operation for realm role data: {}", realm,
+                                           operation, payload);
+        if (OperationType.CREATE.equals(operation) || OperationType.UPDATE.equals(operation)) {
+            roleService.saveRole(payload);
+        } else if (OperationType.DELETE.equals(operation)) {
+            roleService.deleteRole(payload);
+        }
+    }
+
+    /**
+     * This method handles the event pertaining to realm-role mapping.
+     *
+     * @param payload Realm role mapping event.
+     */
+    private void handleRealmRoleMappingEvent(final RealmRoleMappingEvent payload) {
+        final String realm = payload.getRealm();
+        final OperationType operation = payload.getOperation();
+        KeycloakEventProcessor.LOGGER.info("Realm: {}. Processing {} operation for realm role mapping data: {}", realm,
+                                           operation, payload);
+        if (OperationType.CREATE.equals(operation)) {
+            userService.assignRolesToUser(payload);
+        } else if (OperationType.DELETE.equals(operation)) {
+            userService.unassignRolesFromUser(payload);
+        }
+    }
+
+    /**
+     * This method handles the event pertaining to realm users.
+     *
+     * @param payload Realm user event.
+     */
+    private void handleRealmUserEvent(final RealmUserEvent payload) {
+        final String realm = payload.getRealm();
+        final OperationType operation = payload.getOperation();
+        KeycloakEventProcessor.LOGGER.info("Realm: {}. Processing {} operation for user data: {}", realm, operation,
+                                           payload);
+        if (OperationType.CREATE.equals(operation) || OperationType.UPDATE.equals(operation)) {
+            // When creating a new user, we seem to miss the username and user-id. Let us reach out to keycloak and
+            // fetch the user details.
+            updateMissingUserInformation(realm, payload);
+            userService.saveUser(payload);
+        } else if (OperationType.DELETE.equals(operation)) {
+            userService.deleteUser(payload);
+        }
+    }
+
+    /**
+     * This method handles the event pertaining to user login.
+     *
+     * @param payload User login event.
+     */
+    private void handleUserLoginEvent(final UserLoginEvent payload) {
+        final String realm = payload.getRealm();
+        final OperationType operation = payload.getOperation();
+        KeycloakEventProcessor.LOGGER.info("Realm: {}. Processing {} operation for user login data: {}", realm,
+                                           operation, payload);
+        userService.updateUserLoginTime(payload);
+    }
+
+    /**
+     * This method handles the event pertaining to user logout.
+     *
+     * @param payload User logout event.
+     */
+    private void handleUserLogoutEvent(final UserLogoutEvent payload) {
+        final String realm = payload.getRealm();
+        final OperationType operation = payload.getOperation();
+        KeycloakEventProcessor.LOGGER.info("Realm: {}. Processing {} operation for user logout data: {}", realm,
+                                           operation, payload);
+        // TODO: Update the cache to reflect the user logout.
+    }
+
+    /**
+     * This method updates the missing user-information in the payload.
+     * <p>
+     * Whenever a new user is created in Keycloak, it fires an event and apparently, the {@code username} and {@code id}
+     * comes out as empty. This method tries to fetch the user from Keycloak and update the missing information.
+     *
+     * @param realm   Realm.
+     * @param payload Realm user event.
+     */
+    private void updateMissingUserInformation(final String realm, final RealmUserEvent payload) {
+        final RealmUserEvent.Data data = payload.getData();
+        if (StringUtils.isAnyBlank(data.getUsername(), data.getId())) {
+            KeycloakEventProcessor.LOGGER.warn("Realm: {}. No username or user-id in the event", realm);
+            final Optional<UserRepresentation> user = keycloakService.findKeycloakUser(realm, data.getEmail(),
+                                                                                       data.getFirstName(),
+                                                                                       data.getLastName());
+            if (user.isPresent()) {
+                final UserRepresentation matchingUser = user.get();
+                if (StringUtils.isBlank(data.getUsername()) && StringUtils.isNotBlank(matchingUser.getUsername())) {
+                    data.setUsername(matchingUser.getUsername());
+                    KeycloakEventProcessor.LOGGER.debug("Realm: {}. Updated username from keycloak", realm);
+                }
+                if (StringUtils.isBlank(data.getId()) && StringUtils.isNotBlank(matchingUser.getId())) {
+                    data.setId(matchingUser.getId());
+                    KeycloakEventProcessor.LOGGER.debug("Realm: {}. Updated user-id from keycloak", realm);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.handler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.enums.Key;
+import ai.revinci.platform.common.error.CommonErrors;
+import ai.revinci.platform.common.exception.ServiceException;
+import ai.revinci.platform.common.util.JsonUtils;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.AbstractEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmRoleEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmRoleMappingEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmUserEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.UserLoginEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.UserLogoutEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.enums.OperationType;
+import ai.revinci.platform.services.iam.keycloak.sync.enums.ResourceType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Reads the events published by Keycloak into the event type identified by their {@code resourceType} and
+ * {@code operation} fields, in a single pass over the payload.
+ * <p>
+ * The fields that precede the discriminators are buffered as tokens while the discriminators are looked up. The event
+ * is then bound from the buffered tokens followed by the rest of the payload, hence the payload is parsed only once. A
+ * reader is created once for every event type and reused.
+ */
+@Slf4j
+@Component
+public class KeycloakEventReader {
+    /** Factory of the streaming parsers. */
+    private final JsonFactory jsonFactory = JsonUtils.OBJECT_MAPPER.getFactory();
+
+    /** Readers of the event types. */
+    private final Map<Class<? extends AbstractEvent<?>>, ObjectReader> readers = Map.of(
+            RealmRoleEvent.class, JsonUtils.OBJECT_MAPPER.readerFor(RealmRoleEvent.class),
+            RealmRoleMappingEvent.class, JsonUtils.OBJECT_MAPPER.readerFor(RealmRoleMappingEvent.class),
+            RealmUserEvent.class, JsonUtils.OBJECT_MAPPER.readerFor(RealmUserEvent.class),
+            UserLoginEvent.class, JsonUtils.OBJECT_MAPPER.readerFor(UserLoginEvent.class),
+            UserLogoutEvent.class, JsonUtils.OBJECT_MAPPER.readerFor(UserLogoutEvent.class));
+
+    /**
+     * This method reads the provided payload into the event type identified by its {@code resourceType} and
+     * {@code operation} fields.
+     *
+     * @param payload Payload of the event published by Keycloak.
+     *
+     * @return Event or null if the payload does not carry a known operation and resource type.
+     */
+    public AbstractEvent<?> read(@NonNull final byte[] payload) {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                KeycloakEventReader.LOGGER.warn("Payload of the event is not a JSON object");
+                return null;
+            }
+
+            // 1. Buffer the fields until both the discriminators have been found.
+            final TokenBuffer buffer = new TokenBuffer(parser, null);
+            buffer.writeStartObject();
+            String operation = null;
+            String resourceType = null;
+            while ((Objects.isNull(operation) || Objects.isNull(resourceType))
+                    && parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                buffer.writeFieldName(fieldName);
+                parser.nextToken();
+                if (Key.OPERATION.value()
+                        .equals(fieldName)) {
+                    operation = parser.getValueAsString();
+                } else if (Key.RESOURCE_TYPE.value()
+                        .equals(fieldName)) {
+                    resourceType = parser.getValueAsString();
+                }
+                buffer.copyCurrentStructure(parser);
+            }
+
+            // 2. Resolve the event type.
+            final Class<? extends AbstractEvent<?>> eventType = eventType(
+                    EnumUtils.getEnum(OperationType.class, operation),
+                    EnumUtils.getEnum(ResourceType.class, resourceType));
+            if (Objects.isNull(eventType)) {
+                KeycloakEventReader.LOGGER.info("Operation ({}) / Resource type ({}) is missing or unknown", operation,
+                                                resourceType);
+                return null;
+            }
+
+            // 3. Bind the buffered fields followed by the remaining fields of the payload.
+            final ObjectReader reader = readers.get(eventType);
+            if (parser.currentToken() == JsonToken.END_OBJECT) {
+                // The whole payload has been buffered.
+                buffer.writeEndObject();
+                return reader.readValue(buffer.asParser());
+            }
+            return reader.readValue(JsonParserSequence.createFlattened(false, buffer.asParser(), parser));
+        } catch (final IOException e) {
+            KeycloakEventReader.LOGGER.error("Error while reading the keycloak event. Error: {}", e.getMessage(), e);
+            throw ServiceException.of(CommonErrors.JSON_DESERIALIZATION_FAILED);
+        }
+    }
+
+    /**
+     * This method returns the type of the event for the provided operation and resource type.
+     *
+     * @param operation    Operation of the event.
+     * @param resourceType Resource type of the event.
+     *
+     * @return Type of the event or null if either of them is missing.
+     */
+    private Class<? extends AbstractEvent<?>> eventType(final OperationType operation,
+                                                        final ResourceType resourceType) {
+        if (Objects.isNull(operation) || Objects.isNull(resourceType)) {
+            return null;
+        }
+
+        return switch (resourceType) {
+            case REALM_ROLE -> RealmRoleEvent.class;
+            case REALM_ROLE_MAPPING -> RealmRoleMappingEvent.class;
+            case USER -> switch (operation) {
+                case LOGIN -> UserLoginEvent.class;
+                case LOGOUT -> UserLogoutEvent.class;
+                default -> RealmUserEvent.class;
+            };
+        };
+    }
+}
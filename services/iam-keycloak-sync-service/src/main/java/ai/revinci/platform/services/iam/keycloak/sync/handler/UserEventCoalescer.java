@@ -0,0 +1,395 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.handler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.KeyedEventExecutorProperties;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.AbstractEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmUserEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.executor.KeyedEventExecutor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Dispatches the Keycloak events to the {@link KeycloakEventProcessor} on the lane of their realm, coalescing the
+ * successive create / update / delete events of a user.
+ * <p>
+ * A user event is held back for the coalescing window. The events of the same user that arrive within the window are
+ * merged into one net change (the latest state of the user, with the identifiers that the latest event lacks taken
+ * from the earlier events), which is then processed once. The events of a user are matched by any of its identifiers
+ * (id, username or email), as the create event of a user may not carry the id that the later events carry. Any other
+ * event of the realm flushes the held back user events of the realm before it is dispatched, so the order of the
+ * events of a realm is preserved.
+ * <p>
+ * The events are ordered under the lock of their realm, but handed over to the lanes after the lock is released, one
+ * thread at a time per realm. Hence, a full lane holds up only the thread that is handing over the events of the realm,
+ * while the other producers of the realm wait (without holding the lock) once the capacity of a lane is waiting to be
+ * handed over. The events flushed at the end of a coalescing window are handed over on a thread of their own, so that
+ * the flushes of the other realms are not held up.
+ */
+@Slf4j
+@Component
+public class UserEventCoalescer implements DisposableBean {
+    /** Name of the distribution summary of the number of events merged into a change. */
+    private static final String METRIC_COALESCED = "revinciai.keycloak.sync.events.coalesced";
+
+    /** Held back user events of every realm. */
+    private final Map<String, RealmUserEvents> realmUserEvents = new ConcurrentHashMap<>();
+
+    private final KeyedEventExecutor keyedEventExecutor;
+
+    private final KeycloakEventProcessor keycloakEventProcessor;
+
+    private final DistributionSummary coalescedEvents;
+
+    /** Time for which the user events are held back. */
+    private final Duration coalescingWindow;
+
+    /** Maximum number of events of a realm that wait to be handed over to its lane. */
+    private final int handOverCapacity;
+
+    /** Scheduler of the flushes at the end of the coalescing windows. */
+    private final ScheduledExecutorService scheduler;
+
+    /** Threads that hand over the events flushed at the end of the coalescing windows. */
+    private final ExecutorService handOverExecutor;
+
+    public UserEventCoalescer(final KeyedEventExecutor keyedEventExecutor,
+                              final KeycloakEventProcessor keycloakEventProcessor,
+                              final KeyedEventExecutorProperties properties, final MeterRegistry meterRegistry) {
+        this.keyedEventExecutor = keyedEventExecutor;
+        this.keycloakEventProcessor = keycloakEventProcessor;
+        this.coalescingWindow = properties.getUserEventCoalescingWindow();
+        this.handOverCapacity = Math.max(1, properties.getQueueCapacity());
+        this.coalescedEvents = DistributionSummary.builder(UserEventCoalescer.METRIC_COALESCED)
+                .description("Number of user events merged into a single change")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("user-event-coalescer-"));
+        this.handOverExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("user-event-hand-over-"));
+    }
+
+    /**
+     * This method dispatches the provided event to the lane of its realm, holding back the user events for the
+     * coalescing window.
+     * <p>
+     * This method blocks while the capacity of a lane is waiting to be handed over to the lane of the realm.
+     *
+     * @param message Message carrying the keycloak event.
+     */
+    public void dispatch(@NonNull final Message<AbstractEvent<?>> message) {
+        final AbstractEvent<?> event = message.getPayload();
+        final String realm = StringUtils.defaultString(event.getRealm());
+        final RealmUserEvents userEvents = realmUserEvents.computeIfAbsent(realm, k -> new RealmUserEvents());
+        final String[] identifiers = event instanceof RealmUserEvent userEvent ?
+                identifiers(userEvent) :
+                new String[0];
+
+        synchronized (userEvents) {
+            if (identifiers.length == 0 || coalescingWindow.isZero() || coalescingWindow.isNegative()) {
+                awaitHandOverSpace(userEvents);
+                // The held back user events of the realm go first.
+                collect(realm, userEvents);
+                userEvents.ready.addLast(message);
+            } else {
+                final String userKey = userKey(userEvents, identifiers);
+                userEvents.pending.merge(userKey, new PendingUserEvent(message), PendingUserEvent::merge);
+                if (!userEvents.flushScheduled) {
+                    userEvents.flushScheduled = true;
+                    scheduler.schedule(() -> flush(realm, true), coalescingWindow.toMillis(),
+                                       TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+        }
+        handOver(realm, userEvents);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        handOverExecutor.shutdown();
+        // Hand over the held back events before the lanes are shut down.
+        realmUserEvents.keySet()
+                .forEach(realm -> flush(realm, false));
+    }
+
+    /**
+     * This method flushes the held back user events of the provided realm.
+     *
+     * @param realm Realm of the user events.
+     * @param async True to hand over the events on a thread of their own, false to hand them over on this thread.
+     */
+    private void flush(final String realm, final boolean async) {
+        final RealmUserEvents userEvents = realmUserEvents.get(realm);
+        if (Objects.isNull(userEvents)) {
+            return;
+        }
+
+        try {
+            synchronized (userEvents) {
+                collect(realm, userEvents);
+            }
+            if (async) {
+                handOverExecutor.execute(() -> handOver(realm, userEvents));
+            } else {
+                handOver(realm, userEvents);
+            }
+        } catch (final Exception e) {
+            UserEventCoalescer.LOGGER.error("Realm: {}. Failed to flush the user events. Error: {}", realm,
+                                            e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method moves the held back user events of the provided realm to the events that are ready to be handed over
+     * to its lane. The caller must hold the lock of the provided {@code userEvents}.
+     *
+     * @param realm      Realm of the user events.
+     * @param userEvents Held back user events of the realm.
+     */
+    private void collect(final String realm, final RealmUserEvents userEvents) {
+        userEvents.flushScheduled = false;
+        if (userEvents.pending.isEmpty()) {
+            return;
+        }
+
+        int received = 0;
+        for (final PendingUserEvent pendingEvent : userEvents.pending.values()) {
+            received += pendingEvent.count;
+            coalescedEvents.record(pendingEvent.count);
+            userEvents.ready.addLast(pendingEvent.message);
+        }
+        final int changes = userEvents.pending.size();
+        userEvents.pending.clear();
+        userEvents.aliases.clear();
+
+        UserEventCoalescer.LOGGER.info("Realm: {}. Flushed {} user events as {} changes (collapsed {})", realm,
+                                       received, changes, received - changes);
+    }
+
+    /**
+     * This method hands over the events of the provided realm that are ready to its lane, in order, without holding
+     * the lock of the realm. If another thread is already handing over the events of the realm, it hands over these
+     * events as well.
+     *
+     * @param realm      Realm of the events.
+     * @param userEvents Events of the realm.
+     */
+    private void handOver(final String realm, final RealmUserEvents userEvents) {
+        synchronized (userEvents) {
+            if (userEvents.handingOver) {
+                return;
+            }
+            userEvents.handingOver = true;
+        }
+
+        try {
+            while (true) {
+                final Message<AbstractEvent<?>> message;
+                synchronized (userEvents) {
+                    message = userEvents.ready.pollFirst();
+                    if (Objects.isNull(message)) {
+                        userEvents.handingOver = false;
+                        return;
+                    }
+                    userEvents.notifyAll();
+                }
+                // Blocks while the lane is full.
+                keyedEventExecutor.execute(realm, () -> keycloakEventProcessor.processEvent(message));
+            }
+        } catch (final RejectedExecutionException e) {
+            synchronized (userEvents) {
+                UserEventCoalescer.LOGGER.error("Realm: {}. Lane rejected the events. Dropping {} events", realm,
+                                                userEvents.ready.size() + 1);
+                userEvents.ready.clear();
+                userEvents.handingOver = false;
+                userEvents.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * This method waits while the capacity of a lane is waiting to be handed over for the provided realm. The caller
+     * must hold the lock of the provided {@code userEvents}, which is released while waiting.
+     *
+     * @param userEvents Events of the realm.
+     */
+    private void awaitHandOverSpace(final RealmUserEvents userEvents) {
+        while (userEvents.handingOver && userEvents.ready.size() >= handOverCapacity) {
+            try {
+                userEvents.wait();
+            } catch (final InterruptedException e) {
+                Thread.currentThread()
+                        .interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting to hand over the event", e);
+            }
+        }
+    }
+
+    /**
+     * This method returns the identifiers of the user of the provided event i.e., its id in Keycloak, its username and
+     * its email, prefixed by their kind so that they do not clash.
+     *
+     * @param event User event.
+     *
+     * @return Identifiers of the user, which is empty if the event does not identify the user.
+     */
+    private String[] identifiers(final RealmUserEvent event) {
+        final RealmUserEvent.Data data = event.getData();
+        if (Objects.isNull(data)) {
+            return new String[0];
+        }
+        return Stream.of(identifier("id", data.getId()), identifier("username", data.getUsername()),
+                         identifier("email", data.getEmail()))
+                .filter(Objects::nonNull)
+                .toArray(String[]::new);
+    }
+
+    private String identifier(final String kind, final String value) {
+        return StringUtils.isBlank(value) ?
+                null :
+                kind.concat(":")
+                        .concat(value);
+    }
+
+    /**
+     * This method returns the key of the held back change of the user with the provided identifiers, i.e., the key of
+     * the change that any of the identifiers was seen with, or the first identifier if the user has no held back
+     * change. All the identifiers are then associated with the key. The caller must hold the lock of the provided
+     * {@code userEvents}.
+     *
+     * @param userEvents  Held back user events of the realm.
+     * @param identifiers Identifiers of the user.
+     *
+     * @return Key of the user.
+     */
+    private String userKey(final RealmUserEvents userEvents, final String[] identifiers) {
+        String userKey = identifiers[0];
+        for (final String identifier : identifiers) {
+            final String key = userEvents.aliases.get(identifier);
+            if (Objects.nonNull(key)) {
+                userKey = key;
+                break;
+            }
+        }
+        for (final String identifier : identifiers) {
+            userEvents.aliases.putIfAbsent(identifier, userKey);
+        }
+        return userKey;
+    }
+
+    /**
+     * Held back user events of a realm and the events that are ready to be handed over to its lane.
+     */
+    private static final class RealmUserEvents {
+        /** Net change of every user, in the order in which the users were first seen. */
+        private final Map<String, PendingUserEvent> pending = new LinkedHashMap<>();
+
+        /** Identifier (id, username or email) to key of the held back change of a user. */
+        private final Map<String, String> aliases = new HashMap<>();
+
+        /** Events that are ready to be handed over to the lane of the realm, in order. */
+        private final Deque<Message<AbstractEvent<?>>> ready = new ArrayDeque<>();
+
+        /** Flag indicating that a flush of the realm has been scheduled. */
+        private boolean flushScheduled;
+
+        /** Flag indicating that a thread is handing over the ready events to the lane of the realm. */
+        private boolean handingOver;
+    }
+
+    /**
+     * Net change of a user and the number of events merged into it.
+     */
+    private static final class PendingUserEvent {
+        private final Message<AbstractEvent<?>> message;
+
+        private final int count;
+
+        private PendingUserEvent(final Message<AbstractEvent<?>> message) {
+            this(message, 1);
+        }
+
+        private PendingUserEvent(final Message<AbstractEvent<?>> message, final int count) {
+            this.message = message;
+            this.count = count;
+        }
+
+        /**
+         * This method merges the provided (older) change with the provided (newer) change into a new change. The newer
+         * change wins, but the identifiers that it lacks are taken from the older one. Neither of the changes is
+         * modified.
+         *
+         * @param older Older change.
+         * @param newer Newer change.
+         *
+         * @return Merged change.
+         */
+        private static PendingUserEvent merge(final PendingUserEvent older, final PendingUserEvent newer) {
+            final RealmUserEvent newerEvent = (RealmUserEvent) newer.message.getPayload();
+            final RealmUserEvent.Data olderData = ((RealmUserEvent) older.message.getPayload()).getData();
+            final RealmUserEvent.Data newerData = newerEvent.getData();
+            final RealmUserEvent.Data mergedData = newerData.toBuilder()
+                    .id(StringUtils.defaultIfBlank(newerData.getId(), olderData.getId()))
+                    .username(StringUtils.defaultIfBlank(newerData.getUsername(), olderData.getUsername()))
+                    .email(StringUtils.defaultIfBlank(newerData.getEmail(), olderData.getEmail()))
+                    .build();
+            final AbstractEvent<?> mergedEvent = newerEvent.toBuilder()
+                    .data(mergedData)
+                    .build();
+            final Message<AbstractEvent<?>> mergedMessage = MessageBuilder.<AbstractEvent<?>>withPayload(mergedEvent)
+                    .copyHeaders(newer.message.getHeaders())
+                    .build();
+            return new PendingUserEvent(mergedMessage, older.count + newer.count);
+        }
+    }
+}
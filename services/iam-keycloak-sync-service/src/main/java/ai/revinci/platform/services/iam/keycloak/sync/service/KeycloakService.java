@@ -27,30 +27,40 @@ package ai.revinci.platform.services.iam.keycloak.sync.service;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
-import org.keycloak.admin.client.resource.UserResource;
+import org.keycloak.admin.client.resource.RoleResource;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.log.Instrumentation;
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
 import ai.revinci.platform.common.util.Strings;
 import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.KeycloakProperties;
+import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.RealmBootstrapProperties;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmRoleEvent;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmRoleMappingEvent;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmUserEvent;
@@ -65,6 +75,9 @@ public class KeycloakService implements ApplicationContextAware {
     /** A configuration properties of type {@link KeycloakProperties}. */
     private final KeycloakProperties keycloakProperties;
 
+    /** A configuration properties of type {@link RealmBootstrapProperties}. */
+    private final RealmBootstrapProperties realmBootstrapProperties;
+
     /** A service implementation of type {@link RoleService}. */
     private final RoleService roleService;
 
@@ -89,13 +102,16 @@ public class KeycloakService implements ApplicationContextAware {
      * This method is called from the realm provisioned event handler i.e., whenever a new tenant-specific realm has
      * been successfully provisioned, this method is called to synchronize the new roles and users from the Keycloak
      * server to the tenant-specific database.
+     * <p>
+     * The users are retrieved page by page and every page is written to the tenant-specific database in its own
+     * transaction by a bounded pool of workers. Hence, this method is deliberately not transactional. The role-mappings
+     * are retrieved upfront with one (paged) request per role rather than one request per user.
      *
      * @param tenantId Unique identifier of the tenant.
      * @param realm    Realm name from where the roles, users, role-mappings have to be synchronized to the
      *                 tenant-specific database.
      */
     @Instrumentation
-    @Transactional
     public void syncNewRealmRolesAndUsers(@NonNull final UUID tenantId, @NonNull final String realm) {
         // Get the Keycloak bean from application context.
         final Keycloak keycloak = applicationContext.getBean(Keycloak.class);
@@ -104,10 +120,14 @@ public class KeycloakService implements ApplicationContextAware {
         final RealmResource realmResource = keycloak.realm(realm);
 
         // 2. Sync the roles.
-        syncRoles(realm, realmResource);
+        final List<RoleRepresentation> roles = syncRoles(realm, realmResource);
+
+        // 3. Find the users mapped to each of the roles.
+        final Map<String, List<RealmRoleMappingEvent.Data>> roleMappings = findRoleMappings(realm, realmResource,
+                                                                                            roles);
 
-        // 3. Sync the users and user-role mappings.
-        syncUsers(tenantId, realm, realmResource);
+        // 4. Sync the users and user-role mappings.
+        syncUsers(tenantId, realm, realmResource, roleMappings);
     }
 
     /**
@@ -143,8 +163,10 @@ public class KeycloakService implements ApplicationContextAware {
      *
      * @param realm         Realm name from where the roles have to be synchronized to the tenant-specific database.
      * @param realmResource Resource representation of the {@code realm}.
+     *
+     * @return A {@link List} of {@link RoleRepresentation} that have been synchronized.
      */
-    private void syncRoles(final String realm, final RealmResource realmResource) {
+    private List<RoleRepresentation> syncRoles(final String realm, final RealmResource realmResource) {
         KeycloakService.LOGGER.info("Realm: {}. Retrieving realm roles", realm);
         // 1. Fetch the roles and filter the roles that need to be ignored.
         final List<RoleRepresentation> roles = realmResource.roles()
@@ -177,96 +199,163 @@ public class KeycloakService implements ApplicationContextAware {
 
         // 3. Sync permissions for the roles.
         roleService.assignAllPermissionsForRoles(realm, roleNames);
+
+        return roles;
+    }
+
+    /**
+     * This method attempts to find the users mapped to each of the provided {@code roles}, one (paged) request per
+     * role.
+     *
+     * @param realm         Realm name.
+     * @param realmResource Resource representation of the {@code realm}.
+     * @param roles         Roles whose user members have to be found.
+     *
+     * @return A {@link Map} where the key is the IAM user identifier and the value is the list of roles mapped to the
+     *         user.
+     */
+    private Map<String, List<RealmRoleMappingEvent.Data>> findRoleMappings(final String realm,
+                                                                           final RealmResource realmResource,
+                                                                           final List<RoleRepresentation> roles) {
+        final int pageSize = Math.max(1, realmBootstrapProperties.getPageSize());
+        final Map<String, List<RealmRoleMappingEvent.Data>> roleMappings = new HashMap<>();
+        for (final RoleRepresentation rr : roles) {
+            final RoleResource roleResource = realmResource.roles()
+                    .get(rr.getName());
+            final RealmRoleMappingEvent.Data roleMapping = RealmRoleMappingEvent.Data.builder()
+                    .roleId(rr.getId())
+                    .name(rr.getName())
+                    .build();
+
+            int first = 0;
+            List<UserRepresentation> members;
+            do {
+                members = roleResource.getUserMembers(Boolean.TRUE, first, pageSize);
+                members.forEach(m -> roleMappings.computeIfAbsent(m.getId(), k -> new ArrayList<>())
+                        .add(roleMapping));
+                first += members.size();
+            } while (members.size() == pageSize);
+
+            KeycloakService.LOGGER.info("Realm: {}. Role {} is mapped to {} users", realm, rr.getName(), first);
+        }
+
+        return roleMappings;
     }
 
     /**
      * This method attempts to synchronize the users from the Keycloak server to the tenant-specific database for the
      * provided {@code realm}.
+     * <p>
+     * The users are retrieved page by page. Every page is handed over to a bounded pool of workers, which write the
+     * users and their role-mappings to the tenant-specific database in one transaction per page. When all the workers
+     * are busy, the pages are written by the calling thread, which bounds the number of pages held in memory.
      *
      * @param tenantId      Unique identifier of the tenant.
      * @param realm         Realm name from where the users have to be synchronized to the tenant-specific database.
      * @param realmResource Resource representation of the {@code realm}.
+     * @param roleMappings  Roles mapped to the users, keyed by the IAM user identifier.
      */
-    private void syncUsers(final UUID tenantId, final String realm, final RealmResource realmResource) {
-        KeycloakService.LOGGER.info("Realm: {}. Retrieving realm users", realm);
-        // 1. Fetch the roles and filter the roles that need to be ignored.
-        final List<UserRepresentation> users = realmResource.users()
-                .list()
-                .stream()
-                .toList();
+    private void syncUsers(final UUID tenantId, final String realm, final RealmResource realmResource,
+                           final Map<String, List<RealmRoleMappingEvent.Data>> roleMappings) {
+        final int pageSize = Math.max(1, realmBootstrapProperties.getPageSize());
+        final int parallelism = Math.max(1, realmBootstrapProperties.getParallelism());
+        final int total = realmResource.users()
+                .count();
+        KeycloakService.LOGGER.info("Realm: {}. No of users to sync: {}", realm, total);
 
-        KeycloakService.LOGGER.info("Realm: {}. No of users to sync: {}", realm, users.size());
+        final long start = System.nanoTime();
+        final AtomicInteger synced = new AtomicInteger();
+        final List<Future<?>> pages = new ArrayList<>();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                                                                   new ArrayBlockingQueue<>(parallelism),
+                                                                   new CustomizableThreadFactory("realm-bootstrap-"),
+                                                                   new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            int first = 0;
+            List<UserRepresentation> users;
+            do {
+                users = realmResource.users()
+                        .list(first, pageSize);
+                first += users.size();
+                if (users.isEmpty()) {
+                    break;
+                }
 
-        // 2. Loop through the roles and sync them.
-        for (final UserRepresentation ur : users) {
-            final String maskedEmail = Strings.maskEmail(ur.getEmail());
-            final RealmUserEvent rue = RealmUserEvent.builder()
-                    .operation(OperationType.CREATE)
-                    .resourceType(ResourceType.USER)
-                    .realm(realm)
-                    .data(RealmUserEvent.Data.builder()
-                                  .id(ur.getId())
-                                  .username(ur.getUsername())
-                                  .firstName(ur.getFirstName())
-                                  .lastName(ur.getLastName())
-                                  .email(ur.getEmail())
-                                  .enabled(ur.isEnabled())
-                                  .build())
-                    .build();
-            KeycloakService.LOGGER.info("Realm: {}. Syncing user: {}", realm, maskedEmail);
-            userService.saveUser(rue);
-
-            // 3. Sync the user's role-mappings.
-            final UserResource userResource = realmResource.users()
-                    .get(ur.getId());
-            final List<RoleRepresentation> assignedRoles = userResource.roles()
-                    .realmLevel()
-                    .listAll();
-            if (CollectionUtils.isEmpty(assignedRoles)) {
-                KeycloakService.LOGGER.info("Realm: {}. No roles mapped to user {}", realm, maskedEmail);
-                continue;
+                final List<RealmUserEvent.Data> page = users.stream()
+                        .map(KeycloakService::toUserData)
+                        .toList();
+                pages.add(executor.submit(() -> {
+                    syncUsers(tenantId, realm, page, roleMappings);
+                    final int done = synced.addAndGet(page.size());
+                    final double seconds = Math.max(1L, System.nanoTime() - start) / 1e9;
+                    KeycloakService.LOGGER.info("Realm: {}. Synced {} of {} users ({} users/s)", realm, done, total,
+                                                String.format("%.1f", done / seconds));
+                }));
+            } while (users.size() == pageSize);
+
+            // Wait for all the pages to be written, failing on the first page that could not be written.
+            for (final Future<?> page : pages) {
+                page.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new IllegalStateException("Interrupted while syncing the users of realm " + realm, e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof final RuntimeException re) {
+                throw re;
             }
+            throw new IllegalStateException("Failed to sync the users of realm " + realm, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        KeycloakService.LOGGER.info("Realm: {}. Synced {} users in {} ms", realm, synced.get(),
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
 
-            KeycloakService.LOGGER.info("Realm: {}. Syncing {} role-mappings for user: {}", realm, assignedRoles.size(),
-                                        maskedEmail);
-            syncRoleMappings(realm, ur.getId(), ur.getEmail(), ur.getUsername(), assignedRoles);
+    /**
+     * This method attempts to write one page of users and their role-mappings to the tenant-specific database. As this
+     * runs on a worker thread, the tenant context is set for the duration of the write.
+     *
+     * @param tenantId     Unique identifier of the tenant.
+     * @param realm        Realm name to which the users belong.
+     * @param users        Users that need to be written.
+     * @param roleMappings Roles mapped to the users, keyed by the IAM user identifier.
+     */
+    private void syncUsers(final UUID tenantId, final String realm, final List<RealmUserEvent.Data> users,
+                           final Map<String, List<RealmRoleMappingEvent.Data>> roleMappings) {
+        final TenantRealm previous = TenantContext.get();
+        try {
+            TenantContext.set(TenantRealm.builder()
+                                      .realm(realm)
+                                      .tenantId(tenantId)
+                                      .build());
+            userService.saveUsers(realm, users, roleMappings);
+        } finally {
+            if (Objects.isNull(previous)) {
+                TenantContext.clear();
+            } else {
+                TenantContext.set(previous);
+            }
         }
     }
 
     /**
-     * This method attempts to synchronize the role-mappings for the provided combination of {@code userId},
-     * {@code email}, {@code username} and {@code userRoles}.
+     * This method converts the provided Keycloak user to the details of a {@link RealmUserEvent}.
      *
-     * @param realm     Realm name from where the role-mappings have to be synchronized to the tenant-specific
-     *                  database.
-     * @param userId    Unique identifier of the user.
-     * @param email     Email address of the user.
-     * @param username  Username of the user.
-     * @param userRoles List of roles mapped to the user.
+     * @param user Keycloak user that needs to be converted.
+     *
+     * @return Instance of type {@link RealmUserEvent.Data}.
      */
-    private void syncRoleMappings(final String realm, final String userId, final String email, final String username,
-                                  final List<RoleRepresentation> userRoles) {
-        KeycloakService.LOGGER.info("Realm: {}. Retrieving role mappings", realm);
-        // 1. Find the roles from the keycloak server, ignoring the roles we don't need & convert to experience models.
-        final List<RealmRoleMappingEvent.Data> roles = userRoles.stream()
-                .filter(rr -> !keycloakProperties.ignoreRole(
-                        rr.getName()))
-                .map(rr -> RealmRoleMappingEvent.Data.builder()
-                        .roleId(rr.getId())
-                        .name(rr.getName())
-                        .build())
-                .collect(Collectors.toList());
-
-        // 2. Sync this role-mapping
-        KeycloakService.LOGGER.info("Realm: {}. Syncing role-mapping for userId: {}", realm, userId);
-        userService.assignRolesToUser(RealmRoleMappingEvent.builder()
-                                              .operation(OperationType.CREATE)
-                                              .resourceType(ResourceType.REALM_ROLE_MAPPING)
-                                              .realm(realm)
-                                              .userId(userId)
-                                              .email(email)
-                                              .username(username)
-                                              .data(roles)
-                                              .build());
+    static RealmUserEvent.Data toUserData(final UserRepresentation user) {
+        return RealmUserEvent.Data.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .enabled(Boolean.TRUE.equals(user.isEnabled()))
+                .build();
     }
 }
@@ -0,0 +1,443 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.iam.keycloak.sync.service;
+
+import jakarta.ws.rs.NotFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.client.ICacheClient;
+import ai.revinci.platform.common.enums.PatternTemplate;
+import ai.revinci.platform.common.log.Instrumentation;
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.multitenancy.datasource.RoutingDataSource;
+import ai.revinci.platform.services.iam.keycloak.sync.configuration.properties.ReconciliationProperties;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmUserEvent;
+import ai.revinci.platform.services.iam.keycloak.sync.data.model.projection.TenantUserDigest;
+import ai.revinci.platform.services.iam.keycloak.sync.data.repository.TenantUserRepository;
+import ai.revinci.platform.services.iam.keycloak.sync.executor.KeyedEventExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Periodically reconciles the users of the tenant-specific databases with the users of the Keycloak server, so that
+ * users whose events were missed do not drift forever.
+ * <p>
+ * The Keycloak users of a realm are compared page by page against the local users using a digest of the synchronized
+ * details, which is computed by the database. Only the users that differ are written. Local users that are no longer
+ * in the Keycloak server are soft-deleted once the Keycloak server confirms that they do not exist.
+ * <p>
+ * The Keycloak calls and the comparison run on the scheduler thread. Only the writes run on the lane of the realm (see
+ * {@link KeyedEventExecutor}), so the events of the realm are held up for the duration of a write and not of a
+ * Keycloak round trip. A user whose local details were changed by an event after the comparison is left alone, as the
+ * event is more recent than the page. When several instances of the service run, a lock in Redis ensures that only
+ * one of them reconciles at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconciliationService implements ApplicationContextAware {
+    /** Name of the counter of the users changed by the reconciliation. */
+    private static final String METRIC_CHANGES = "revinciai.keycloak.sync.reconciliation.changes";
+
+    /** Name of the tag holding the realm. */
+    private static final String TAG_REALM = "realm";
+
+    /** Name of the tag holding the type of the change. */
+    private static final String TAG_TYPE = "type";
+
+    /** A configuration properties of type {@link ReconciliationProperties}. */
+    private final ReconciliationProperties reconciliationProperties;
+
+    /** Routing data source that knows the realms having a tenant-specific database. */
+    private final RoutingDataSource routingDataSource;
+
+    /** Executor that runs the tasks of a realm in order. */
+    private final KeyedEventExecutor keyedEventExecutor;
+
+    /** A service implementation of type {@link TenantService}. */
+    private final TenantService tenantService;
+
+    /** A service implementation of type {@link UserService}. */
+    private final UserService userService;
+
+    /** A repository implementation of type {@link TenantUserRepository}. */
+    private final TenantUserRepository tenantUserRepository;
+
+    /** Provider of the cache client that holds the reconciliation lock. */
+    private final ObjectProvider<ICacheClient> cacheClientProvider;
+
+    /** Registry in which the reconciliation metrics are recorded. */
+    private final MeterRegistry meterRegistry;
+
+    /** Application context. */
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(@NonNull final ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * This method reconciles the users of the configured realms (or all the realms having a tenant-specific database if
+     * none are configured). A failure in one realm does not stop the reconciliation of the other realms. The run is
+     * skipped if another instance of the service holds the reconciliation lock.
+     */
+    @Scheduled(cron = "${revinciai.platform.iam.keycloak.reconciliation.cron:0 0 * * * *}")
+    public void reconcile() {
+        final String lockOwner = UUID.randomUUID()
+                .toString();
+        if (!acquireLock(lockOwner)) {
+            ReconciliationService.LOGGER.info("Reconciliation is in progress on another instance. Skipping this run");
+            return;
+        }
+
+        try {
+            final Collection<String> realms = reconciliationProperties.getRealms()
+                    .isEmpty() ?
+                    routingDataSource.realms() :
+                    reconciliationProperties.getRealms();
+            for (final String realm : realms) {
+                try {
+                    reconcile(realm);
+                } catch (final Exception e) {
+                    ReconciliationService.LOGGER.error("Realm: {}. Failed to reconcile the users. Error: {}", realm,
+                                                       e.getMessage(), e);
+                }
+            }
+        } finally {
+            releaseLock(lockOwner);
+        }
+    }
+
+    /**
+     * This method reconciles the users of the provided {@code realm} with the users of the Keycloak server. At most
+     * {@link ReconciliationProperties#getMaxChangesPerRealm()} users are changed, the remaining changes are left to the
+     * next run.
+     *
+     * @param realm Realm whose users have to be reconciled.
+     */
+    @Instrumentation
+    public void reconcile(@NonNull final String realm) {
+        if (!routingDataSource.hasTenantDataSource(realm)) {
+            ReconciliationService.LOGGER.warn("Realm: {}. Datasource not found. Skipping the reconciliation", realm);
+            return;
+        }
+
+        final RealmResource realmResource = applicationContext.getBean(Keycloak.class)
+                .realm(realm);
+        final UUID tenantId = withTenant(realm, () -> tenantService.findByRealm(realm)
+                .getId());
+        final int pageSize = Math.max(1, reconciliationProperties.getPageSize());
+        final long start = System.nanoTime();
+
+        // 1. Compare the Keycloak users page by page and update the local users that differ.
+        final Set<UUID> keycloakUserIds = new HashSet<>();
+        int budget = Math.max(0, reconciliationProperties.getMaxChangesPerRealm());
+        int updated = 0;
+        int first = 0;
+        int pageSizeRead;
+        do {
+            final PageOutcome outcome = reconcilePage(realm, tenantId, realmResource, first, pageSize, budget);
+            keycloakUserIds.addAll(outcome.iamUserIds());
+            updated += outcome.updated();
+            budget -= outcome.updated();
+            pageSizeRead = outcome.iamUserIds()
+                    .size();
+            first += pageSizeRead;
+        } while (pageSizeRead == pageSize);
+
+        // 2. Delete the local users that are no longer in the Keycloak server.
+        final int deleted = deleteMissingUsers(realm, tenantId, realmResource, keycloakUserIds, budget);
+
+        meterRegistry.counter(ReconciliationService.METRIC_CHANGES, ReconciliationService.TAG_REALM, realm,
+                              ReconciliationService.TAG_TYPE, "updated")
+                .increment(updated);
+        meterRegistry.counter(ReconciliationService.METRIC_CHANGES, ReconciliationService.TAG_REALM, realm,
+                              ReconciliationService.TAG_TYPE, "deleted")
+                .increment(deleted);
+        ReconciliationService.LOGGER.info("Realm: {}. Reconciled {} users ({} updated, {} deleted) in {} ms", realm,
+                                          first, updated, deleted,
+                                          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * This method compares a page of Keycloak users with the local users and updates the local users that differ.
+     *
+     * @param realm         Realm whose users have to be reconciled.
+     * @param tenantId      Unique identifier of the tenant of the {@code realm}.
+     * @param realmResource Resource representation of the {@code realm}.
+     * @param first         Position of the first user of the page.
+     * @param pageSize      Number of users in a page.
+     * @param maxChanges    Maximum number of users that can be changed.
+     *
+     * @return Instance of type {@link PageOutcome}.
+     */
+    private PageOutcome reconcilePage(final String realm, final UUID tenantId, final RealmResource realmResource,
+                                      final int first, final int pageSize, final int maxChanges) {
+        // 1. Off the lane, fetch the page from the Keycloak server and find the users that differ.
+        final List<UserRepresentation> users = realmResource.users()
+                .list(first, pageSize);
+        final Set<UUID> iamUserIds = users.stream()
+                .map(u -> UUID.fromString(u.getId()))
+                .collect(Collectors.toSet());
+        if (iamUserIds.isEmpty()) {
+            return new PageOutcome(iamUserIds, 0);
+        }
+
+        final Map<UUID, String> digests = withTenant(realm, () -> findDigests(tenantId, iamUserIds));
+        final List<UserRepresentation> changedUsers = users.stream()
+                .filter(u -> !digest(u).equals(digests.get(UUID.fromString(u.getId()))))
+                .limit(maxChanges)
+                .toList();
+        if (changedUsers.isEmpty()) {
+            return new PageOutcome(iamUserIds, 0);
+        }
+
+        // 2. On the lane, write the users that have not been changed by an event since they were compared.
+        final int updated = inLane(realm, () -> {
+            final Map<UUID, String> currentDigests = findDigests(tenantId, changedUsers.stream()
+                    .map(u -> UUID.fromString(u.getId()))
+                    .collect(Collectors.toSet()));
+            final List<RealmUserEvent.Data> usersToSave = changedUsers.stream()
+                    .filter(u -> {
+                        final UUID iamUserId = UUID.fromString(u.getId());
+                        return Objects.equals(digests.get(iamUserId), currentDigests.get(iamUserId));
+                    })
+                    .map(KeycloakService::toUserData)
+                    .toList();
+            if (!usersToSave.isEmpty()) {
+                userService.saveUsers(realm, usersToSave, Collections.emptyMap());
+            }
+            return usersToSave.size();
+        });
+
+        return new PageOutcome(iamUserIds, updated);
+    }
+
+    /**
+     * This method soft-deletes the local users that are not in the provided {@code keycloakUserIds} and that the
+     * Keycloak server confirms do not exist (they may have been created after their page was compared).
+     *
+     * @param realm           Realm whose users have to be reconciled.
+     * @param tenantId        Unique identifier of the tenant of the {@code realm}.
+     * @param realmResource   Resource representation of the {@code realm}.
+     * @param keycloakUserIds Identifiers of the users found in the Keycloak server.
+     * @param maxChanges      Maximum number of users that can be deleted.
+     *
+     * @return Number of users deleted.
+     */
+    private int deleteMissingUsers(final String realm, final UUID tenantId, final RealmResource realmResource,
+                                   final Set<UUID> keycloakUserIds, final int maxChanges) {
+        // Off the lane, confirm with the Keycloak server that the users do not exist. Only the delete runs on the lane.
+        final List<UUID> missingUsers = withTenant(realm, () -> tenantUserRepository.findActiveIamUserIds(tenantId))
+                .stream()
+                .filter(id -> !keycloakUserIds.contains(id))
+                .filter(id -> isMissingInKeycloak(realmResource, id))
+                .limit(maxChanges)
+                .toList();
+        if (missingUsers.isEmpty()) {
+            return 0;
+        }
+
+        return inLane(realm, () -> userService.deleteUsers(realm, missingUsers));
+    }
+
+    /**
+     * This method finds the digests of the synchronized details of the local users whose IAM user identifier is one
+     * of the provided {@code iamUserIds}.
+     *
+     * @param tenantId   Unique identifier of the tenant.
+     * @param iamUserIds Unique identifiers of the users in the Keycloak server.
+     *
+     * @return A {@link Map} of the IAM user identifier to the digest of the user.
+     */
+    private Map<UUID, String> findDigests(final UUID tenantId, final Set<UUID> iamUserIds) {
+        return tenantUserRepository.findDigests(tenantId, iamUserIds)
+                .stream()
+                .collect(Collectors.toMap(TenantUserDigest::getIamUserId, TenantUserDigest::getDigest, (a, b) -> a));
+    }
+
+    /**
+     * This method checks if the user identified by {@code iamUserId} does not exist in the Keycloak server.
+     *
+     * @param realmResource Resource representation of the realm.
+     * @param iamUserId     Unique identifier of the user in the Keycloak server.
+     *
+     * @return True if the user does not exist, false otherwise.
+     */
+    private boolean isMissingInKeycloak(final RealmResource realmResource, final UUID iamUserId) {
+        try {
+            realmResource.users()
+                    .get(iamUserId.toString())
+                    .toRepresentation();
+            return false;
+        } catch (final NotFoundException e) {
+            return true;
+        }
+    }
+
+    /**
+     * This method computes the digest of the synchronized details of the provided Keycloak user, the same way the
+     * database does (see {@link TenantUserRepository#findDigests(UUID, Collection)}).
+     *
+     * @param user Keycloak user.
+     *
+     * @return Digest (MD5, hex encoded) of the synchronized details of the user.
+     */
+    private String digest(final UserRepresentation user) {
+        final String details = String.join("|", Objects.toString(user.getFirstName(), ""),
+                                           Objects.toString(user.getLastName(), ""),
+                                           Boolean.TRUE.equals(user.isEnabled()) ?
+                                                   "1" :
+                                                   "0");
+        return DigestUtils.md5DigestAsHex(details.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This method runs the provided task on the lane of the {@code realm}, with the tenant context of the realm, and
+     * waits for its outcome.
+     *
+     * @param realm Realm on whose lane the task has to run.
+     * @param task  Task to run.
+     * @param <T>   Type of the outcome of the task.
+     *
+     * @return Outcome of the task.
+     */
+    private <T> T inLane(final String realm, final Supplier<T> task) {
+        try {
+            return keyedEventExecutor.submit(realm, () -> withTenant(realm, task))
+                    .join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof final RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * This method runs the provided task on the current thread with the tenant context of the {@code realm}.
+     *
+     * @param realm Realm whose tenant context has to be set.
+     * @param task  Task to run.
+     * @param <T>   Type of the outcome of the task.
+     *
+     * @return Outcome of the task.
+     */
+    private <T> T withTenant(final String realm, final Supplier<T> task) {
+        TenantContext.set(TenantRealm.builder()
+                                  .realm(realm)
+                                  .build());
+        try {
+            return task.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * This method attempts to acquire the reconciliation lock for the provided {@code owner}. The lock expires after
+     * {@link ReconciliationProperties#getLockTimeout()} so that it is not held forever by an instance that died. If
+     * Redis is not configured, the lock is always acquired; if it is unavailable, the run is skipped.
+     *
+     * @param owner Unique identifier of this run.
+     *
+     * @return True if the lock was acquired, false otherwise.
+     */
+    private boolean acquireLock(final String owner) {
+        final ICacheClient cacheClient = cacheClientProvider.getIfAvailable();
+        if (Objects.isNull(cacheClient)) {
+            return true;
+        }
+        try {
+            return cacheClient.putIfAbsent(PatternTemplate.CACHE_KEY_RECONCILIATION_LOCK.value(), owner,
+                                           reconciliationProperties.getLockTimeout());
+        } catch (final Exception e) {
+            ReconciliationService.LOGGER.warn("Failed to acquire the reconciliation lock. Error: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * This method releases the reconciliation lock if it is still held by the provided {@code owner} (it may have
+     * expired and been acquired by another instance in the meantime).
+     *
+     * @param owner Unique identifier of this run.
+     */
+    private void releaseLock(final String owner) {
+        final ICacheClient cacheClient = cacheClientProvider.getIfAvailable();
+        if (Objects.isNull(cacheClient)) {
+            return;
+        }
+        final String lockKey = PatternTemplate.CACHE_KEY_RECONCILIATION_LOCK.value();
+        try {
+            if (cacheClient.get(lockKey, String.class)
+                    .filter(owner::equals)
+                    .isPresent()) {
+                cacheClient.delete(lockKey);
+            }
+        } catch (final Exception e) {
+            ReconciliationService.LOGGER.warn("Failed to release the reconciliation lock. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of the reconciliation of a page of users.
+     *
+     * @param iamUserIds Identifiers of the Keycloak users in the page.
+     * @param updated    Number of local users that were updated.
+     */
+    private record PageOutcome(Set<UUID> iamUserIds, int updated) {
+    }
+}
@@ -38,12 +38,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.log.Instrumentation;
-import ai.revinci.platform.security.data.model.persistence.PermissionEntity;
-import ai.revinci.platform.security.data.repository.PermissionRepository;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.experience.RealmRoleEvent;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.persistence.RoleEntity;
-import ai.revinci.platform.services.iam.keycloak.sync.data.model.persistence.RolePermissionEntity;
-import ai.revinci.platform.services.iam.keycloak.sync.data.model.persistence.RolePermissionId;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.persistence.TenantEntity;
 import ai.revinci.platform.services.iam.keycloak.sync.data.repository.RoleRepository;
 
@@ -54,9 +50,6 @@ public class RoleService {
     /** A repository implementation of type {@link RoleRepository}. */
     private final RoleRepository roleRepository;
 
-    /** A repository implementation of type {@link PermissionRepository}. */
-    private final PermissionRepository permissionRepository;
-
     /** A service implementation of type {@link TenantService}. */
     private final TenantService tenantService;
 
@@ -169,41 +162,10 @@ public class RoleService {
         final TenantEntity tenant = tenantService.findByRealm(realm);
         final UUID tenantId = tenant.getId();
 
-        // 3. Find the roles by names.
-        final Collection<RoleEntity> matchingRoles = roleRepository.findByNames(tenantId, roleNames);
-        if (matchingRoles.isEmpty()) {
-            RoleService.LOGGER.warn(
-                    "Tenant: {}. Realm: {}. Unable to find roles with names: {}. Cannot add permissions", tenantId,
-                    realm, roleNames);
-            return;
-        }
-
-        // 4. Find all the permissions in the system.
-        final Collection<PermissionEntity> permissions = permissionRepository.findAll();
-        if (permissions.isEmpty()) {
-            RoleService.LOGGER.warn("Tenant: {}. Realm: {}. No permissions defined in the system", tenantId, realm);
-            return;
-        }
-
-        // 5. Assign permissions to each of the roles.
-        matchingRoles.forEach(role -> {
-            role.getPermissions()
-                    .addAll(permissions.stream()
-                                    .map(pe -> RolePermissionEntity.builder()
-                                            .id(RolePermissionId.builder()
-                                                        .roleId(role.getId())
-                                                        .permissionCode(pe.getCode())
-                                                        .build())
-                                            .role(role)
-                                            .permission(pe)
-                                            .build())
-                                    .toList());
-        });
-
-        // 6. Save and flush the role-permission mappings.
-        RoleService.LOGGER.info("Tenant: {}. Realm: {}. Saving {} permissions to roles: {}", tenantId, realm,
-                                permissions.size(), roleNames);
-        roleRepository.saveAll(matchingRoles);
+        // 3. Grant all the permissions in the system to the roles in a single statement.
+        final int granted = roleRepository.grantAllPermissionsToRoles(tenantId, roleNames);
+        RoleService.LOGGER.info("Tenant: {}. Realm: {}. Saved {} role-permission mappings for roles: {}", tenantId,
+                                realm, granted, roleNames);
     }
 
     /**
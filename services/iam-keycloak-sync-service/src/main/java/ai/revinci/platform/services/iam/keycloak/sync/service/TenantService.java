@@ -25,6 +25,16 @@
 
 package ai.revinci.platform.services.iam.keycloak.sync.service;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,9 +44,21 @@ import lombok.extern.slf4j.Slf4j;
 import ai.revinci.platform.common.error.CommonErrors;
 import ai.revinci.platform.common.exception.ServiceException;
 import ai.revinci.platform.common.log.Instrumentation;
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.multitenancy.datasource.RoutingDataSource;
 import ai.revinci.platform.services.iam.keycloak.sync.data.model.persistence.TenantEntity;
 import ai.revinci.platform.services.iam.keycloak.sync.data.repository.TenantRepository;
 
+/**
+ * Resolves the tenant of a realm.
+ * <p>
+ * As the realm to tenant mapping practically never changes, the resolved tenant identifiers are cached (the cache is
+ * warmed at startup for all the realms having a data source) and the callers get a reference to the tenant, which does
+ * not hit the database. Realms that do not have a tenant are cached as such for a short while, so that a storm of
+ * events from an unregistered realm does not hit the database for every event. The entry of a realm is evicted when
+ * its tenant gets provisioned.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Service
@@ -44,8 +66,21 @@ public class TenantService {
     /** A repository implementation of type {@link TenantRepository}. */
     private final TenantRepository tenantRepository;
 
+    /** Routing data source that knows the realms having a tenant-specific database. */
+    private final RoutingDataSource routingDataSource;
+
+    /** Cache of the realm to tenant mappings. */
+    private final Map<String, CachedTenant> tenants = new ConcurrentHashMap<>();
+
+    /** Duration for which a realm that does not have a tenant is remembered as such. */
+    @Value("${revinciai.platform.iam.keycloak.tenant-cache.negative-ttl:PT1M}")
+    private Duration negativeTtl;
+
     /**
      * Retrieves the tenant details based on the realm name.
+     * <p>
+     * The returned tenant is a reference (i.e., only its identifier is guaranteed to be loaded) unless the realm is
+     * resolved for the first time.
      *
      * @param realm Realm name.
      *
@@ -54,7 +89,75 @@ public class TenantService {
     @Instrumentation
     @Transactional(readOnly = true)
     public TenantEntity findByRealm(final String realm) {
-        return tenantRepository.findByRealmName(realm)
-                .orElseThrow(() -> ServiceException.of(CommonErrors.TENANT_REALM_NOT_FOUND, realm));
+        final CachedTenant cachedTenant = tenants.get(realm);
+        if (Objects.nonNull(cachedTenant) && !cachedTenant.isExpired()) {
+            if (Objects.isNull(cachedTenant.tenantId())) {
+                throw ServiceException.of(CommonErrors.TENANT_REALM_NOT_FOUND, realm);
+            }
+            return tenantRepository.getReferenceById(cachedTenant.tenantId());
+        }
+
+        final Optional<TenantEntity> tenant = tenantRepository.findByRealmName(realm);
+        tenants.put(realm, tenant.map(t -> CachedTenant.of(t.getId()))
+                .orElseGet(() -> CachedTenant.missing(negativeTtl)));
+        return tenant.orElseThrow(() -> ServiceException.of(CommonErrors.TENANT_REALM_NOT_FOUND, realm));
+    }
+
+    /**
+     * Evicts the cached tenant of the provided {@code realm}, so that it is resolved from the database the next time.
+     * This is called whenever the tenant of a realm gets provisioned.
+     *
+     * @param realm Realm name.
+     */
+    public void evict(final String realm) {
+        if (Objects.nonNull(realm) && Objects.nonNull(tenants.remove(realm))) {
+            TenantService.LOGGER.info("Realm: {}. Evicted the cached tenant", realm);
+        }
+    }
+
+    /**
+     * This method warms the cache with the tenants of all the realms having a data source.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int warmed = 0;
+        for (final String realm : routingDataSource.realms()) {
+            try {
+                TenantContext.set(TenantRealm.builder()
+                                          .realm(realm)
+                                          .build());
+                final Optional<TenantEntity> tenant = tenantRepository.findByRealmName(realm);
+                if (tenant.isPresent()) {
+                    tenants.put(realm, CachedTenant.of(tenant.get()
+                                                               .getId()));
+                    ++warmed;
+                }
+            } catch (final Exception e) {
+                TenantService.LOGGER.warn("Realm: {}. Unable to resolve the tenant. Error: {}", realm, e.getMessage());
+            } finally {
+                TenantContext.clear();
+            }
+        }
+        TenantService.LOGGER.info("Cached the tenants of {} realms", warmed);
+    }
+
+    /**
+     * A cached realm to tenant mapping.
+     *
+     * @param tenantId  Unique identifier of the tenant or null if the realm does not have a tenant.
+     * @param expiresAt Time (epoch millis) after which the mapping has to be resolved again.
+     */
+    private record CachedTenant(UUID tenantId, long expiresAt) {
+        static CachedTenant of(final UUID tenantId) {
+            return new CachedTenant(tenantId, Long.MAX_VALUE);
+        }
+
+        static CachedTenant missing(final Duration ttl) {
+            return new CachedTenant(null, System.currentTimeMillis() + ttl.toMillis());
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
     }
-}
\ No newline at end of file
+}
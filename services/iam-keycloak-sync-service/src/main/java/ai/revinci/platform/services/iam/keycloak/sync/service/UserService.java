@@ -25,11 +25,17 @@
 
 package ai.revinci.platform.services.iam.keycloak.sync.service;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
@@ -81,18 +87,14 @@ public class UserService {
         final String username = loginData.getUsername();
         final String userId = loginData.getUserId();
 
-        // Is there a user with this tenant?
-        final Optional<TenantUserEntity> matchingUser = findMatchingUser(tenantId, userId, email, username);
-        if (matchingUser.isPresent()) {
-            final TenantUserEntity user = matchingUser.get();
-            UserService.LOGGER.info("Tenant: {}. Realm: {}. Updating last login time for user: {}", tenantId, realm,
-                                    user.getId());
-            user.setLastLogin(loginData.getLoginTime());
-            if (Objects.isNull(user.getIamUserId()) && StringUtils.isNotBlank(userId)) {
-                user.setIamUserId(UUID.fromString(userId));
-            }
-
-            tenantUserRepository.saveAndFlush(user);
+        // Update the best matching user of this tenant (if any) in a single statement.
+        final int updated = tenantUserRepository.updateLastLoginOfBestMatch(tenantId, toUUID(userId),
+                                                                            StringUtils.trimToNull(email),
+                                                                            StringUtils.trimToNull(username),
+                                                                            loginData.getLoginTime());
+        if (updated > 0) {
+            UserService.LOGGER.info("Tenant: {}. Realm: {}. Updated last login time for user: {}", tenantId, realm,
+                                    userId);
         } else {
             UserService.LOGGER.warn(
                     "Tenant: {}. Realm: {}. Unable to find user with email: {} / username: {} / iam user id: {}",
@@ -123,47 +125,159 @@ public class UserService {
         final String lastname = userData.getLastName();
         final boolean enabled = userData.isEnabled();
 
-        // Is there a user with this tenant?
-        final TenantUserEntity user;
-        final Optional<TenantUserEntity> matchingUser = findMatchingUser(tenantId, userId, email, username);
-        if (matchingUser.isPresent()) {
-            user = matchingUser.get();
-            // We will update only the firstname, lastname and enabled fields. We will update username and email only if
-            // they are not already set.
-            user.setFirstname(firstname);
-            user.setLastname(lastname);
-            user.setActive(enabled);
-            user.setDeleted(false);
-            if (Objects.isNull(user.getIamUserId()) && StringUtils.isNotBlank(userId)) {
-                user.setIamUserId(UUID.fromString(userId));
-            }
-            if (StringUtils.isNotBlank(username) && StringUtils.isBlank(user.getUsername())) {
-                user.setUsername(username);
+        UserService.LOGGER.info("Tenant: {}. Realm: {}. Saving user details for iam user id: {}", tenantId, realm,
+                                userId);
+
+        // Update the best matching user of this tenant (if any). We will update only the firstname, lastname and
+        // enabled fields. We will update username and email only if they are not already set.
+        final UUID iamUserId = toUUID(userId);
+        final int updated = tenantUserRepository.updateBestMatch(tenantId, iamUserId, StringUtils.trimToNull(email),
+                                                                 StringUtils.trimToNull(username), firstname,
+                                                                 lastname, enabled);
+        if (updated == 0) {
+            // There is no such user, insert it. A user with the same email created in the meantime is updated instead.
+            tenantUserRepository.upsert(UUID.randomUUID(), tenantId, iamUserId, email, username, firstname, lastname,
+                                        enabled);
+        }
+    }
+
+    /**
+     * Saves the details and the role-mappings of the provided users of a realm in one transaction.
+     * <p>
+     * Unlike {@link #saveUser(RealmUserEvent)}, which handles one user at a time, this method is meant for bulk
+     * synchronization (e.g., when a realm is bootstrapped). The existing users and the mapped roles are looked up with
+     * one query each and the changes are written in JDBC batches when the transaction is flushed.
+     *
+     * @param realm        Realm to which the users belong.
+     * @param users        Details of the users that need to be saved.
+     * @param roleMappings Roles mapped to the users, keyed by the IAM user identifier. Users without an entry do not
+     *                     have any roles mapped to them.
+     */
+    @Instrumentation
+    @Transactional
+    public void saveUsers(final String realm, final List<RealmUserEvent.Data> users,
+                          final Map<String, List<RealmRoleMappingEvent.Data>> roleMappings) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        // Does the realm exist?
+        final TenantEntity tenant = tenantService.findByRealm(realm);
+        final UUID tenantId = tenant.getId();
+
+        // 1. Find the existing users in one query and index them by the details we match on.
+        final Map<UUID, TenantUserEntity> usersByIamUserId = new HashMap<>();
+        final Map<String, TenantUserEntity> usersByEmail = new HashMap<>();
+        final Map<String, TenantUserEntity> usersByUsername = new HashMap<>();
+        final Set<UUID> iamUserIds = users.stream()
+                .map(u -> toUUID(u.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final Set<String> emails = nonBlankValues(users, RealmUserEvent.Data::getEmail);
+        final Set<String> usernames = nonBlankValues(users, RealmUserEvent.Data::getUsername);
+        final List<TenantUserEntity> existingUsers = tenantUserRepository.findMatchingUsers(tenantId, iamUserIds,
+                                                                                            emails, usernames);
+        existingUsers.forEach(u -> index(u, usersByIamUserId, usersByEmail, usersByUsername));
+
+        // 2. Find the mapped roles in one query.
+        final Set<UUID> iamRoleIds = users.stream()
+                .flatMap(u -> roleMappings.getOrDefault(u.getId(), Collections.emptyList())
+                        .stream())
+                .map(rm -> UUID.fromString(rm.getRoleId()))
+                .collect(Collectors.toSet());
+        final Map<UUID, RoleEntity> roles = iamRoleIds.isEmpty() ?
+                Collections.emptyMap() :
+                roleRepository.findByIamRoleIds(tenantId, iamRoleIds)
+                        .stream()
+                        .collect(Collectors.toMap(RoleEntity::getIamRoleId, Function.identity()));
+
+        // 3. Create or update the users and their role-mappings.
+        for (final RealmUserEvent.Data userData : users) {
+            final UUID iamUserId = toUUID(userData.getId());
+            final String email = userData.getEmail();
+            final String username = userData.getUsername();
+
+            TenantUserEntity user = Optional.ofNullable(usersByIamUserId.get(iamUserId))
+                    .or(() -> Optional.ofNullable(usersByEmail.get(StringUtils.trimToNull(email))))
+                    .or(() -> Optional.ofNullable(usersByUsername.get(StringUtils.trimToNull(username))))
+                    .orElse(null);
+            if (Objects.isNull(user)) {
+                user = TenantUserEntity.builder()
+                        .tenant(tenant)
+                        .iamUserId(iamUserId)
+                        .username(username)
+                        .email(email)
+                        .firstname(userData.getFirstName())
+                        .lastname(userData.getLastName())
+                        .active(userData.isEnabled())
+                        .locked(false)
+                        .deleted(false)
+                        .build();
+                // Persisting assigns the identifier, which the role-mappings need. The insert itself is deferred.
+                tenantUserRepository.save(user);
+                index(user, usersByIamUserId, usersByEmail, usersByUsername);
+            } else {
+                // We will update only the firstname, lastname and enabled fields. We will update username and email
+                // only if they are not already set.
+                user.setFirstname(userData.getFirstName());
+                user.setLastname(userData.getLastName());
+                user.setActive(userData.isEnabled());
+                user.setDeleted(false);
+                if (Objects.isNull(user.getIamUserId())) {
+                    user.setIamUserId(iamUserId);
+                }
+                if (StringUtils.isNotBlank(username) && StringUtils.isBlank(user.getUsername())) {
+                    user.setUsername(username);
+                }
+                if (StringUtils.isNotBlank(email) && StringUtils.isBlank(user.getEmail())) {
+                    user.setEmail(email);
+                }
             }
-            if (StringUtils.isNotBlank(email) && StringUtils.isBlank(user.getEmail())) {
-                user.setEmail(email);
+
+            for (final RealmRoleMappingEvent.Data roleMapping : roleMappings.getOrDefault(userData.getId(),
+                                                                                          Collections.emptyList())) {
+                final UUID iamRoleId = UUID.fromString(roleMapping.getRoleId());
+                final RoleEntity role = roles.get(iamRoleId);
+                if (Objects.isNull(role)) {
+                    UserService.LOGGER.warn("Tenant: {}. Realm: {}. Unable to find role with iam role id: {}", tenantId,
+                                            realm, iamRoleId);
+                    continue;
+                }
+
+                user.addRoleIfAbsent(iamRoleId, role);
             }
+        }
 
-        } else {
-            user = TenantUserEntity.builder()
-                    .tenant(tenant)
-                    .iamUserId(StringUtils.isBlank(userId) ?
-                                       null :
-                            UUID.fromString(userId))
-                    .username(username)
-                    .email(email)
-                    .firstname(firstname)
-                    .lastname(lastname)
-                    .active(enabled)
-                    .locked(false)
-                    .deleted(false)
-                    .build();
+        // 4. Write the changes.
+        tenantUserRepository.flush();
+
+        UserService.LOGGER.info("Tenant: {}. Realm: {}. Saved {} users ({} already existed)", tenantId, realm,
+                                users.size(), existingUsers.size());
+    }
+
+    /**
+     * Deletes (soft-delete) the users of a realm whose IAM user identifier is one of the provided
+     * {@code iamUserIds}, in a single statement.
+     *
+     * @param realm      Realm to which the users belong.
+     * @param iamUserIds Unique identifiers of the users in the IAM system (e.g., keycloak).
+     *
+     * @return Number of users deleted.
+     */
+    @Instrumentation
+    @Transactional
+    public int deleteUsers(final String realm, final Collection<UUID> iamUserIds) {
+        if (iamUserIds.isEmpty()) {
+            return 0;
         }
 
-        UserService.LOGGER.info("Tenant: {}. Realm: {}. Saving user details for iam user id: {}", tenantId, realm,
-                                userId);
+        // Does the realm exist?
+        final TenantEntity tenant = tenantService.findByRealm(realm);
+        final UUID tenantId = tenant.getId();
 
-        tenantUserRepository.saveAndFlush(user);
+        final int deleted = tenantUserRepository.softDeleteByIamUserIds(tenantId, iamUserIds);
+        UserService.LOGGER.info("Tenant: {}. Realm: {}. Soft-deleted {} users", tenantId, realm, deleted);
+        return deleted;
     }
 
     /**
@@ -183,25 +297,15 @@ public class UserService {
         // If we reach here, the tenant exists.
         final RealmUserEvent.Data userData = event.getData();
         final String userId = userData.getId();
-        final String email = userData.getUsername();
-        final String username = userData.getEmail();
-
-        // Is there a user with this tenant?
-        final TenantUserEntity user;
-        final Optional<TenantUserEntity> matchingUser = findMatchingUser(tenantId, userId, email, username);
-        if (matchingUser.isPresent()) {
-            user = matchingUser.get();
-            // We will update only the firstname, lastname and enabled fields.
-            user.setDeleted(true);
-            user.setLocked(true);
-            user.setActive(false);
-            if (Objects.isNull(user.getIamUserId()) && StringUtils.isNotBlank(userId)) {
-                user.setIamUserId(UUID.fromString(userId));
-            }
-
-            UserService.LOGGER.info("Tenant: {}. Realm: {}. Soft-deleting user with id: {}", tenantId, realm, userId);
+        final String username = userData.getUsername();
+        final String email = userData.getEmail();
 
-            tenantUserRepository.saveAndFlush(user);
+        // Soft-delete the best matching user of this tenant (if any) in a single statement.
+        final int deleted = tenantUserRepository.softDeleteBestMatch(tenantId, toUUID(userId),
+                                                                     StringUtils.trimToNull(email),
+                                                                     StringUtils.trimToNull(username));
+        if (deleted > 0) {
+            UserService.LOGGER.info("Tenant: {}. Realm: {}. Soft-deleted user with id: {}", tenantId, realm, userId);
         } else {
             UserService.LOGGER.warn("Tenant: {}. Realm: {}. Unable to find user with id: {}", tenantId, realm, userId);
         }
@@ -231,25 +335,12 @@ public class UserService {
         final TenantEntity tenant = tenantService.findByRealm(realm);
         final UUID tenantId = tenant.getId();
 
-        // If we reach here, the tenant exists. Find all users who have the role assigned to them within this tenant.
-        final List<TenantUserEntity> users = tenantUserRepository.findUsersAssignedToIamRoleId(tenantId, iamRoleId);
-        if (!users.isEmpty()) {
-            UserService.LOGGER.info("Tenant: {}. Realm: {}. Role {} is assigned to {} users", tenantId, realm,
-                                    iamRoleId, users.size());
-            final List<TenantUserEntity> updatedUsers = new ArrayList<>();
-            for (final TenantUserEntity user : users) {
-                if (user.removeRoleIfPresent(iamRoleId)) {
-                    UserService.LOGGER.info("Tenant: {}. Realm: {}. Removed role {} from the user {}", tenantId, realm,
-                                            iamRoleId, user.getId());
-                    updatedUsers.add(user);
-                }
-            }
-            if (!updatedUsers.isEmpty()) {
-                UserService.LOGGER.info("Tenant: {}. Realm: {}. Removed role {} from {} users", tenantId, realm,
-                                        iamRoleId, updatedUsers.size());
-
-                tenantUserRepository.saveAllAndFlush(updatedUsers);
-            }
+        // If we reach here, the tenant exists. Remove the role from all users who have it assigned to them within
+        // this tenant.
+        final int removed = tenantUserRepository.unassignIamRoleIdFromUsers(tenantId, iamRoleId);
+        if (removed > 0) {
+            UserService.LOGGER.info("Tenant: {}. Realm: {}. Removed role {} from {} users", tenantId, realm, iamRoleId,
+                                    removed);
         } else {
             UserService.LOGGER.info("Tenant: {}. Realm: {}. Iam role id {} is not assigned to any users", tenantId,
                                     realm, iamRoleId);
@@ -269,7 +360,8 @@ public class UserService {
     }
 
     /**
-     * Finds a user based on the provided user details.
+     * Finds a user based on the provided user details, in a single query. A match on the IAM user identifier takes
+     * priority over a match on the email address, which takes priority over a match on the username.
      *
      * @param tenantId  Unique identifier of the tenant.
      * @param iamUserId Unique identifier of the user in the IAM system (Keycloak).
@@ -281,21 +373,61 @@ public class UserService {
      */
     private Optional<TenantUserEntity> findMatchingUser(final UUID tenantId, final String iamUserId, final String email,
                                                         final String username) {
-        Optional<TenantUserEntity> matchingUser = Optional.empty();
+        return tenantUserRepository.findBestMatch(tenantId, toUUID(iamUserId), StringUtils.trimToNull(email),
+                                                  StringUtils.trimToNull(username))
+                .stream()
+                .findFirst();
+    }
 
-        if (StringUtils.isNotBlank(iamUserId)) {
-            matchingUser = tenantUserRepository.findByIamUserId(tenantId, UUID.fromString(iamUserId));
-        }
+    /**
+     * Collects the non-blank values of the provided {@code users} extracted by the {@code extractor}.
+     *
+     * @param users     Details of the users.
+     * @param extractor Function that extracts the value from the details of a user.
+     *
+     * @return A {@link Set} containing the non-blank values.
+     */
+    private Set<String> nonBlankValues(final List<RealmUserEvent.Data> users,
+                                       final Function<RealmUserEvent.Data, String> extractor) {
+        return users.stream()
+                .map(extractor)
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toSet());
+    }
 
-        if (matchingUser.isEmpty() && StringUtils.isNotBlank(email)) {
-            matchingUser = tenantUserRepository.findByEmail(tenantId, email);
+    /**
+     * Indexes the provided {@code user} by its IAM user identifier, email address and username.
+     *
+     * @param user             User that needs to be indexed.
+     * @param usersByIamUserId Users indexed by their IAM user identifier.
+     * @param usersByEmail     Users indexed by their email address.
+     * @param usersByUsername  Users indexed by their username.
+     */
+    private void index(final TenantUserEntity user, final Map<UUID, TenantUserEntity> usersByIamUserId,
+                       final Map<String, TenantUserEntity> usersByEmail,
+                       final Map<String, TenantUserEntity> usersByUsername) {
+        if (Objects.nonNull(user.getIamUserId())) {
+            usersByIamUserId.putIfAbsent(user.getIamUserId(), user);
         }
-
-        if (matchingUser.isEmpty() && StringUtils.isNotBlank(username)) {
-            matchingUser = tenantUserRepository.findByUsername(tenantId, username);
+        if (StringUtils.isNotBlank(user.getEmail())) {
+            usersByEmail.putIfAbsent(user.getEmail(), user);
         }
+        if (StringUtils.isNotBlank(user.getUsername())) {
+            usersByUsername.putIfAbsent(user.getUsername(), user);
+        }
+    }
 
-        return matchingUser;
+    /**
+     * Converts the provided IAM identifier to a {@link UUID}.
+     *
+     * @param iamId IAM identifier that needs to be converted.
+     *
+     * @return The {@link UUID} or null if the provided {@code iamId} is blank.
+     */
+    private UUID toUUID(final String iamId) {
+        return StringUtils.isBlank(iamId) ?
+                null :
+                UUID.fromString(iamId);
     }
 
     /**
@@ -38,12 +38,16 @@ import org.springframework.messaging.Message;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl;
+import ai.revinci.platform.messaging.data.model.persistence.ProcessedMessageEntity;
+import ai.revinci.platform.messaging.data.repository.ProcessedMessageRepository;
 import ai.revinci.platform.multitenancy.annotation.EnableMultiTenancy;
 import ai.revinci.platform.notification.annotation.EnableAsyncNotification;
 import ai.revinci.platform.security.data.model.persistence.PermissionEntity;
 import ai.revinci.platform.security.data.repository.PermissionRepository;
 import ai.revinci.platform.security.util.AuthenticationUtils;
 import ai.revinci.platform.services.notification.NotificationApplicationService;
+import ai.revinci.platform.services.notification.configuration.properties.NotificationDispatchProperties;
 import ai.revinci.platform.services.notification.configuration.properties.NotificationSettingsProperties;
 import ai.revinci.platform.services.notification.data.repository.TenantRepository;
 import ai.revinci.platform.services.notification.handler.NotificationMessageHandler;
@@ -53,9 +57,11 @@ import ai.revinci.platform.web.annotation.EnableWebConfiguration;
 @EnableAsyncNotification
 @EnableMultiTenancy
 @EnableWebConfiguration
-@EnableJpaRepositories(basePackageClasses = {TenantRepository.class, PermissionRepository.class})
-@EntityScan(basePackageClasses = {NotificationApplicationService.class, PermissionEntity.class})
-@EnableConfigurationProperties(value = {NotificationSettingsProperties.class})
+@EnableJpaRepositories(basePackageClasses = {TenantRepository.class, PermissionRepository.class,
+        ProcessedMessageRepository.class}, repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
+@EntityScan(basePackageClasses = {NotificationApplicationService.class, PermissionEntity.class,
+        ProcessedMessageEntity.class})
+@EnableConfigurationProperties(value = {NotificationSettingsProperties.class, NotificationDispatchProperties.class})
 @Configuration
 @RequiredArgsConstructor
 public class NotificationServiceConfiguration {
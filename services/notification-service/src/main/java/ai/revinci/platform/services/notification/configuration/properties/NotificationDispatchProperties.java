@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.configuration.properties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "revinciai.platform.notification.dispatch")
+public class NotificationDispatchProperties {
+    /**
+     * Maximum number of transactional notifications (across all tenants) that are waiting to be sent. Together with
+     * the {@link #bulkCapacity}, keep it within what the provider can send in the {@link #shutdownTimeout}.
+     */
+    private int transactionalCapacity = 200;
+
+    /** Maximum number of bulk notifications (across all tenants) that are waiting to be sent. */
+    private int bulkCapacity = 200;
+
+    /** Number of threads that send the queued notifications. */
+    private int workers = 4;
+
+    /** Maximum duration a producer waits for space in the queue before the notification is rejected. */
+    private Duration enqueueTimeout = Duration.ofSeconds(30);
+
+    /** Maximum duration to wait for the queued notifications to be sent on shutdown. */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /** Notification contexts that are sent on the bulk lane. Notifications of all other contexts are transactional. */
+    private Set<String> bulkContexts = new HashSet<>();
+
+    /** Weight of a tenant (by realm) when sharing the send capacity between the tenants. Defaults to 1. */
+    private Map<String, Integer> tenantWeights = new HashMap<>();
+
+    /** Send-rate limit of every tenant. */
+    private RateLimit tenantRateLimit = new RateLimit(5.0, 10);
+
+    /** Send-rate limit of the provider (i.e., mail server) shared by all the tenants. */
+    private RateLimit providerRateLimit = new RateLimit(14.0, 14);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class RateLimit {
+        /** Number of notifications that can be sent per second. Zero (or less) means unlimited. */
+        private double permitsPerSecond;
+
+        /** Number of notifications that can be sent in a burst after a quiet period. */
+        private int burst;
+
+        public RateLimit(final double permitsPerSecond, final int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -25,10 +25,9 @@
 
 package ai.revinci.platform.services.notification.configuration.properties;
 
+import java.time.Duration;
 import java.util.Collection;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -77,19 +76,6 @@ public class NotificationSettingsProperties {
         };
     }
 
-    /**
-     * This method attempts to return the blacklisted email domains as a collection.
-     *
-     * @return A {@link Collection} of blacklisted email domains.
-     */
-    public Collection<String> getBlacklistedEmailDomains() {
-        if (Objects.isNull(email)) {
-            return Set.of();
-        }
-
-        return email.getBlacklistedDomainsAsCollection();
-    }
-
     /**
      * A class that holds the email settings for the platform.
      */
@@ -99,6 +85,15 @@ public class NotificationSettingsProperties {
         /** Comma-separated list of blacklisted email domains. */
         private String blacklistedDomains;
 
+        /**
+         * Location (e.g., file:/etc/revinciai/email-blacklist.txt) of an additional list of blacklisted email domains
+         * and addresses, one per line. Lines starting with # are ignored.
+         */
+        private String blacklistLocation;
+
+        /** Interval at which the {@link #blacklistLocation} is checked for changes and reloaded. */
+        private Duration blacklistRefreshInterval = Duration.ofMinutes(1);
+
         /** Boolean indicating if the email domain should be replaced. */
         private boolean replaceEmailDomain;
 
@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.data.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+import ai.revinci.platform.services.notification.data.model.persistence.NotificationSettingsEntity;
+import ai.revinci.platform.services.notification.service.NotificationContextCache;
+
+/**
+ * Entity listener that evicts the cached notification settings of a tenant whenever its notification settings change.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationSettingsEntityListener {
+    /** Provider of the cache (resolved lazily as the listener is created along with the entity manager factory). */
+    private final ObjectProvider<NotificationContextCache> notificationContextCache;
+
+    /**
+     * This method evicts the cached notification settings of the tenant of the provided {@code entity}.
+     *
+     * @param entity Notification settings that have been created, updated or removed.
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(final NotificationSettingsEntity entity) {
+        notificationContextCache.ifAvailable(cache -> cache.evict(entity.getTenantId()));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.data.model.experience;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The resolved (i.e., cacheable) notification settings of a context of a tenant. The recipients have already been
+ * cleansed.
+ */
+@Getter
+@Builder
+@ToString
+public class NotificationContextSettings {
+    /** Boolean indicating if the tenant exists. */
+    private final boolean tenantExists;
+
+    /** Boolean indicating if the tenant has notification settings for the context. */
+    private final boolean settingsPresent;
+
+    /** Sender (from) email address. */
+    private final String sender;
+
+    /** Subject configured in the notification settings of the tenant. */
+    private final String subject;
+
+    /** Template name configured in the notification settings of the tenant. */
+    private final String templateName;
+
+    /** Cleansed "to" recipients configured in the notification settings of the tenant. */
+    @Builder.Default
+    private final List<String> to = List.of();
+
+    /** Cleansed "cc" recipients configured in the notification settings of the tenant. */
+    @Builder.Default
+    private final List<String> cc = List.of();
+
+    /** Cleansed "bcc" recipients configured in the notification settings of the tenant. */
+    @Builder.Default
+    private final List<String> bcc = List.of();
+}
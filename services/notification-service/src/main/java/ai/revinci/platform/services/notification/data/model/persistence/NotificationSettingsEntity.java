@@ -37,7 +37,6 @@ import java.util.Arrays;
 import java.util.Objects;
 
 import org.hibernate.annotations.Type;
-import org.springframework.context.ApplicationListener;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -48,6 +47,7 @@ import lombok.ToString;
 import ai.revinci.platform.data.jpa.persistence.AbstractTenantAwareEntity;
 import ai.revinci.platform.data.jpa.persistence.AbstractUUIDEntity;
 import ai.revinci.platform.data.jpa.persistence.ITenantAwareEntity;
+import ai.revinci.platform.services.notification.data.listener.NotificationSettingsEntityListener;
 import ai.revinci.platform.services.notification.data.model.persistence.lookup.NotificationContextEntity;
 import ai.revinci.platform.services.notification.data.model.persistence.lookup.NotificationTypeEntity;
 import io.hypersistence.utils.hibernate.type.array.StringArrayType;
@@ -57,7 +57,7 @@ import io.hypersistence.utils.hibernate.type.array.StringArrayType;
 @Getter
 @Setter
 @NoArgsConstructor
-@EntityListeners(value = {ApplicationListener.class})
+@EntityListeners(value = {NotificationSettingsEntityListener.class})
 @Entity
 @Table(name = NotificationSettingsEntity.TABLE_NAME,
        uniqueConstraints = {@UniqueConstraint(columnNames = {"tenant_id", "type", "context"})})
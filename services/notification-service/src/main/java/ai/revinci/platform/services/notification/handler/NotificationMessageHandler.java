@@ -36,31 +36,42 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.log.Instrumentation;
-import ai.revinci.platform.common.tenant.context.TenantContext;
-import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.messaging.annotation.ConsumeMessage;
+import ai.revinci.platform.messaging.annotation.IdempotentConsumer;
+import ai.revinci.platform.messaging.annotation.RetryableConsumer;
 import ai.revinci.platform.messaging.utils.MessageUtils;
 import ai.revinci.platform.multitenancy.service.TenantDataSourceRefreshListener;
 import ai.revinci.platform.notification.model.NotificationMessage;
-import ai.revinci.platform.services.notification.service.NotificationService;
+import ai.revinci.platform.services.notification.service.NotificationContextCache;
+import ai.revinci.platform.services.notification.service.NotificationDispatcher;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationMessageHandler {
-    /** A service implementation of type {@link NotificationService}. */
-    private final NotificationService notificationService;
+    /** Dispatcher that queues the notifications and sends them fairly across the tenants. */
+    private final NotificationDispatcher notificationDispatcher;
 
     /** Instance of type {@link TenantDataSourceRefreshListener}. */
     private final TenantDataSourceRefreshListener tenantDataSourceRefreshListener;
 
+    /** Cache of the resolved notification settings. */
+    private final NotificationContextCache notificationContextCache;
+
     /**
      * This method handles the incoming notification message.
+     * <p>
+     * This method runs on the consumer thread and blocks while the dispatch queue is full, so that the backpressure
+     * reaches the broker. A notification that cannot be queued in time is rethrown to be retried and, eventually,
+     * dead-lettered.
      *
      * @param message A {@link Message} object containing the payload.
      */
     @Instrumentation
-    @Async
+    @ConsumeMessage
+    @RetryableConsumer
+    @IdempotentConsumer
     public void handleNotificationEvent(final Message<String> message) {
         // 1. Extract the relevant details.
         final MessageHeaders headers = message.getHeaders();
@@ -71,32 +82,12 @@ public class NotificationMessageHandler {
         final NotificationMessage nm = MessageUtils.getPayload(message, new TypeReference<>() {
         });
 
-        // TODO: Need to check if the processing of the message with the correlation-id is required or it has
-        //  already been processed.
-
         NotificationMessageHandler.LOGGER.info(
                 "Tenant: {}, Realm: {}, Correlation id: {}. Received notification message", tenantId, realm,
                 correlationId);
 
-        try {
-            // 1. Set the tenant context to the incoming realm so that the appropriate database will be picked.
-            NotificationMessageHandler.LOGGER.info(
-                    "Tenant: {}, Realm: {}, Correlation id: {}. Initializing tenant context", tenantId, realm,
-                    correlationId);
-            TenantContext.set(TenantRealm.builder()
-                                      .realm(realm)
-                                      .tenantId(tenantId)
-                                      .build());
-
-            // 2. Send the notification.
-            notificationService.send(nm);
-        } catch (final Exception ex) {
-            NotificationMessageHandler.LOGGER.error(
-                    "Tenant: {}, Realm: {}, Correlation id: {}. Failures while sending notification", tenantId, realm,
-                    correlationId, ex);
-        } finally {
-            TenantContext.clear();
-        }
+        // 2. Queue the notification, which is sent in the context of the tenant once it is due.
+        notificationDispatcher.dispatch(tenantId, realm, correlationId, nm, message);
     }
 
     /**
@@ -106,20 +97,21 @@ public class NotificationMessageHandler {
      */
     @Instrumentation
     @Async
+    @ConsumeMessage
+    @IdempotentConsumer
     public void handleDbProvisionedEvent(final Message<String> message) {
         final MessageHeaders headers = message.getHeaders();
         final UUID correlationId = MessageUtils.getCorrelationId(headers);
         final UUID tenantId = MessageUtils.getTenantId(headers);
         final String realm = MessageUtils.getRealm(headers);
 
-        // TODO: Need to check if the processing of the message with the correlation-id is required or it has
-        //  already been processed.
-
         NotificationMessageHandler.LOGGER.info(
                 "Tenant: {}. Realm: {}, Correlation id: {}. Received new db provisioned event", tenantId, realm,
                 correlationId);
         try {
             tenantDataSourceRefreshListener.tenantProvisioned(tenantId, realm);
+            // Forget whatever was resolved for this tenant (e.g., that it did not exist).
+            notificationContextCache.evict(tenantId);
         } catch (final Exception ex) {
             NotificationMessageHandler.LOGGER.error(
                     "Tenant: {}. Realm: {}, Correlation id: {}. Failures while processing new db provisioned event.",
@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.services.notification.configuration.properties.NotificationSettingsProperties;
+import ai.revinci.platform.services.notification.util.EmailBlacklist;
+
+/**
+ * Holds the index (see {@link EmailBlacklist}) of the blacklisted email domains and addresses, built from the
+ * configured comma-separated list and the (optional) blacklist file.
+ * <p>
+ * The blacklist file is checked for changes periodically and, when it has changed, the index is rebuilt and replaced
+ * without a restart. The notification settings cached against the previous blacklist are not served from then on (see
+ * {@link NotificationContextCache}), and are evicted to release them.
+ */
+@Slf4j
+@Service
+public class EmailBlacklistService implements DisposableBean {
+    /** Prefix of the comment lines in the blacklist file. */
+    private static final String COMMENT_PREFIX = "#";
+
+    /** Email settings. */
+    private final NotificationSettingsProperties.EmailSettings emailSettings;
+
+    /** Loader of the blacklist file. */
+    private final ResourceLoader resourceLoader;
+
+    /** Cache of the resolved notification settings. */
+    private final NotificationContextCache notificationContextCache;
+
+    /** Executor that periodically checks the blacklist file for changes, if there is one. */
+    private final ScheduledExecutorService reloader;
+
+    /** Current index of the blacklist. */
+    private volatile EmailBlacklist blacklist;
+
+    /** Last modification time of the blacklist file that was loaded. */
+    private volatile long blacklistLastModified;
+
+    public EmailBlacklistService(final NotificationSettingsProperties notificationSettingsProperties,
+                                 final ResourceLoader resourceLoader,
+                                 final NotificationContextCache notificationContextCache) {
+        this.emailSettings = notificationSettingsProperties.getEmail();
+        this.resourceLoader = resourceLoader;
+        this.notificationContextCache = notificationContextCache;
+        this.blacklist = loadOrDefault();
+
+        final long refreshMillis = emailSettings.getBlacklistRefreshInterval()
+                .toMillis();
+        if (StringUtils.isNotBlank(emailSettings.getBlacklistLocation()) && refreshMillis > 0) {
+            this.reloader = Executors.newSingleThreadScheduledExecutor(
+                    new CustomizableThreadFactory("email-blacklist-reloader-"));
+            reloader.scheduleWithFixedDelay(this::reloadIfModified, refreshMillis, refreshMillis,
+                                            TimeUnit.MILLISECONDS);
+        } else {
+            this.reloader = null;
+        }
+    }
+
+    /**
+     * This method returns the current index of the blacklisted email domains and addresses.
+     *
+     * @return Instance of type {@link EmailBlacklist}.
+     */
+    public EmailBlacklist getBlacklist() {
+        return blacklist;
+    }
+
+    /**
+     * This method rebuilds the index of the blacklist from the configured list and the blacklist file.
+     */
+    public void reload() {
+        try {
+            blacklist = load();
+            notificationContextCache.evictAll();
+        } catch (final IOException ex) {
+            EmailBlacklistService.LOGGER.error("Failed to reload the email blacklist {}. Keeping the current one. "
+                                               + "Error: {}", emailSettings.getBlacklistLocation(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(reloader)) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * This method reloads the blacklist if the blacklist file has been modified since it was last loaded.
+     */
+    private void reloadIfModified() {
+        try {
+            final long lastModified = resourceLoader.getResource(emailSettings.getBlacklistLocation())
+                    .lastModified();
+            if (lastModified != blacklistLastModified) {
+                EmailBlacklistService.LOGGER.info("Email blacklist {} has changed. Reloading",
+                                                  emailSettings.getBlacklistLocation());
+                reload();
+            }
+        } catch (final Exception ex) {
+            EmailBlacklistService.LOGGER.warn("Failed to check the email blacklist {} for changes. Error: {}",
+                                              emailSettings.getBlacklistLocation(), ex.getMessage());
+        }
+    }
+
+    /**
+     * This method builds the index of the blacklist like {@link #load()} does, falling back to the configured list
+     * alone if the blacklist file cannot be read.
+     *
+     * @return Instance of type {@link EmailBlacklist}.
+     */
+    private EmailBlacklist loadOrDefault() {
+        try {
+            return load();
+        } catch (final IOException ex) {
+            EmailBlacklistService.LOGGER.error("Failed to load the email blacklist {}. Error: {}",
+                                               emailSettings.getBlacklistLocation(), ex.getMessage());
+        }
+        return EmailBlacklist.of(emailSettings.getBlacklistedDomainsAsCollection());
+    }
+
+    /**
+     * This method builds the index of the blacklist from the configured list and the blacklist file (if any).
+     *
+     * @return Instance of type {@link EmailBlacklist}.
+     *
+     * @throws IOException If the blacklist file cannot be read.
+     */
+    private EmailBlacklist load() throws IOException {
+        final List<String> entries = new ArrayList<>(emailSettings.getBlacklistedDomainsAsCollection());
+        final String location = emailSettings.getBlacklistLocation();
+        if (StringUtils.isNotBlank(location)) {
+            final Resource resource = resourceLoader.getResource(location);
+            final long lastModified = resource.lastModified();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(),
+                                                                                  StandardCharsets.UTF_8))) {
+                reader.lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith(EmailBlacklistService.COMMENT_PREFIX))
+                        .forEach(entries::add);
+            }
+            blacklistLastModified = lastModified;
+        }
+
+        final EmailBlacklist emailBlacklist = EmailBlacklist.of(entries);
+        EmailBlacklistService.LOGGER.info("Loaded email blacklist with {} entries", emailBlacklist.size());
+        return emailBlacklist;
+    }
+}
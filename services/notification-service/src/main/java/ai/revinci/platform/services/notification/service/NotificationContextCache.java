@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.services.notification.data.model.experience.NotificationContextSettings;
+import ai.revinci.platform.services.notification.util.EmailBlacklist;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Caches the resolved notification settings per tenant and context, so that sending a batch of emails does not repeat
+ * the same lookups for every email.
+ * <p>
+ * The settings of a tenant expire after a while (they are maintained outside this service) and are evicted as soon as
+ * they change through this service. The recipients in the settings are cleansed against the email blacklist, hence
+ * the settings are cached along with the blacklist they were cleansed against, and are resolved again when requested
+ * against another one (i.e., after the blacklist has been reloaded). The hits and misses of the cache are counted, and
+ * every hit records the time it saved, i.e., the time it took to resolve the settings it was served from.
+ */
+@Slf4j
+@Component
+public class NotificationContextCache {
+    /** Name of the counter of the cache requests. */
+    private static final String METRIC_REQUESTS = "revinciai.notification.context.cache.requests";
+
+    /** Name of the timer that records the time taken to resolve a cache miss. */
+    private static final String METRIC_LOAD = "revinciai.notification.context.cache.load";
+
+    /** Name of the timer that records the time saved by every cache hit. */
+    private static final String METRIC_TIME_SAVED = "revinciai.notification.context.cache.time-saved";
+
+    /** Name of the tag holding the outcome of a cache request. */
+    private static final String TAG_RESULT = "result";
+
+    /** Cache of the resolved notification settings. */
+    private final Map<SettingsKey, CachedSettings> settings = new ConcurrentHashMap<>();
+
+    /** Counter of the cache hits. */
+    private final Counter hits;
+
+    /** Counter of the cache misses. */
+    private final Counter misses;
+
+    /** Timer of the cache misses. */
+    private final Timer loads;
+
+    /** Timer of the time saved by the cache hits. */
+    private final Timer timeSaved;
+
+    /** Duration after which the cached notification settings of a tenant expire. */
+    @Value("${revinciai.platform.notification.context-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry Registry in which the metrics of the cache are registered.
+     */
+    public NotificationContextCache(final MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter(NotificationContextCache.METRIC_REQUESTS, NotificationContextCache.TAG_RESULT,
+                                          "hit");
+        this.misses = meterRegistry.counter(NotificationContextCache.METRIC_REQUESTS,
+                                            NotificationContextCache.TAG_RESULT, "miss");
+        this.loads = meterRegistry.timer(NotificationContextCache.METRIC_LOAD);
+        this.timeSaved = Timer.builder(NotificationContextCache.METRIC_TIME_SAVED)
+                .description("Time saved by serving a notification context from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * This method returns the resolved notification settings of the provided {@code context} of the tenant, resolving
+     * them with the provided {@code loader} if they are not cached, have expired or were cleansed against a blacklist
+     * other than the provided {@code blacklist}.
+     *
+     * @param tenantId  Unique identifier of the tenant.
+     * @param context   Notification context.
+     * @param blacklist Email blacklist against which the {@code loader} cleanses the recipients.
+     * @param loader    Loader that resolves the notification settings.
+     *
+     * @return Instance of type {@link NotificationContextSettings}.
+     */
+    public NotificationContextSettings getSettings(@NonNull final UUID tenantId, final String context,
+                                                   @NonNull final EmailBlacklist blacklist,
+                                                   @NonNull final Supplier<NotificationContextSettings> loader) {
+        final SettingsKey key = new SettingsKey(tenantId, context);
+        final CachedSettings cachedSettings = settings.get(key);
+        if (Objects.nonNull(cachedSettings) && cachedSettings.blacklist() == blacklist &&
+                System.currentTimeMillis() < cachedSettings.expiresAt()) {
+            hits.increment();
+            timeSaved.record(cachedSettings.loadNanos(), TimeUnit.NANOSECONDS);
+            return cachedSettings.settings();
+        }
+
+        misses.increment();
+        final long start = System.nanoTime();
+        final NotificationContextSettings resolvedSettings = loader.get();
+        final long loadNanos = System.nanoTime() - start;
+        loads.record(loadNanos, TimeUnit.NANOSECONDS);
+        settings.put(key, new CachedSettings(resolvedSettings, blacklist, loadNanos,
+                                             System.currentTimeMillis() + ttl.toMillis()));
+        return resolvedSettings;
+    }
+
+    /**
+     * This method evicts the cached notification settings of the provided tenant.
+     *
+     * @param tenantId Unique identifier of the tenant.
+     */
+    public void evict(final UUID tenantId) {
+        if (settings.keySet()
+                .removeIf(key -> Objects.equals(key.tenantId(), tenantId))) {
+            NotificationContextCache.LOGGER.info("Tenant: {}. Evicted the cached notification settings", tenantId);
+        }
+    }
+
+    /**
+     * This method evicts the cached notification settings of all the tenants, e.g., to release the settings that were
+     * cleansed against an email blacklist that has since been replaced.
+     */
+    public void evictAll() {
+        settings.clear();
+        NotificationContextCache.LOGGER.info("Evicted the cached notification settings of all the tenants");
+    }
+
+    /**
+     * Key of the cached notification settings.
+     *
+     * @param tenantId Unique identifier of the tenant.
+     * @param context  Notification context.
+     */
+    private record SettingsKey(UUID tenantId, String context) {
+    }
+
+    /**
+     * Cached notification settings.
+     *
+     * @param settings  Resolved notification settings.
+     * @param blacklist Email blacklist against which the recipients in the settings were cleansed.
+     * @param loadNanos Time (nanos) it took to resolve the settings.
+     * @param expiresAt Time (epoch millis) after which the settings have to be resolved again.
+     */
+    private record CachedSettings(NotificationContextSettings settings, EmailBlacklist blacklist, long loadNanos,
+                                  long expiresAt) {
+    }
+}
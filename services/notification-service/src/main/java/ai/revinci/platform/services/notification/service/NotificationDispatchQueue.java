@@ -0,0 +1,343 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ai.revinci.platform.services.notification.configuration.properties.NotificationDispatchProperties;
+import ai.revinci.platform.services.notification.enums.NotificationLane;
+import ai.revinci.platform.services.notification.util.TokenBucket;
+
+/**
+ * A bounded queue of notifications that hands them out fairly across the tenants and within their send-rate limits.
+ * <p>
+ * Every lane has its own capacity, so that a burst of bulk notifications cannot take up the space of the
+ * transactional ones.
+ * <p>
+ * The transactional lane is always served before the bulk lane. Within a lane, the tenants with queued notifications
+ * take turns (deficit round-robin): on its turn a tenant sends up to its weight in notifications. A tenant that has
+ * exhausted its rate limit skips its turn, and when every tenant with queued notifications (or the provider) is
+ * throttled, {@link #take()} waits until the earliest of them can send again.
+ */
+final class NotificationDispatchQueue {
+    /** Lock guarding all the state of the queue. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when a notification is added or the queue is closed. */
+    private final Condition notEmpty = lock.newCondition();
+
+    /** Lanes of the queue. */
+    private final Map<NotificationLane, Lane> lanes = new EnumMap<>(NotificationLane.class);
+
+    /** Send-rate limits of the tenants (by key). */
+    private final Map<String, TokenBucket> tenantBuckets = new HashMap<>();
+
+    /** Send-rate limit of the provider. */
+    private final TokenBucket providerBucket;
+
+    /** Dispatch settings. */
+    private final NotificationDispatchProperties properties;
+
+    /** Number of queued notifications across all the lanes. */
+    private int size;
+
+    /** Flag indicating if the queue has been closed. */
+    private boolean closed;
+
+    /** Time (in nanos) until the earliest throttled tenant can send again, computed while polling the lanes. */
+    private long throttledNanos;
+
+    NotificationDispatchQueue(final NotificationDispatchProperties properties) {
+        this.properties = properties;
+        this.providerBucket = new TokenBucket(properties.getProviderRateLimit()
+                                                      .getPermitsPerSecond(), properties.getProviderRateLimit()
+                                                      .getBurst());
+        for (final NotificationLane lane : NotificationLane.values()) {
+            lanes.put(lane, new Lane(capacity(lane), lock.newCondition()));
+        }
+    }
+
+    /**
+     * This method adds the provided notification to the lane and tenant queue it belongs to, waiting up to the
+     * provided timeout for space in its lane.
+     *
+     * @param notification Notification to add.
+     * @param timeout      Maximum time to wait for space.
+     * @param unit         Unit of the {@code timeout}.
+     *
+     * @return True if the notification was added, false if there was no space in time or the queue has been closed.
+     *
+     * @throws InterruptedException If interrupted while waiting for space.
+     */
+    boolean offer(final NotificationDispatcher.Dispatch notification, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        final Lane lane = lanes.get(notification.lane());
+        lock.lockInterruptibly();
+        try {
+            while (lane.size >= lane.capacity && !closed) {
+                if (remainingNanos <= 0L) {
+                    return false;
+                }
+                remainingNanos = lane.notFull.awaitNanos(remainingNanos);
+            }
+            if (closed) {
+                return false;
+            }
+
+            final String key = notification.key();
+            lane.add(key, weight(key), notification);
+            ++size;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method takes the next notification that is due to be sent, waiting until there is one.
+     *
+     * @return Next notification, or null if the queue has been closed and there are no more notifications.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    NotificationDispatcher.Dispatch take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (size == 0) {
+                    if (closed) {
+                        return null;
+                    }
+                    notEmpty.await();
+                    continue;
+                }
+
+                final long now = System.nanoTime();
+                long waitNanos = providerBucket.nanosUntilAvailable(now);
+                if (waitNanos == 0L) {
+                    throttledNanos = Long.MAX_VALUE;
+                    for (final NotificationLane lane : NotificationLane.values()) {
+                        final Lane queuedLane = lanes.get(lane);
+                        final NotificationDispatcher.Dispatch notification = poll(queuedLane, now);
+                        if (Objects.nonNull(notification)) {
+                            providerBucket.take();
+                            --size;
+                            queuedLane.notFull.signal();
+                            return notification;
+                        }
+                    }
+                    // Every tenant with queued notifications is throttled.
+                    waitNanos = throttledNanos;
+                }
+                notEmpty.awaitNanos(waitNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method closes the queue. No notifications are accepted afterwards, while the queued ones can still be
+     * taken.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            lanes.values()
+                    .forEach(lane -> lane.notFull.signalAll());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method removes all the queued notifications, irrespective of the send-rate limits.
+     *
+     * @return Notifications that were queued.
+     */
+    List<NotificationDispatcher.Dispatch> drain() {
+        lock.lock();
+        try {
+            final List<NotificationDispatcher.Dispatch> notifications = new ArrayList<>(size);
+            for (final Lane lane : lanes.values()) {
+                for (final TenantQueue tenantQueue : lane.turns) {
+                    notifications.addAll(tenantQueue.notifications);
+                }
+                lane.tenants.clear();
+                lane.turns.clear();
+                lane.size = 0;
+                lane.notFull.signalAll();
+            }
+            size = 0;
+            return notifications;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method returns the number of queued notifications in the provided lane.
+     *
+     * @param lane Lane.
+     *
+     * @return Number of queued notifications.
+     */
+    int size(final NotificationLane lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This method polls the next notification of the provided lane from the tenant whose turn it is, skipping the
+     * tenants that are throttled.
+     *
+     * @param lane Lane to poll.
+     * @param now  Current time (in nanos).
+     *
+     * @return Next notification of the lane, or null if the lane is empty or all its tenants are throttled.
+     */
+    private NotificationDispatcher.Dispatch poll(final Lane lane, final long now) {
+        for (int i = lane.turns.size(); i > 0; --i) {
+            final TenantQueue tenantQueue = lane.turns.peekFirst();
+            final TokenBucket tenantBucket = tenantBuckets.computeIfAbsent(tenantQueue.key, k -> new TokenBucket(
+                    properties.getTenantRateLimit()
+                            .getPermitsPerSecond(), properties.getTenantRateLimit()
+                            .getBurst()));
+            final long waitNanos = tenantBucket.nanosUntilAvailable(now);
+            if (waitNanos > 0L) {
+                // Skip the turn of the throttled tenant so that the others can send in the meantime.
+                throttledNanos = Math.min(throttledNanos, waitNanos);
+                tenantQueue.credit = 0;
+                lane.turns.addLast(lane.turns.pollFirst());
+                continue;
+            }
+
+            if (tenantQueue.credit == 0) {
+                tenantQueue.credit = tenantQueue.weight;
+            }
+            final NotificationDispatcher.Dispatch notification = tenantQueue.notifications.pollFirst();
+            tenantBucket.take();
+            --tenantQueue.credit;
+            --lane.size;
+            if (tenantQueue.notifications.isEmpty()) {
+                lane.turns.pollFirst();
+                lane.tenants.remove(tenantQueue.key);
+            } else if (tenantQueue.credit == 0) {
+                lane.turns.addLast(lane.turns.pollFirst());
+            }
+            return notification;
+        }
+        return null;
+    }
+
+    private int capacity(final NotificationLane lane) {
+        final int capacity = NotificationLane.BULK == lane ?
+                properties.getBulkCapacity() :
+                properties.getTransactionalCapacity();
+        return Math.max(1, capacity);
+    }
+
+    private int weight(final String key) {
+        return Math.max(1, properties.getTenantWeights()
+                .getOrDefault(key, 1));
+    }
+
+    /**
+     * Queued notifications of a lane, grouped by tenant.
+     */
+    private static final class Lane {
+        /** Queues of the tenants that have notifications in this lane. */
+        private final Map<String, TenantQueue> tenants = new HashMap<>();
+
+        /** Queues of the tenants in the order of their turns. */
+        private final Deque<TenantQueue> turns = new ArrayDeque<>();
+
+        /** Maximum number of queued notifications in this lane. */
+        private final int capacity;
+
+        /** Signalled when a notification of this lane is taken or the queue is closed. */
+        private final Condition notFull;
+
+        /** Number of queued notifications in this lane. */
+        private int size;
+
+        private Lane(final int capacity, final Condition notFull) {
+            this.capacity = capacity;
+            this.notFull = notFull;
+        }
+
+        private void add(final String key, final int weight, final NotificationDispatcher.Dispatch notification) {
+            TenantQueue tenantQueue = tenants.get(key);
+            if (Objects.isNull(tenantQueue)) {
+                tenantQueue = new TenantQueue(key, weight);
+                tenants.put(key, tenantQueue);
+                turns.addLast(tenantQueue);
+            }
+            tenantQueue.notifications.addLast(notification);
+            ++size;
+        }
+    }
+
+    /**
+     * Queued notifications of a tenant in a lane.
+     */
+    private static final class TenantQueue {
+        /** Key of the tenant. */
+        private final String key;
+
+        /** Number of notifications the tenant sends on its turn. */
+        private final int weight;
+
+        /** Queued notifications in the order in which they were added. */
+        private final Deque<NotificationDispatcher.Dispatch> notifications = new ArrayDeque<>();
+
+        /** Number of notifications the tenant can still send on its current turn. */
+        private int credit;
+
+        private TenantQueue(final String key, final int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import ai.revinci.platform.common.enums.Key;
+import ai.revinci.platform.common.tenant.context.TenantContext;
+import ai.revinci.platform.common.tenant.context.TenantRealm;
+import ai.revinci.platform.messaging.service.DeadLetterService;
+import ai.revinci.platform.notification.model.NotificationMessage;
+import ai.revinci.platform.services.notification.configuration.properties.NotificationDispatchProperties;
+import ai.revinci.platform.services.notification.enums.NotificationLane;
+import ai.revinci.platform.services.notification.handler.NotificationMessageHandler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends the notifications from a bounded queue (see {@link NotificationDispatchQueue}) on a fixed number of worker
+ * threads, so that a tenant sending a large number of notifications does not hold up the notifications of the other
+ * tenants, nor the transactional notifications (e.g., password reset) behind the bulk ones.
+ * <p>
+ * When the lane of a notification is full, {@link #dispatch(UUID, String, UUID, NotificationMessage, Message)} waits
+ * for space (i.e., backpressure on the consumer) and rejects the notification if there is none in time. The time a
+ * notification waited in the queue and the time it took to send are recorded separately per lane.
+ * <p>
+ * The queue is held in memory and the message of a notification is acknowledged once the notification is queued.
+ * Notifications that fail to send, or that are still queued when the shutdown timeout elapses, are moved to the
+ * {@link DeadLetterService} so that they can be replayed. Only the queued notifications of a crashed instance are lost,
+ * hence the default capacities are kept within what the provider can send in the shutdown timeout.
+ */
+@Slf4j
+@Service
+public class NotificationDispatcher implements DisposableBean {
+    /** Name of the gauge of the number of queued notifications. */
+    private static final String METRIC_QUEUED = "revinciai.notification.dispatch.queued";
+
+    /** Name of the timer that records the time the notifications waited in the queue. */
+    private static final String METRIC_QUEUE_TIME = "revinciai.notification.dispatch.queue.time";
+
+    /** Name of the timer that records the time taken to send the notifications. */
+    private static final String METRIC_SEND_TIME = "revinciai.notification.dispatch.send.time";
+
+    /** Name of the counter of the notifications that were rejected as the queue was full. */
+    private static final String METRIC_REJECTED = "revinciai.notification.dispatch.rejected";
+
+    /** Name of the tag that holds the lane. */
+    private static final String TAG_LANE = "lane";
+
+    /** Name of the counter of the notifications that were dead-lettered. */
+    private static final String METRIC_DEAD_LETTERED = "revinciai.notification.dispatch.dead.lettered";
+
+    /** Name of the handler method that replays a dead-lettered notification. */
+    private static final String REPLAY_METHOD = "handleNotificationEvent";
+
+    /** Service that sends the notifications. */
+    private final NotificationService notificationService;
+
+    /** Dispatch settings. */
+    private final NotificationDispatchProperties properties;
+
+    /** Queue of the notifications waiting to be sent. */
+    private final NotificationDispatchQueue queue;
+
+    /** Worker threads that send the queued notifications. */
+    private final ExecutorService workers;
+
+    /** Store of the notifications that could not be sent. */
+    private final DeadLetterService deadLetterService;
+
+    /** Registry in which the dispatch metrics are recorded. */
+    private final MeterRegistry meterRegistry;
+
+    public NotificationDispatcher(final NotificationService notificationService,
+                                  final NotificationDispatchProperties properties,
+                                  final DeadLetterService deadLetterService, final MeterRegistry meterRegistry) {
+        this.notificationService = notificationService;
+        this.properties = properties;
+        this.deadLetterService = deadLetterService;
+        this.meterRegistry = meterRegistry;
+        this.queue = new NotificationDispatchQueue(properties);
+        for (final NotificationLane lane : NotificationLane.values()) {
+            Gauge.builder(NotificationDispatcher.METRIC_QUEUED, queue, q -> q.size(lane))
+                    .tag(NotificationDispatcher.TAG_LANE, lane.name())
+                    .description("Number of notifications waiting to be sent")
+                    .register(meterRegistry);
+        }
+
+        final int workerCount = Math.max(1, properties.getWorkers());
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                                                    new CustomizableThreadFactory("notification-dispatch-"));
+        for (int i = 0; i < workerCount; ++i) {
+            workers.execute(this::work);
+        }
+        NotificationDispatcher.LOGGER.info("Started {} notification dispatch workers with a capacity of {} "
+                                                   + "transactional and {} bulk notifications", workerCount,
+                                           properties.getTransactionalCapacity(), properties.getBulkCapacity());
+    }
+
+    /**
+     * This method queues the provided notification to be sent on the transactional or the bulk lane, depending on its
+     * context.
+     * <p>
+     * This method blocks while the lane of the notification is full.
+     *
+     * @param tenantId      Unique identifier of the tenant.
+     * @param realm         Realm of the tenant.
+     * @param correlationId Correlation id of the notification.
+     * @param message       Notification that needs to be sent.
+     * @param source        Message in which the notification was received, which is dead-lettered if the
+     *                      notification cannot be sent.
+     *
+     * @throws RejectedExecutionException If there was no space in the lane in time.
+     */
+    public void dispatch(final UUID tenantId, final String realm, final UUID correlationId,
+                         @NonNull final NotificationMessage message, @NonNull final Message<String> source) {
+        final NotificationLane lane = properties.getBulkContexts()
+                .contains(message.getContext()) ?
+                NotificationLane.BULK :
+                NotificationLane.TRANSACTIONAL;
+        final Dispatch dispatch = new Dispatch(tenantId, realm, correlationId, message, source, lane,
+                                               System.nanoTime());
+        try {
+            if (queue.offer(dispatch, properties.getEnqueueTimeout()
+                    .toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+        }
+
+        meterRegistry.counter(NotificationDispatcher.METRIC_REJECTED, NotificationDispatcher.TAG_LANE, lane.name())
+                .increment();
+        throw new RejectedExecutionException("Notification dispatch lane is full");
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Stop accepting notifications and let the workers send the ones that are already queued.
+        queue.close();
+        workers.shutdown();
+        if (!workers.awaitTermination(properties.getShutdownTimeout()
+                                              .toMillis(), TimeUnit.MILLISECONDS)) {
+            // Dead-letter the notifications that were not sent in time, so that they can be replayed.
+            final List<Dispatch> unsent = queue.drain();
+            NotificationDispatcher.LOGGER.warn("Workers did not finish sending the queued notifications. "
+                                                       + "Dead-lettering {} notifications", unsent.size());
+            workers.shutdownNow();
+            final Exception error = new RejectedExecutionException("Notification was not sent before the shutdown");
+            unsent.forEach(dispatch -> deadLetter(dispatch, error));
+        }
+    }
+
+    /**
+     * This method takes the notifications from the queue and sends them, until the queue is closed and drained.
+     */
+    private void work() {
+        while (true) {
+            final Dispatch dispatch;
+            try {
+                dispatch = queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread()
+                        .interrupt();
+                return;
+            }
+            if (Objects.isNull(dispatch)) {
+                return;
+            }
+            send(dispatch);
+        }
+    }
+
+    /**
+     * This method sends the provided notification in the context of its tenant.
+     *
+     * @param dispatch Queued notification.
+     */
+    private void send(final Dispatch dispatch) {
+        final String lane = dispatch.lane()
+                .name();
+        final long startedAt = System.nanoTime();
+        meterRegistry.timer(NotificationDispatcher.METRIC_QUEUE_TIME, NotificationDispatcher.TAG_LANE, lane)
+                .record(startedAt - dispatch.enqueuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            // Set the tenant context to the realm of the notification so that the appropriate database will be picked.
+            TenantContext.set(TenantRealm.builder()
+                                      .realm(dispatch.realm())
+                                      .tenantId(dispatch.tenantId())
+                                      .build());
+            notificationService.send(dispatch.message());
+        } catch (final Exception ex) {
+            NotificationDispatcher.LOGGER.error(
+                    "Tenant: {}, Realm: {}, Correlation id: {}. Failures while sending notification",
+                    dispatch.tenantId(), dispatch.realm(), dispatch.correlationId(), ex);
+            deadLetter(dispatch, ex);
+        } finally {
+            TenantContext.clear();
+            meterRegistry.timer(NotificationDispatcher.METRIC_SEND_TIME, NotificationDispatcher.TAG_LANE, lane)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * This method moves the message of the provided notification to the dead-letter store, from where it is replayed
+     * through {@link NotificationMessageHandler}.
+     * <p>
+     * The message was recorded as processed once the notification was queued. Hence, its identifier is removed so that
+     * the replay is not skipped as a duplicate.
+     *
+     * @param dispatch Notification that could not be sent.
+     * @param error    Error due to which the notification could not be sent.
+     */
+    private void deadLetter(final Dispatch dispatch, final Exception error) {
+        final Message<String> message = MessageBuilder.fromMessage(dispatch.source())
+                .removeHeader(Key.MESSAGE_ID.value())
+                .build();
+        deadLetterService.deadLetter(NotificationMessageHandler.class, NotificationDispatcher.REPLAY_METHOD, message,
+                                     1, error);
+        meterRegistry.counter(NotificationDispatcher.METRIC_DEAD_LETTERED, NotificationDispatcher.TAG_LANE,
+                              dispatch.lane()
+                                      .name())
+                .increment();
+    }
+
+    /**
+     * A notification waiting in the queue.
+     *
+     * @param tenantId      Unique identifier of the tenant.
+     * @param realm         Realm of the tenant.
+     * @param correlationId Correlation id of the notification.
+     * @param message       Notification that needs to be sent.
+     * @param source        Message in which the notification was received.
+     * @param lane          Lane of the notification.
+     * @param enqueuedAt    Time (in nanos) when the notification was queued.
+     */
+    record Dispatch(UUID tenantId, String realm, UUID correlationId, NotificationMessage message,
+                    Message<String> source, NotificationLane lane, long enqueuedAt) {
+        /**
+         * This method returns the key by which the notifications are shared fairly, i.e., the realm of the tenant.
+         *
+         * @return Key of the tenant.
+         */
+        String key() {
+            return Objects.nonNull(realm) ?
+                    realm :
+                    Objects.toString(tenantId, StringUtils.EMPTY);
+        }
+    }
+}
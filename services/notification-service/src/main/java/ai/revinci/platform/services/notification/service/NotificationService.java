@@ -25,18 +25,15 @@
 
 package ai.revinci.platform.services.notification.service;
 
-import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -51,26 +48,19 @@ import ai.revinci.platform.notification.enums.NotificationType;
 import ai.revinci.platform.notification.model.EmailMessage;
 import ai.revinci.platform.notification.model.NotificationMessage;
 import ai.revinci.platform.services.notification.configuration.properties.NotificationSettingsProperties;
+import ai.revinci.platform.services.notification.data.model.experience.NotificationContextSettings;
 import ai.revinci.platform.services.notification.data.model.persistence.NotificationSettingsEntity;
-import ai.revinci.platform.services.notification.data.model.persistence.TenantEntity;
 import ai.revinci.platform.services.notification.data.repository.NotificationSettingsRepository;
 import ai.revinci.platform.services.notification.data.repository.TenantRepository;
 import ai.revinci.platform.services.notification.enums.NotificationContext;
+import ai.revinci.platform.services.notification.util.EmailBlacklist;
 import ai.revinci.platform.services.notification.util.NotificationUtils;
+import ai.revinci.platform.services.notification.util.PlaceholderTemplate;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
-    /** Format to build the overridden template file path. */
-    private static final String OVERRIDDEN_TEMPLATE_RESOURCE_PATH = "classpath:templates/{0}/{1}";
-
-    /** Format to build the overridden template file name. */
-    private static final String OVERRIDDEN_TEMPLATE_FILE_NAME = "{0}/{1}";
-
-    /** Named parameter template. */
-    private static final String NAMED_PARAMETER_TEMPLATE = "$'{'{0}'}'";
-
     /** Instance of type IEmailClient, which is used to send email notifications. */
     private final IEmailClient emailClient;
 
@@ -83,8 +73,11 @@ public class NotificationService {
     /** A configuration properties implementation of type {@link NotificationSettingsProperties}. */
     private final NotificationSettingsProperties notificationSettingsProperties;
 
-    /** Instance of type {@link ResourceLoader}. */
-    private final ResourceLoader resourceLoader;
+    /** Cache of the resolved notification settings. */
+    private final NotificationContextCache notificationContextCache;
+
+    /** Service holding the index of the blacklisted email domains and addresses. */
+    private final EmailBlacklistService emailBlacklistService;
 
     /** Sender email address. */
     @Value("${revinciai.platform.mail.sender.from}")
@@ -111,7 +104,7 @@ public class NotificationService {
      * @param message The email notification message to be sent.
      */
     protected void sendEmail(@NonNull final NotificationMessage message) {
-        final Collection<String> blacklistedEmailDomains = notificationSettingsProperties.getBlacklistedEmailDomains();
+        final EmailBlacklist blacklist = emailBlacklistService.getBlacklist();
         final NotificationSettingsProperties.EmailSettings emailSettings = notificationSettingsProperties.getEmail();
         final boolean replaceEmailDomain = emailSettings.isReplaceEmailDomain();
         final String emailDomainReplacement = replaceEmailDomain ?
@@ -123,9 +116,12 @@ public class NotificationService {
         final Optional<NotificationSettingsProperties.AbstractNotificationSettings> contextSettings =
                 notificationSettingsProperties.findSettings(context);
 
-        // 1. Find the tenant.
-        final Optional<TenantEntity> tenant = tenantRepository.findById(tenantId);
-        if (tenant.isEmpty()) {
+        // 1. Resolve (or get the cached) tenant and notification settings for the incoming context.
+        final Supplier<NotificationContextSettings> settingsLoader = () -> resolveSettings(tenantId, context, blacklist,
+                                                                                           emailDomainReplacement);
+        final NotificationContextSettings settings = notificationContextCache.getSettings(tenantId, context, blacklist,
+                                                                                          settingsLoader);
+        if (!settings.isTenantExists()) {
             NotificationService.LOGGER.error("Tenant: {}. Tenant not found. Skipping notification for context: {}",
                                              tenantId, context);
             return;
@@ -141,28 +137,22 @@ public class NotificationService {
         if (!CollectionUtils.isEmpty(message.getRecipients())) {
             final String[] emails = message.getRecipients()
                     .toArray(new String[0]);
-            to.addAll(NotificationUtils.cleanseEmails(emails, blacklistedEmailDomains, emailDomainReplacement));
+            to.addAll(NotificationUtils.cleanseEmails(emails, blacklist, emailDomainReplacement));
         }
 
-        // 3. Next check the notification settings for the incoming context.
-        NotificationService.LOGGER.info("Find settings for context: {}", context);
-        final Optional<NotificationSettingsEntity> settings = notificationSettingsRepository.findByContextCode(context);
-        if (settings.isEmpty()) {
+        // 3. Next apply the notification settings for the incoming context.
+        if (!settings.isSettingsPresent()) {
             // Subject and template name on the message is given the priority. If not present, then we check the
             // yml files.
             subject = message.getSubject();
             templateName = message.getTemplateName();
         } else {
-            final NotificationSettingsEntity nse = settings.get();
-            subject = nse.getSubject();
-            templateName = nse.getTemplateName();
-
-            to.addAll(NotificationUtils.cleanseEmails(nse.getToRecipients(), blacklistedEmailDomains,
-                                                      emailDomainReplacement));
-            cc.addAll(NotificationUtils.cleanseEmails(nse.getCcRecipients(), blacklistedEmailDomains,
-                                                      emailDomainReplacement));
-            bcc.addAll(NotificationUtils.cleanseEmails(nse.getBccRecipients(), blacklistedEmailDomains,
-                                                       emailDomainReplacement));
+            subject = settings.getSubject();
+            templateName = settings.getTemplateName();
+
+            to.addAll(settings.getTo());
+            cc.addAll(settings.getCc());
+            bcc.addAll(settings.getBcc());
         }
 
         // If the subject and template are blank, check if there are any entries in the yml file.
@@ -170,10 +160,12 @@ public class NotificationService {
             subject = contextSettings.get()
                     .getSubject();
         }
+        // Tenant whose override of the template (if any) is preferred.
+        String templateTenant = null;
         if (StringUtils.isBlank(templateName) && contextSettings.isPresent()) {
             templateName = contextSettings.get()
                     .getTemplateName();
-            templateName = getOverriddenTemplateName(message.getRealm(), templateName);
+            templateTenant = message.getRealm();
         }
 
         if (NotificationContext.NEW_TENANT_PROVISIONED.name()
@@ -183,6 +175,7 @@ public class NotificationService {
                     .getSubject();
             templateName = notificationSettingsProperties.getTenantProvisioned()
                     .getTemplateName();
+            templateTenant = null;
         }
 
         // Replace parameters in the subject (if any)
@@ -195,7 +188,7 @@ public class NotificationService {
         }
 
         final EmailMessage emailMessage = EmailMessage.builder()
-                .from(sender)
+                .from(settings.getSender())
                 .subject(subject)
                 .to(to)
                 .cc(cc)
@@ -204,52 +197,70 @@ public class NotificationService {
 
         // 4. Send the email message
         NotificationService.LOGGER.debug("Sending the email for context: {}, to: {}", context, to);
-        emailClient.sendEmail(emailMessage, templateName, message.getPlaceholders());
+        emailClient.sendEmail(emailMessage, templateTenant, templateName, message.getLocale(),
+                              message.getPlaceholders());
     }
 
     /**
-     * Replaces the parameters in the input string with the values from the placeholders.
+     * Resolves the tenant and the notification settings of the provided {@code context}, cleansing the configured
+     * recipients.
      *
-     * @param input        Input string.
-     * @param placeholders A {@link Map} containing the parameters and their values.
+     * @param tenantId               Unique identifier of the tenant.
+     * @param context                Notification context.
+     * @param blacklist              Index of the blacklisted email domains and addresses.
+     * @param emailDomainReplacement Replacement for the blacklisted email domains (if any).
      *
-     * @return Input string with the parameters replaced.
+     * @return Instance of type {@link NotificationContextSettings}.
      */
-    private String replaceParameters(@NonNull final String input, final Map<String, Object> placeholders) {
-        if (CollectionUtils.isEmpty(placeholders)) {
-            return input;
+    private NotificationContextSettings resolveSettings(final UUID tenantId, final String context,
+                                                        final EmailBlacklist blacklist,
+                                                        final String emailDomainReplacement) {
+        if (!tenantRepository.existsById(tenantId)) {
+            return NotificationContextSettings.builder()
+                    .tenantExists(false)
+                    .build();
         }
 
-        String result = input;
-        for (final Map.Entry<String, Object> entry : placeholders.entrySet()) {
-            final String pattern = MessageFormat.format(NotificationService.NAMED_PARAMETER_TEMPLATE, entry.getKey());
-            result = result.replace(pattern, entry.getValue()
-                    .toString());
+        NotificationService.LOGGER.info("Find settings for context: {}", context);
+        final Optional<NotificationSettingsEntity> settings = notificationSettingsRepository.findByContextCode(context);
+        if (settings.isEmpty()) {
+            return NotificationContextSettings.builder()
+                    .tenantExists(true)
+                    .settingsPresent(false)
+                    .sender(sender)
+                    .build();
         }
-        return result;
+
+        final NotificationSettingsEntity nse = settings.get();
+        return NotificationContextSettings.builder()
+                .tenantExists(true)
+                .settingsPresent(true)
+                .sender(sender)
+                .subject(nse.getSubject())
+                .templateName(nse.getTemplateName())
+                .to(List.copyOf(NotificationUtils.cleanseEmails(nse.getToRecipients(), blacklist,
+                                                                emailDomainReplacement)))
+                .cc(List.copyOf(NotificationUtils.cleanseEmails(nse.getCcRecipients(), blacklist,
+                                                                emailDomainReplacement)))
+                .bcc(List.copyOf(NotificationUtils.cleanseEmails(nse.getBccRecipients(), blacklist,
+                                                                 emailDomainReplacement)))
+                .build();
     }
 
     /**
-     * This method checks if the provided {@code templateName} is overridden for the respective tenant. If yes, it
-     * returns the tenant-specific overridden file name.
+     * Replaces the parameters in the input string with the values from the placeholders.
      *
-     * @param realm        Tenant realm name.
-     * @param templateName Template name.
+     * @param input        Input string.
+     * @param placeholders A {@link Map} containing the parameters and their values.
      *
-     * @return The overridden template name if it exists, else the original template name.
+     * @return Input string with the parameters replaced.
      */
-    private String getOverriddenTemplateName(@NonNull final String realm, @NonNull final String templateName) {
-        try {
-            final String resourcePath = MessageFormat.format(NotificationService.OVERRIDDEN_TEMPLATE_RESOURCE_PATH,
-                                                             realm, templateName);
-            final Resource sefiResource = resourceLoader.getResource(resourcePath);
-            return sefiResource.exists() ?
-                    MessageFormat.format(NotificationService.OVERRIDDEN_TEMPLATE_FILE_NAME, realm, templateName) :
-                    templateName;
-        } catch (final Exception ex) {
-            NotificationService.LOGGER.error("Realm: {}. Error while checking if the template is overridden: {}", realm,
-                                             ex.getMessage());
+    private String replaceParameters(@NonNull final String input, final Map<String, Object> placeholders) {
+        if (CollectionUtils.isEmpty(placeholders)) {
+            return input;
         }
-        return templateName;
+
+        return PlaceholderTemplate.compile(input)
+                .render(placeholders);
     }
 }
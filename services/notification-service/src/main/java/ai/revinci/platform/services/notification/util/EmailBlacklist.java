@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import ai.revinci.platform.common.enums.Token;
+
+/**
+ * An index of blacklisted email domains and email addresses, built once from the blacklist entries so that checking an
+ * email does not scan all the entries.
+ * <p>
+ * An entry containing {@code @} (e.g., {@code john@example.com}) blacklists that exact email address, while any other
+ * entry (e.g., {@code example.com}) blacklists the domain and all its subdomains (e.g., {@code mail.example.com}).
+ * An email is checked by looking up the address itself and then the domain and each of its parent domains, i.e., in
+ * time proportional to the number of labels of the domain rather than to the number of entries. Matching ignores the
+ * case.
+ * <p>
+ * Instances of this class are immutable.
+ */
+public final class EmailBlacklist {
+    /** Blacklist without any entries. */
+    public static final EmailBlacklist EMPTY = new EmailBlacklist(Set.of(), Set.of());
+
+    /** Separator of the labels of a domain. */
+    private static final char LABEL_SEPARATOR = '.';
+
+    /** Blacklisted domains. */
+    private final Set<String> domains;
+
+    /** Blacklisted email addresses. */
+    private final Set<String> addresses;
+
+    private EmailBlacklist(final Set<String> domains, final Set<String> addresses) {
+        this.domains = domains;
+        this.addresses = addresses;
+    }
+
+    /**
+     * This method builds the blacklist from the provided entries, each of which is either a domain or an email address.
+     *
+     * @param entries Blacklisted domains and email addresses.
+     *
+     * @return Instance of type {@link EmailBlacklist}.
+     */
+    public static EmailBlacklist of(final Collection<String> entries) {
+        if (Objects.isNull(entries) || entries.isEmpty()) {
+            return EmailBlacklist.EMPTY;
+        }
+
+        final Set<String> domains = new HashSet<>();
+        final Set<String> addresses = new HashSet<>();
+        for (final String entry : entries) {
+            if (StringUtils.isBlank(entry)) {
+                continue;
+            }
+
+            final String normalizedEntry = entry.trim()
+                    .toLowerCase(Locale.ROOT);
+            final int atIndex = normalizedEntry.indexOf(Token.AT.value());
+            if (atIndex > 0) {
+                addresses.add(normalizedEntry);
+            } else {
+                // Entries such as "@example.com" and ".example.com" blacklist the domain as well.
+                domains.add(StringUtils.stripStart(normalizedEntry, Token.AT.value() + EmailBlacklist.LABEL_SEPARATOR));
+            }
+        }
+        domains.remove(StringUtils.EMPTY);
+
+        return domains.isEmpty() && addresses.isEmpty() ?
+                EmailBlacklist.EMPTY :
+                new EmailBlacklist(Set.copyOf(domains), Set.copyOf(addresses));
+    }
+
+    /**
+     * This method checks if the blacklist has no entries.
+     *
+     * @return True if the blacklist has no entries, false otherwise.
+     */
+    public boolean isEmpty() {
+        return domains.isEmpty() && addresses.isEmpty();
+    }
+
+    /**
+     * This method returns the number of entries in the blacklist.
+     *
+     * @return Number of blacklisted domains and email addresses.
+     */
+    public int size() {
+        return domains.size() + addresses.size();
+    }
+
+    /**
+     * This method checks if the provided email address, or its domain (or any of its parent domains), is blacklisted.
+     * A blank email address is considered blacklisted unless the blacklist has no entries.
+     *
+     * @param email Email address to check.
+     *
+     * @return True if the email address is blacklisted, false otherwise.
+     */
+    public boolean isBlacklisted(final String email) {
+        if (isEmpty()) {
+            return false;
+        }
+        if (StringUtils.isBlank(email)) {
+            return true;
+        }
+
+        final String normalizedEmail = email.trim()
+                .toLowerCase(Locale.ROOT);
+        if (addresses.contains(normalizedEmail)) {
+            return true;
+        }
+
+        final String domain = normalizedEmail.substring(normalizedEmail.lastIndexOf(Token.AT.value()) + 1);
+        int labelStart = 0;
+        while (labelStart < domain.length()) {
+            if (domains.contains(domain.substring(labelStart))) {
+                return true;
+            }
+
+            final int separatorIndex = domain.indexOf(EmailBlacklist.LABEL_SEPARATOR, labelStart);
+            if (separatorIndex < 0) {
+                break;
+            }
+            labelStart = separatorIndex + 1;
+        }
+        return false;
+    }
+}
@@ -98,13 +98,20 @@ public final class NotificationUtils {
             return false;
         }
 
-        // If the email is blank, no point in returning false.
-        if (StringUtils.isBlank(email)) {
-            return true;
-        }
+        return EmailBlacklist.of(blacklistedDomains)
+                .isBlacklisted(email);
+    }
 
-        return blacklistedDomains.stream()
-                .anyMatch(email::endsWith);
+    /**
+     * This method attempts to check if the given email is blacklisted.
+     *
+     * @param blacklist Index of the blacklisted email domains and addresses.
+     * @param email     Email address to check if it (or its email domain) is blacklisted.
+     *
+     * @return {@code true} if the provided {@code email} (or its email domain) is blacklisted, {@code false} otherwise.
+     */
+    public static boolean isEmailDomainBlacklisted(@NonNull final EmailBlacklist blacklist, final String email) {
+        return blacklist.isBlacklisted(email);
     }
 
     /**
@@ -131,18 +138,31 @@ public final class NotificationUtils {
      */
     public static List<String> removeBlacklistedEmailDomains(final Collection<String> blacklistedDomains,
                                                              final String[] emails) {
+        return NotificationUtils.removeBlacklistedEmailDomains(EmailBlacklist.of(blacklistedDomains), emails);
+    }
+
+    /**
+     * This method attempts to remove the email addresses that are blacklisted (or contain blacklisted domains).
+     *
+     * @param blacklist Index of the blacklisted email domains and addresses.
+     * @param emails    A list of email addresses to check and remove if they are blacklisted.
+     *
+     * @return A list of email addresses that are not blacklisted.
+     */
+    public static List<String> removeBlacklistedEmailDomains(@NonNull final EmailBlacklist blacklist,
+                                                             final String[] emails) {
         if (Objects.isNull(emails) || emails.length == 0) {
             return List.of();
         }
 
-        if (CollectionUtils.isEmpty(blacklistedDomains)) {
+        if (blacklist.isEmpty()) {
             return Stream.of(emails)
                     .filter(StringUtils::isNotBlank)
                     .toList();
         }
 
         return Stream.of(emails)
-                .filter(email -> !NotificationUtils.isEmailDomainBlacklisted(blacklistedDomains, email))
+                .filter(email -> !blacklist.isBlacklisted(email))
                 .toList();
     }
 
@@ -187,7 +207,23 @@ public final class NotificationUtils {
      */
     public static Optional<String> cleanseEmail(final String email, final Collection<String> blacklistedDomains,
                                                 final String replacementDomain) {
-        final boolean blacklisted = NotificationUtils.isEmailDomainBlacklisted(blacklistedDomains, email);
+        return NotificationUtils.cleanseEmail(email, EmailBlacklist.of(blacklistedDomains), replacementDomain);
+    }
+
+    /**
+     * Cleanses the given email by removing the blacklisted domains and replacing the domain with the given replacement
+     * domain.
+     *
+     * @param email             Email addresses to cleanse.
+     * @param blacklist         Index of the blacklisted email domains and addresses.
+     * @param replacementDomain Replacement domain.
+     *
+     * @return An {@link Optional} wrapping the cleansed email address. If the email (or its domain) is blacklisted,
+     *         then an empty {@link Optional} is returned.
+     */
+    public static Optional<String> cleanseEmail(final String email, @NonNull final EmailBlacklist blacklist,
+                                                final String replacementDomain) {
+        final boolean blacklisted = blacklist.isBlacklisted(email);
         if (blacklisted) {
             NotificationUtils.LOGGER.info("Email: {}. Ignoring as the email domain is blacklisted",
                                           Strings.maskEmail(email));
@@ -209,8 +245,22 @@ public final class NotificationUtils {
      */
     public static List<String> cleanseEmails(final String[] emails, final Collection<String> blacklistedDomains,
                                              final String replacementDomain) {
-        final Collection<String> whitelistedEmails = NotificationUtils.removeBlacklistedEmailDomains(blacklistedDomains,
-                                                                                                     emails);
+        return NotificationUtils.cleanseEmails(emails, EmailBlacklist.of(blacklistedDomains), replacementDomain);
+    }
+
+    /**
+     * Cleanses the given emails by removing the blacklisted ones and replacing the domain with the given replacement
+     * domain.
+     *
+     * @param emails            Array of email addresses to cleanse.
+     * @param blacklist         Index of the blacklisted email domains and addresses.
+     * @param replacementDomain Replacement domain.
+     *
+     * @return A list of cleansed email addresses.
+     */
+    public static List<String> cleanseEmails(final String[] emails, @NonNull final EmailBlacklist blacklist,
+                                             final String replacementDomain) {
+        final Collection<String> whitelistedEmails = NotificationUtils.removeBlacklistedEmailDomains(blacklist, emails);
         return whitelistedEmails.stream()
                 .map(email -> NotificationUtils.replaceEmailDomain(email.trim(), replacementDomain))
                 .toList();
@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.NonNull;
+import org.springframework.util.CollectionUtils;
+
+import ai.revinci.platform.common.enums.Token;
+
+/**
+ * A string (e.g., the subject of an email) with named parameters of the form {@code ${name}}, parsed once into its
+ * literal and parameter segments so that it can be rendered repeatedly without searching the string for every
+ * parameter.
+ * <p>
+ * A parameter that does not have a value is rendered as is (i.e., {@code ${name}}). The compiled templates are cached
+ * (up to {@link #MAX_CACHED_TEMPLATES} of them) as the same subjects are rendered for every recipient.
+ */
+public final class PlaceholderTemplate {
+    /** Prefix of a named parameter. */
+    private static final String PARAMETER_PREFIX = Token.DOLLAR.value() + Token.OPEN_FLOWER_BRACKET.value();
+
+    /** Suffix of a named parameter. */
+    private static final String PARAMETER_SUFFIX = Token.CLOSE_FLOWER_BRACKET.value();
+
+    /** Maximum number of compiled templates that are cached. Templates beyond this are compiled on every use. */
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+
+    /** Estimated length of a parameter value, used to size the rendered string. */
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    /** Cache of the compiled templates. */
+    private static final Map<String, PlaceholderTemplate> COMPILED_TEMPLATES = new ConcurrentHashMap<>();
+
+    /** Template string. */
+    private final String template;
+
+    /** Literal segments. There is one more literal segment than there are parameters. */
+    private final String[] literals;
+
+    /** Names of the parameters, in the order in which they appear. */
+    private final String[] parameters;
+
+    /** Estimated length of the rendered string. */
+    private final int estimatedLength;
+
+    /**
+     * Constructor.
+     *
+     * @param template   Template string.
+     * @param literals   Literal segments.
+     * @param parameters Names of the parameters.
+     */
+    private PlaceholderTemplate(final String template, final String[] literals, final String[] parameters) {
+        this.template = template;
+        this.literals = literals;
+        this.parameters = parameters;
+        this.estimatedLength = template.length() + parameters.length * PlaceholderTemplate.ESTIMATED_VALUE_LENGTH;
+    }
+
+    /**
+     * This method returns the compiled form of the provided {@code template}, compiling it if it has not been compiled
+     * yet.
+     *
+     * @param template Template string.
+     *
+     * @return Instance of type {@link PlaceholderTemplate}.
+     */
+    public static PlaceholderTemplate compile(@NonNull final String template) {
+        final PlaceholderTemplate compiledTemplate = PlaceholderTemplate.COMPILED_TEMPLATES.get(template);
+        if (Objects.nonNull(compiledTemplate)) {
+            return compiledTemplate;
+        }
+
+        final PlaceholderTemplate newTemplate = PlaceholderTemplate.parse(template);
+        if (PlaceholderTemplate.COMPILED_TEMPLATES.size() < PlaceholderTemplate.MAX_CACHED_TEMPLATES) {
+            PlaceholderTemplate.COMPILED_TEMPLATES.putIfAbsent(template, newTemplate);
+        }
+        return newTemplate;
+    }
+
+    /**
+     * This method renders the template with the provided {@code placeholders}.
+     *
+     * @param placeholders A {@link Map} containing the parameters and their values.
+     *
+     * @return The rendered string.
+     */
+    public String render(final Map<String, Object> placeholders) {
+        if (parameters.length == 0 || CollectionUtils.isEmpty(placeholders)) {
+            return template;
+        }
+
+        final StringBuilder result = new StringBuilder(estimatedLength);
+        result.append(literals[0]);
+        for (int i = 0; i < parameters.length; ++i) {
+            final String parameter = parameters[i];
+            final Object value = placeholders.get(parameter);
+            if (Objects.nonNull(value) || placeholders.containsKey(parameter)) {
+                result.append(value);
+            } else {
+                result.append(PlaceholderTemplate.PARAMETER_PREFIX)
+                        .append(parameter)
+                        .append(PlaceholderTemplate.PARAMETER_SUFFIX);
+            }
+            result.append(literals[i + 1]);
+        }
+        return result.toString();
+    }
+
+    /**
+     * This method parses the provided {@code template} into its literal and parameter segments.
+     *
+     * @param template Template string.
+     *
+     * @return Instance of type {@link PlaceholderTemplate}.
+     */
+    private static PlaceholderTemplate parse(final String template) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> parameters = new ArrayList<>();
+        int position = 0;
+        while (position < template.length()) {
+            final int start = template.indexOf(PlaceholderTemplate.PARAMETER_PREFIX, position);
+            final int end = start < 0 ?
+                    -1 :
+                    template.indexOf(PlaceholderTemplate.PARAMETER_SUFFIX,
+                                     start + PlaceholderTemplate.PARAMETER_PREFIX.length());
+            if (end < 0) {
+                break;
+            }
+
+            // The innermost prefix before the suffix starts the parameter (e.g., "${a${b}" has the parameter "b").
+            final int innermostStart = template.lastIndexOf(PlaceholderTemplate.PARAMETER_PREFIX, end);
+            literals.add(template.substring(position, innermostStart));
+            parameters.add(template.substring(innermostStart + PlaceholderTemplate.PARAMETER_PREFIX.length(), end));
+            position = end + PlaceholderTemplate.PARAMETER_SUFFIX.length();
+        }
+        literals.add(template.substring(position));
+
+        return new PlaceholderTemplate(template, literals.toArray(new String[0]), parameters.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.notification.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that allows {@code permitsPerSecond} permits on average and up to {@code burst} permits at once.
+ * <p>
+ * This class is not thread-safe; the callers are expected to guard it. A bucket with a non-positive rate is
+ * unlimited.
+ */
+public final class TokenBucket {
+    /** Number of nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** Number of permits added per nanosecond. */
+    private final double permitsPerNano;
+
+    /** Maximum number of permits that can be accumulated. */
+    private final double capacity;
+
+    /** Number of permits currently available. */
+    private double permits;
+
+    /** Time (in nanos) when the permits were last refilled. */
+    private long refilledAt;
+
+    public TokenBucket(final double permitsPerSecond, final int burst) {
+        this.permitsPerNano = permitsPerSecond / TokenBucket.NANOS_PER_SECOND;
+        this.capacity = Math.max(1, burst);
+        this.permits = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * This method checks if the bucket does not limit the rate at all.
+     *
+     * @return True if the bucket is unlimited, false otherwise.
+     */
+    public boolean isUnlimited() {
+        return permitsPerNano <= 0;
+    }
+
+    /**
+     * This method returns the time (in nanos) until a permit is available, zero if one is available now.
+     *
+     * @param now Current time (in nanos).
+     *
+     * @return Time (in nanos) until a permit is available.
+     */
+    public long nanosUntilAvailable(final long now) {
+        if (isUnlimited()) {
+            return 0L;
+        }
+        refill(now);
+        return permits >= 1 ?
+                0L :
+                (long) Math.ceil((1 - permits) / permitsPerNano);
+    }
+
+    /**
+     * This method takes a permit. The caller is expected to have checked that one is available using
+     * {@link #nanosUntilAvailable(long)}.
+     */
+    public void take() {
+        if (!isUnlimited()) {
+            permits -= 1;
+        }
+    }
+
+    private void refill(final long now) {
+        permits = Math.min(capacity, permits + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
@@ -28,6 +28,7 @@ package ai.revinci.platform.services.platform.api;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -36,10 +37,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import lombok.RequiredArgsConstructor;
 
+import ai.revinci.platform.data.jpa.model.experience.page.KeysetPage;
+import ai.revinci.platform.data.jpa.utils.PageUtils;
 import ai.revinci.platform.services.platform.data.model.experience.tenant.BasicTenantDetails;
 import ai.revinci.platform.services.platform.data.model.experience.tenant.CreateTenantRequest;
 import ai.revinci.platform.services.platform.data.model.experience.tenant.Tenant;
@@ -62,6 +66,7 @@ public class TenantApi extends AbstractApi {
 
     private final TenantService tenantService;
 
+    // @formatter:off
     @Operation(method = "onboardTenant",
                summary = "Onboard a new tenant in the system.",
                description = "This API is used to onboard a new tenant in the system.",
@@ -91,7 +96,7 @@ public class TenantApi extends AbstractApi {
                 .body(newTenant);
     }
 
-
+    // @formatter:off
     @Operation(method = "fetchAllTenants",
                summary = "Fetch All tenants in the system.",
                description = "This API is used to fetch the list of tenants in the system.",
@@ -111,7 +116,7 @@ public class TenantApi extends AbstractApi {
             })
     // @formatter:on
     @PreAuthorize("hasRole('ROLE_super_admin')")
-    @GetMapping
+    @GetMapping(params = {"!pageSize", "!pageToken"})
     public ResponseEntity<List<Tenant>> fetchAllTenants() {
         // Delegate to the service layer.
         final List<Tenant> tenants = tenantService.fetchAllTenants();
@@ -119,4 +124,42 @@ public class TenantApi extends AbstractApi {
         return ResponseEntity.status(HttpStatus.OK)
                 .body(tenants);
     }
+
+    // @formatter:off
+    @Operation(method = "fetchTenants",
+               summary = "Fetch a page of tenants in the system.",
+               description = "This API is used to fetch the tenants in the system, one page at a time. The "
+                       + "nextPageToken of a page has to be provided to fetch the subsequent page. The pageSize "
+                       + "defaults to 20 when only the pageToken is provided.",
+               tags = {TenantApi.API_TAG},
+               security = {
+                       @SecurityRequirement(name =
+                               OpenApiDocumentationSettings.ApiSecurityScheme.DEFAULT_SECURITY_SCHEME_NAME)
+               })
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200",
+                                 description = "Successfully retrieved the page of tenants.",
+                                 content = @Content),
+                    @ApiResponse(responseCode = "400",
+                                 description = "Provided page token is invalid.",
+                                 content = @Content),
+                    @ApiResponse(responseCode = "403",
+                                 description = "You do not have permissions to perform this operation.",
+                                 content = @Content)
+            })
+    // @formatter:on
+    @PreAuthorize("hasRole('ROLE_super_admin')")
+    @GetMapping
+    public ResponseEntity<KeysetPage<Tenant>> fetchTenants(
+            @RequestParam(name = "pageToken", required = false) final String pageToken,
+            @RequestParam(name = "pageSize", required = false) final Integer pageSize) {
+        // Delegate to the service layer.
+        final KeysetPage<Tenant> tenants = tenantService.fetchTenants(pageToken, Objects.isNull(pageSize) ?
+                PageUtils.DEFAULT_PAGE_SIZE :
+                pageSize);
+        // Build a response entity object and return it.
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(tenants);
+    }
 }
@@ -28,6 +28,7 @@ package ai.revinci.platform.services.platform.configuration;
 import java.util.function.Consumer;
 
 import org.passay.PasswordGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,6 +39,11 @@ import org.springframework.messaging.Message;
 
 import lombok.RequiredArgsConstructor;
 
+import ai.revinci.platform.data.jpa.page.PageTokenCodec;
+import ai.revinci.platform.data.jpa.repository.support.ExtendedJpaRepositoryImpl;
+import ai.revinci.platform.messaging.annotation.EnableMessagingOutbox;
+import ai.revinci.platform.messaging.data.model.persistence.OutboxMessageEntity;
+import ai.revinci.platform.messaging.data.repository.OutboxMessageRepository;
 import ai.revinci.platform.notification.annotation.EnableAsyncNotification;
 import ai.revinci.platform.security.data.model.persistence.PermissionEntity;
 import ai.revinci.platform.security.data.repository.PermissionRepository;
@@ -49,9 +55,11 @@ import ai.revinci.platform.web.annotation.EnableWebConfiguration;
 
 @PropertySource("classpath:/l10n/ValidationMessages.properties")
 @EnableAsyncNotification
+@EnableMessagingOutbox
 @EnableWebConfiguration
-@EnableJpaRepositories(basePackageClasses = {TenantRepository.class, PermissionRepository.class})
-@EntityScan(basePackageClasses = {PlatformService.class, PermissionEntity.class})
+@EnableJpaRepositories(basePackageClasses = {TenantRepository.class, PermissionRepository.class,
+        OutboxMessageRepository.class}, repositoryBaseClass = ExtendedJpaRepositoryImpl.class)
+@EntityScan(basePackageClasses = {PlatformService.class, PermissionEntity.class, OutboxMessageEntity.class})
 @Configuration
 @RequiredArgsConstructor
 public class PlatformServiceConfiguration {
@@ -63,6 +71,12 @@ public class PlatformServiceConfiguration {
         return new PasswordGenerator();
     }
 
+    @Bean
+    public PageTokenCodec pageTokenCodec(
+            @Value("${revinciai.platform.pagination.page-token-secret}") final String pageTokenSecret) {
+        return new PageTokenCodec(pageTokenSecret);
+    }
+
     @Bean
     public Consumer<Message<String>> rvcPlatformOnRealmProvisionedEvent() {
         return platformMessageHandler::handleRealmProvisionedEvent;
@@ -27,6 +27,7 @@ package ai.revinci.platform.services.platform.handler;
 
 import java.util.UUID;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -40,6 +41,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.log.Instrumentation;
+import ai.revinci.platform.messaging.annotation.ConsumeMessage;
+import ai.revinci.platform.messaging.annotation.IdempotentConsumer;
+import ai.revinci.platform.messaging.annotation.RetryableConsumer;
 import ai.revinci.platform.messaging.utils.MessageUtils;
 import ai.revinci.platform.services.platform.service.TenantService;
 
@@ -56,15 +60,15 @@ public class PlatformMessageHandler implements ApplicationContextAware {
 
     @Instrumentation
     @Async
+    @ConsumeMessage
+    @RetryableConsumer
+    @IdempotentConsumer
     public void handleRealmProvisionedEvent(final Message<String> message) {
         final MessageHeaders headers = message.getHeaders();
         //final UUID correlationId = MessageUtils.getCorrelationId(headers);
         final UUID tenantId = MessageUtils.getTenantId(headers);
         final String realm = MessageUtils.getRealm(headers);
 
-        // TODO: Need to check if the processing of the message with the correlation-id is required or it has
-        //  already been processed.
-
         try {
             // Get the tenant-service from the application context.
             final TenantService tenantService = applicationContext.getBean(TenantService.class);
@@ -75,6 +79,8 @@ public class PlatformMessageHandler implements ApplicationContextAware {
             PlatformMessageHandler.LOGGER.error(
                     "Tenant: {}, Realm: {}. Failures while handling db provisioned event", tenantId,
                     realm, ex);
+            // Rethrow so that the event is retried and eventually dead-lettered.
+            throw ExceptionUtils.asRuntimeException(ex);
         }
     }
 }
@@ -27,6 +27,7 @@ package ai.revinci.platform.services.platform.service;
 
 import jakarta.validation.Valid;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,12 @@ import ai.revinci.platform.common.exception.ServiceException;
 import ai.revinci.platform.common.log.Instrumentation;
 import ai.revinci.platform.common.tenant.context.TenantRealm;
 import ai.revinci.platform.common.util.Strings;
+import ai.revinci.platform.data.jpa.model.experience.page.KeysetPage;
+import ai.revinci.platform.data.jpa.page.PageTokenCodec;
+import ai.revinci.platform.data.jpa.utils.PageUtils;
+import ai.revinci.platform.messaging.data.model.experience.PublishResult;
+import ai.revinci.platform.messaging.error.MessagingErrors;
+import ai.revinci.platform.messaging.outbox.OutboxMessageWriter;
 import ai.revinci.platform.messaging.service.MessagePublisher;
 import ai.revinci.platform.notification.enums.NotificationType;
 import ai.revinci.platform.notification.model.NotificationMessage;
@@ -75,9 +82,18 @@ import ai.revinci.platform.services.platform.error.PlatformServiceErrors;
 @Service
 @RequiredArgsConstructor
 public class TenantService {
+    /** Scope of the page tokens issued while listing the tenants. */
+    private static final String PAGE_TOKEN_SCOPE = "tenants";
+
+    /** Property on which the tenants are paged i.e., the (unique) realm name. */
+    private static final String PAGE_KEY_PROPERTY = "realmName";
+
     /** A repository implementation of type {@link TenantRepository}. */
     private final TenantRepository tenantRepository;
 
+    /** Codec to encode / decode the page tokens. */
+    private final PageTokenCodec pageTokenCodec;
+
     /** A mapper implementation of type {@link TenantMapper}. */
     private final TenantMapper tenantMapper;
 
@@ -87,6 +103,9 @@ public class TenantService {
     /** A message publisher implementation of type {@link MessagePublisher}. */
     private final MessagePublisher messagePublisher;
 
+    /** Writer to record the events in the transactional outbox. */
+    private final OutboxMessageWriter outboxMessageWriter;
+
     /** Application URL. */
     @Value("${revinciai.platform.application-url}")
     private String rvcPlatformApplicationUrl;
@@ -231,10 +250,10 @@ public class TenantService {
         TenantService.LOGGER.info("Tenant: {}, Realm: {}, Binding: {}. Publishing tenant created event", tenantId,
                                   realm, bindingName);
 
-        // Publish now.
-        messagePublisher.publish(tenantRealm, bindingName, data);
+        // Record in the outbox, which is relayed to the broker once the tenant is committed.
+        outboxMessageWriter.write(tenantRealm, bindingName, data);
 
-        TenantService.LOGGER.debug("Tenant: {}, Realm: {}, Binding: {}. Successfully published tenant created event",
+        TenantService.LOGGER.debug("Tenant: {}, Realm: {}, Binding: {}. Successfully recorded tenant created event",
                                    tenantId, realm, bindingName);
     }
 
@@ -259,6 +278,7 @@ public class TenantService {
         final byte[] secret = tenant.getSecret()
                 .getBytes();
 
+        final List<NotificationMessage> notificationMessages = new ArrayList<>();
         for (final TenantContactEntity contact : tenant.getContacts()) {
             final String recipientEmail = StringUtils.isBlank(tenantProvisionedNotificationRecipient) ?
                     contact.getEmail() :
@@ -279,16 +299,27 @@ public class TenantService {
                     .placeholders(placeholders)
                     .recipient(recipientEmail)
                     .build();
+            notificationMessages.add(nm);
+        }
 
-            final String bindingName = EventBinding.OUT_PUBLISH_NOTIFICATION_EVENT.value();
-            TenantService.LOGGER.info("Tenant: {}, Realm: {}, Binding: {}. Publishing notify tenant contact event", id,
-                                      realm, bindingName);
-
-            messagePublisher.publish(tenantRealm, bindingName, nm);
-
-            TenantService.LOGGER.info(
-                    "Tenant: {}, Realm: {}, Binding: {}. Successfully published notify tenant contact event", id, realm,
-                    bindingName);
+        // Publish the notifications of all the contacts as a batch.
+        final String bindingName = EventBinding.OUT_PUBLISH_NOTIFICATION_EVENT.value();
+        TenantService.LOGGER.info("Tenant: {}, Realm: {}, Binding: {}. Publishing {} notify tenant contact events", id,
+                                  realm, bindingName, notificationMessages.size());
+
+        final List<PublishResult> results = messagePublisher.publishAll(tenantRealm, bindingName, notificationMessages,
+                                                                        Map.of());
+        final List<PublishResult> failures = results.stream()
+                .filter(result -> !result.isPublished())
+                .toList();
+        failures.forEach(result -> TenantService.LOGGER.error(
+                "Tenant: {}, Realm: {}, Binding: {}. Failed to publish notify tenant contact event. Error: {}", id,
+                realm, bindingName, result.getError()));
+
+        // Fail the call (like the publishing of the individual events did) so that the failure is not only logged.
+        if (!failures.isEmpty()) {
+            throw ServiceException.of(MessagingErrors.FAILED_TO_PUBLISH_MESSAGES, failures.size(), results.size(),
+                                      bindingName);
         }
     }
 
@@ -309,4 +340,45 @@ public class TenantService {
         // 2. Transform the entity list to experience model list and return.
         return tenantMapper.transformSummary(tenantEntities);
     }
+
+    /**
+     * This method attempts to fetch a page of tenants in the system using keyset (seek) pagination on the realm name.
+     * <p>
+     * As the tenants are located using the unique index on the realm name, every page costs the same regardless of how
+     * deep it is.
+     *
+     * @param pageToken Opaque token returned with the previous page. Null or blank for the first page.
+     * @param pageSize  Maximum number of tenants in the page.
+     *
+     * @return A page of {@link Tenant} objects representing the tenants that were retrieved.
+     */
+    @Instrumentation
+    @Transactional(readOnly = true)
+    public KeysetPage<Tenant> fetchTenants(final String pageToken, final int pageSize) {
+        final int pageSizeToUse = PageUtils.keysetPageSize(pageSize);
+        final String after = StringUtils.isBlank(pageToken) ?
+                null :
+                pageTokenCodec.decode(TenantService.PAGE_TOKEN_SCOPE, pageToken);
+
+        // 1. Fetch the tenants after the realm name carried in the page token. One more than the page size is fetched
+        // to find out if there is a next page.
+        final List<TenantEntity> tenantEntities = tenantRepository.findAllAfter(TenantService.PAGE_KEY_PROPERTY, after,
+                                                                                pageSizeToUse + 1);
+
+        // 2. Build the page, with the token pointing to the last tenant in the page.
+        final KeysetPage<TenantEntity> page = PageUtils.createKeysetPage(tenantEntities, pageSizeToUse,
+                                                                         tenant -> pageTokenCodec.encode(
+                                                                                 TenantService.PAGE_TOKEN_SCOPE,
+                                                                                 tenant.getRealmName()));
+
+        // 3. Transform the entities to experience models and return.
+        return KeysetPage.<Tenant>builder()
+                .content(page.getContent()
+                                 .stream()
+                                 .map(tenantMapper::transform2)
+                                 .toList())
+                .pageSize(page.getPageSize())
+                .nextPageToken(page.getNextPageToken())
+                .build();
+    }
 }
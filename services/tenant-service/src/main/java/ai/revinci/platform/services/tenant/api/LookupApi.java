@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2025 Revinci AI.
+ *
+ *  All rights reserved. This software is proprietary to and embodies the
+ *  confidential technology of Revinci AI. Possession,
+ *  use, duplication, or dissemination of the software and media is
+ *  authorized only pursuant to a valid written license from Revinci AI.
+ *
+ *  Unauthorized use of this software is strictly prohibited.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY Revinci AI "AS IS" AND ANY
+ *  EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL REVINCI AI BE LIABLE FOR
+ *  ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ *  DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ *  CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *  OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ *  USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * @author
+ *
+ */
+
+package ai.revinci.platform.services.tenant.api;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import lombok.RequiredArgsConstructor;
+
+import ai.revinci.platform.data.jpa.model.experience.lookup.LookupValue;
+import ai.revinci.platform.services.tenant.service.LookupService;
+import ai.revinci.platform.tenant.data.jpa.enums.LookupType;
+import ai.revinci.platform.web.api.AbstractApi;
+import ai.revinci.platform.web.configuration.properties.OpenApiDocumentationSettings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+@RestController
+@RequestMapping(LookupApi.ROOT_ENDPOINT)
+@RequiredArgsConstructor
+public class LookupApi extends AbstractApi {
+    /** Root endpoint for lookups API. */
+    public static final String ROOT_ENDPOINT = "/api/v1/lookups";
+
+    /** Tag under which the swagger APIs will be grouped under. */
+    public static final String API_TAG = "Lookups";
+
+    /** A service implementation of type {@link LookupService}. */
+    private final LookupService lookupService;
+
+    // @formatter:off
+    @Operation(method = "getLookups",
+               summary = "Retrieve the lookup values.",
+               description = "This API retrieves the lookup values of the requested lookup types (all the lookup types if none are provided). The response carries a strong ETag; send it back in the If-None-Match header to receive a 304 when the lookup values have not changed. The lookup values are served from memory and reflect the changes in the database within the lookup refresh interval (15 minutes by default), for both the 200 and the 304 responses.",
+               tags = {
+                       LookupApi.API_TAG
+               },
+               security = {
+                       @SecurityRequirement(name = OpenApiDocumentationSettings.ApiSecurityScheme.DEFAULT_SECURITY_SCHEME_NAME)
+               }
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200",
+                                 description = "Successfully retrieved the lookup values.",
+                                 content = @Content),
+                    @ApiResponse(responseCode = "304",
+                                 description = "Lookup values have not changed since the version identified by the If-None-Match header.",
+                                 content = @Content),
+                    @ApiResponse(responseCode = "401",
+                                 description = "You need to authenticate to perform this operation.",
+                                 content = @Content),
+                    @ApiResponse(responseCode = "403",
+                                 description = "You do not have permissions to perform this operation.",
+                                 content = @Content)
+            })
+    // @formatter:on
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping
+    public ResponseEntity<Map<String, List<LookupValue>>> getLookups(
+            @RequestParam(name = "types", required = false) final List<LookupType> lookupTypes,
+            final WebRequest webRequest) {
+        // 1. Compute the version of the requested lookup types (served from memory). The version and the values come
+        //    from the same in-memory tables, hence a 304 is never staler than a 200 would be.
+        final String version = lookupService.findLookupTypesVersion(lookupTypes);
+
+        // 2. If the client already has this version, there is nothing more to do (304 - Not Modified).
+        if (webRequest.checkNotModified(version)) {
+            return null;
+        }
+
+        // 3. Delegate to the service layer.
+        final Map<String, List<LookupValue>> lookups = lookupService.findLookupTypes(lookupTypes);
+
+        // Clients may cache the response but have to revalidate it (cheap 304) before reusing it.
+        return ResponseEntity.ok()
+                .eTag(version)
+                .cacheControl(CacheControl.noCache()
+                                      .cachePrivate())
+                .body(lookups);
+    }
+}
@@ -25,18 +25,18 @@
 
 package ai.revinci.platform.services.tenant.api;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import lombok.RequiredArgsConstructor;
 
-import ai.revinci.platform.common.enums.PlatformDefaults;
 import ai.revinci.platform.security.data.model.experience.UserProfile;
 import ai.revinci.platform.security.service.TokenRevocationService;
 import ai.revinci.platform.services.tenant.service.TenantUserService;
@@ -99,7 +99,7 @@ public class UserProfileApi extends AbstractApi {
     // @formatter:off
     @Operation(method = "logout",
                summary = "Logout the current logged-in user.",
-               description = "This API performs a logout of the current logged-in user.",
+               description = "This API performs a logout of the current logged-in user. When allSessions is true, all the sessions of the user (across devices) are terminated.",
                tags = {
                        UserProfileApi.API_TAG
                },
@@ -122,13 +122,14 @@ public class UserProfileApi extends AbstractApi {
     // @formatter:on
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(@RequestHeader("Authorization") final String authorizationHeader) {
-        // Extract the bearer token value.
-        final String token = authorizationHeader.replace(PlatformDefaults.BEARER.value(), StringUtils.EMPTY)
-                .trim();
-
-        // Mark this token as invalid.
-        tokenRevocationService.revoke(token);
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal final Jwt jwt,
+                                       @RequestParam(name = "allSessions", defaultValue = "false") final boolean allSessions) {
+        // Mark this token (or all the tokens of this user) as invalid.
+        if (allSessions) {
+            tokenRevocationService.revokeAll(jwt);
+        } else {
+            tokenRevocationService.revoke(jwt);
+        }
 
         return ResponseEntity.ok()
                 .build();
@@ -47,6 +47,9 @@ import ai.revinci.platform.common.tenant.context.TenantContext;
 import ai.revinci.platform.common.tenant.context.TenantRealm;
 import ai.revinci.platform.common.util.JsonUtils;
 import ai.revinci.platform.common.util.ThreadUtils;
+import ai.revinci.platform.messaging.annotation.ConsumeMessage;
+import ai.revinci.platform.messaging.annotation.IdempotentConsumer;
+import ai.revinci.platform.messaging.annotation.RetryableConsumer;
 import ai.revinci.platform.messaging.utils.MessageUtils;
 import ai.revinci.platform.multitenancy.datasource.RoutingDataSource;
 import ai.revinci.platform.multitenancy.service.TenantDataSourceRefreshListener;
@@ -80,15 +83,15 @@ public class TenantMessageHandler {
      */
     @Instrumentation
     @Async
+    @ConsumeMessage
+    @RetryableConsumer
+    @IdempotentConsumer
     public void handleDbProvisionedEvent(final Message<String> message) {
         final MessageHeaders headers = message.getHeaders();
         final UUID correlationId = MessageUtils.getCorrelationId(headers);
         final UUID tenantId = MessageUtils.getTenantId(headers);
         final String realm = MessageUtils.getRealm(headers);
 
-        // TODO: Need to check if the processing of the message with the correlation-id is required or it has
-        //  already been processed.
-
         TenantMessageHandler.LOGGER.info("Tenant: {}. Realm: {}, Correlation id: {}. Received new db provisioned event",
                                          tenantId, realm, correlationId);
         try {
@@ -97,7 +100,8 @@ public class TenantMessageHandler {
             TenantMessageHandler.LOGGER.error(
                     "Tenant: {}. Realm: {}, Correlation id: {}. Failures while processing new db provisioned event",
                     tenantId, realm, correlationId, ex);
-            // TODO: Need to send to DLQ.
+            // Rethrow so that the event is retried and eventually dead-lettered.
+            throw ex;
         }
 
         // Does the routing datasource now have the new tenant? If not, let us not even move to the next steps as we
@@ -147,6 +151,8 @@ public class TenantMessageHandler {
             TenantMessageHandler.LOGGER.error(
                     "Tenant: {}. Realm: {}, Correlation id: {}. Failures while syncing new tenant data", tenantId,
                     realm, correlationId, ex);
+            // Rethrow so that the event is retried and eventually dead-lettered.
+            throw ex;
         } finally {
             // Clear the context.
             TenantContext.clear();
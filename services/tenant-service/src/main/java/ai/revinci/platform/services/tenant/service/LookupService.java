@@ -25,20 +25,26 @@
 
 package ai.revinci.platform.services.tenant.service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.DigestUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import ai.revinci.platform.common.enums.FieldType;
+import ai.revinci.platform.common.enums.Token;
 import ai.revinci.platform.common.exception.ServiceException;
+import ai.revinci.platform.data.jpa.lookup.LookupRegistry;
 import ai.revinci.platform.data.jpa.mapper.LookupMapper;
 import ai.revinci.platform.data.jpa.model.experience.lookup.LookupValue;
 import ai.revinci.platform.security.util.AuthenticationUtils;
@@ -54,6 +60,9 @@ public class LookupService {
     /** A mapper implementation of type {@link LookupMapper}. */
     private final LookupMapper lookupMapper;
 
+    /** In-memory registry of lookup values of type {@link LookupRegistry}. */
+    private final LookupRegistry lookupRegistry;
+
     /**
      * This method retrieves the lookup values for the provided {@code lookupTypes}.
      *
@@ -68,9 +77,7 @@ public class LookupService {
         AuthenticationUtils.getPrincipalOrThrow();
 
         final Map<String, List<LookupValue>> values = new HashMap<>();
-        final Collection<LookupType> lookupTypesToRetrieve = CollectionUtils.isEmpty(lookupTypes) ?
-                List.of(LookupType.values()) :
-                lookupTypes;
+        final Collection<LookupType> lookupTypesToRetrieve = lookupTypesToRetrieve(lookupTypes);
         // Loop through the lookup types and retrieve the values.
         LookupService.LOGGER.info("Tenant: {}, Realm: {}. Retrieving lookup types: {}", tenantId, realm,
                                   lookupTypesToRetrieve);
@@ -81,7 +88,45 @@ public class LookupService {
         return values;
     }
 
+    /**
+     * This method computes the version of the lookup values for the provided {@code lookupTypes}, which can be used as
+     * a strong entity tag.
+     * <p>
+     * The version is derived from the contents of the lookup tables served from memory. The tables are reloaded once
+     * they are older than the lookup refresh interval, hence a change in the database changes the version (and the
+     * values that are served) within that interval.
+     *
+     * @param lookupTypes List of lookup types.
+     *
+     * @return Version of the lookup values for the provided lookup types.
+     */
+    public String findLookupTypesVersion(final List<LookupType> lookupTypes) {
+        // 1. Make sure that the user is authenticated.
+        AuthenticationUtils.getTenantIdOrThrow();
+        AuthenticationUtils.getPrincipalOrThrow();
+
+        // 2. Combine the versions of the individual lookup types.
+        final String versions = lookupTypesToRetrieve(lookupTypes).stream()
+                .map(lookupType -> lookupType.name()
+                        .concat(Token.COLON.value())
+                        .concat(lookupRegistry.version(lookupType.getRepositoryType())))
+                .collect(Collectors.joining(Token.COMMA.value()));
+        return DigestUtils.md5DigestAsHex(versions.getBytes(StandardCharsets.UTF_8));
+    }
 
+    /**
+     * This method returns the lookup types to retrieve, which is all the lookup types (in a stable order) when none are
+     * provided.
+     *
+     * @param lookupTypes List of lookup types.
+     *
+     * @return Lookup types to retrieve.
+     */
+    private Collection<LookupType> lookupTypesToRetrieve(final List<LookupType> lookupTypes) {
+        return CollectionUtils.isEmpty(lookupTypes) ?
+                List.of(LookupType.values()) :
+                new TreeSet<>(lookupTypes);
+    }
 
     /**
      * This method attempts to retrieve the ORM entity representation for the provided {@code dataType}.